@@ -16,17 +16,28 @@
  */
 package javax.money;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
 
 /**
  * Represents a general context of data targeting an item of type {@code Q}. Contexts are used to add arbitrary
  * data that cannot be be mapped in a standard way to the money API, e.g. use case or customer specific
  * extensions or specialities.<p>
+ * The attributes are held in two parallel arrays sorted by key, the hash code is evaluated once on creation.
+ * This keeps the footprint of contexts small and makes them cheap to use as keys of caches. The serialized form
+ * still is a {@code data} map.<p>
  * Superclasses of this class must be final, immutable, serializable and thread-safe.
  */
 @SuppressWarnings("unchecked")
@@ -39,31 +50,295 @@ public abstract class AbstractContext implements Serializable {
 	 */
     protected static final String KEY_PROVIDER = "provider";
 
+    /**
+     * The serialized fields, the attributes are serialized as map for compatibility.
+     */
+    private static final ObjectStreamField[] serialPersistentFields = {new ObjectStreamField("data", Map.class)};
+
+    private static final AttributeKey<String> PROVIDER = AttributeKey.of(KEY_PROVIDER, String.class);
+
+    private static final String[] NO_KEYS = new String[0];
+    private static final Object[] NO_VALUES = new Object[0];
+    private static final long[] NO_SLOTS = new long[0];
 
     /**
-     * The data map containing all values.
+     * The attribute keys, sorted.
+     */
+    private transient String[] keys;
+    /**
+     * The attribute values, in the order of {@link #keys}.
+     */
+    private transient Object[] values;
+    /**
+     * Bit mask of the {@link AttributeKey} slots holding a value in {@link #slots}.
+     */
+    private transient long[] slotMask;
+    /**
+     * The values of attributes with a registered {@link AttributeKey}, ordered by the key's slot. A value's index
+     * is the number of bits set in {@link #slotMask} below its slot.
+     */
+    private transient Object[] slots;
+    /**
+     * The number of {@link AttributeKey} slots assigned when this context was created.
+     */
+    private transient int slotCount;
+    /**
+     * The precomputed hash code.
+     */
+    private transient int hash;
+    /**
+     * The keys by attribute type, evaluated lazily by {@link #getCachedKeys(Class)}.
      */
-    final Map<String, Object> data = new HashMap<>();
+    private transient volatile Map<Class<?>, Set<String>> keysByType;
 
     /**
-     * Private constructor, used by {@link AbstractContextBuilder}.
+     * Private constructor, used by {@link AbstractContextBuilder}. If the builder has not changed the context it is
+     * based on, the storage of this context is shared.
      *
      * @param builder the Builder.
      */
 	protected AbstractContext(AbstractContextBuilder<?, ?> builder) {
-        data.putAll(builder.data);
+        AbstractContext base = builder.base;
+        Map<String, Object> changes = builder.changes;
+        if (changes != null && !changes.isEmpty()) {
+            String[] changedKeys = changes.keySet().toArray(new String[changes.size()]);
+            Arrays.sort(changedKeys);
+            Object[] changedValues = new Object[changedKeys.length];
+            for (int i = 0; i < changedKeys.length; i++) {
+                changedValues[i] = changes.get(changedKeys[i]);
+            }
+            merge(base, changedKeys, changedValues);
+        } else if (base != null) {
+            share(base);
+        } else {
+            init(NO_KEYS, NO_VALUES);
+        }
+    }
+
+    private void share(AbstractContext base) {
+        if (base.slotCount == AttributeKey.getSlotCount()) {
+            this.keys = base.keys;
+            this.values = base.values;
+            this.slotMask = base.slotMask;
+            this.slots = base.slots;
+            this.slotCount = base.slotCount;
+            this.hash = base.hash;
+        } else {
+            init(base.keys, base.values);
+        }
+    }
+
+    /**
+     * Copy constructor, creating a context with the attributes of the given context and the given attributes
+     * changed. This allows creating modified contexts without a builder, e.g. by {@link QueryTemplate}.
+     *
+     * @param context       the context copied, not null.
+     * @param changedKeys   the keys of the changed attributes, sorted, not null.
+     * @param changedValues the new attribute values, in the order of the keys, not null.
+     */
+    AbstractContext(AbstractContext context, String[] changedKeys, Object[] changedValues) {
+        merge(context, changedKeys, changedValues);
+    }
+
+    private void merge(AbstractContext base, String[] changedKeys, Object[] changedValues) {
+        String[] baseKeys = base == null ? NO_KEYS : base.keys;
+        Object[] baseValues = base == null ? NO_VALUES : base.values;
+        String[] mergedKeys = new String[baseKeys.length + changedKeys.length];
+        Object[] mergedValues = new Object[mergedKeys.length];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < baseKeys.length || j < changedKeys.length) {
+            int cmp = i == baseKeys.length ? 1 : j == changedKeys.length ? -1 : baseKeys[i].compareTo(changedKeys[j]);
+            if (cmp < 0) {
+                mergedKeys[size] = baseKeys[i];
+                mergedValues[size++] = baseValues[i++];
+            } else {
+                Object value = changedValues[j];
+                if (value != AbstractContextBuilder.REMOVED) {
+                    mergedKeys[size] = changedKeys[j];
+                    mergedValues[size++] = value;
+                }
+                j++;
+                if (cmp == 0) {
+                    i++;
+                }
+            }
+        }
+        if (size == 0) {
+            init(NO_KEYS, NO_VALUES);
+        } else if (size < mergedKeys.length) {
+            init(Arrays.copyOf(mergedKeys, size), Arrays.copyOf(mergedValues, size));
+        } else {
+            init(mergedKeys, mergedValues);
+        }
+    }
+
+    private void init(Map<String, Object> data) {
+        if (data.isEmpty()) {
+            init(NO_KEYS, NO_VALUES);
+            return;
+        }
+        String[] sortedKeys = data.keySet().toArray(new String[data.size()]);
+        Arrays.sort(sortedKeys);
+        Object[] sortedValues = new Object[sortedKeys.length];
+        for (int i = 0; i < sortedKeys.length; i++) {
+            sortedValues[i] = data.get(sortedKeys[i]);
+        }
+        init(sortedKeys, sortedValues);
+    }
+
+    private void init(String[] keys, Object[] values) {
+        this.keys = keys;
+        this.values = values;
+        this.slotCount = AttributeKey.getSlotCount();
+        long[] mask = NO_SLOTS;
+        int slotted = 0;
+        int h = 0;
+        for (int i = 0; i < keys.length; i++) {
+            h = 31 * h + keys[i].hashCode();
+            h = 31 * h + Objects.hashCode(values[i]);
+            int slot = getSlot(keys[i], values[i]);
+            if (slot >= 0) {
+                if (slot >> 6 >= mask.length) {
+                    mask = Arrays.copyOf(mask, (slot >> 6) + 1);
+                }
+                mask[slot >> 6] |= 1L << slot;
+                slotted++;
+            }
+        }
+        this.hash = h;
+        this.slotMask = mask;
+        this.slots = slotted == 0 ? NO_VALUES : new Object[slotted];
+        for (int i = 0; slotted > 0 && i < keys.length; i++) {
+            int slot = getSlot(keys[i], values[i]);
+            if (slot >= 0) {
+                slots[slotIndex(slot)] = values[i];
+            }
+        }
+    }
+
+    /**
+     * Evaluates the slot of an attribute.
+     *
+     * @param key   the attribute key.
+     * @param value the attribute value.
+     * @return the slot of the attribute's registered {@link AttributeKey}, or -1, if the key has no slot or the
+     * value is not an instance of the key's type.
+     */
+    private int getSlot(String key, Object value) {
+        AttributeKey<?> attributeKey = AttributeKey.lookup(key);
+        if (attributeKey != null && attributeKey.getSlot() >= 0 && attributeKey.getSlot() < slotCount
+                && attributeKey.getType().isInstance(value)) {
+            return attributeKey.getSlot();
+        }
+        return -1;
     }
 
     /**
-     * Get the present keys of all entries with a given type, checking hereby if assignable.
+     * Evaluates the index of a slot's value in {@link #slots}.
+     *
+     * @param slot the slot.
+     * @return the index, or -1, if the slot holds no value.
+     */
+    private int slotIndex(int slot) {
+        int word = slot >> 6;
+        if (word >= slotMask.length || (slotMask[word] & 1L << slot) == 0) {
+            return -1;
+        }
+        int index = Long.bitCount(slotMask[word] & ((1L << slot) - 1));
+        for (int i = 0; i < word; i++) {
+            index += Long.bitCount(slotMask[i]);
+        }
+        return index;
+    }
+
+    /**
+     * Access the number of attributes.
+     *
+     * @return the number of attributes.
+     */
+    int attributeCount() {
+        return keys.length;
+    }
+
+    /**
+     * Access the key of the attribute at the given index, attributes are ordered by key.
+     *
+     * @param index the index.
+     * @return the key.
+     */
+    String keyAt(int index) {
+        return keys[index];
+    }
+
+    /**
+     * Access the value of the attribute at the given index, attributes are ordered by key.
+     *
+     * @param index the index.
+     * @return the value.
+     */
+    Object valueAt(int index) {
+        return values[index];
+    }
+
+    private int indexOf(String key) {
+        return Arrays.binarySearch(keys, key);
+    }
+
+    /**
+     * Get the present keys of all entries with a given type, checking hereby if assignable. The keys are evaluated
+     * once per type and cached by this context, each call returns a new copy of the cached keys.
      *
      * @param type The attribute type, not null.
      * @return all present keys of attributes being assignable to the type, never null.
      */
     public Set<String> getKeys(Class<?> type) {
-        return data.entrySet().stream().filter(val -> type.isAssignableFrom(val.getValue()
-                .getClass())).map(Map.Entry::getKey).collect(Collectors
-                .toSet());
+        return new HashSet<>(getCachedKeys(type));
+    }
+
+    /**
+     * Get the cached keys of all entries with a given type, as returned by {@link #getKeys(Class)}, without copying
+     * them.
+     *
+     * @param type The attribute type, not null.
+     * @return all present keys of attributes being assignable to the type, never null and not modifiable.
+     */
+    Set<String> getCachedKeys(Class<?> type) {
+        Map<Class<?>, Set<String>> index = this.keysByType;
+        if (index == null) {
+            index = new ConcurrentHashMap<>();
+            this.keysByType = index;
+        }
+        Set<String> result = index.get(type);
+        if (result == null) {
+            result = evaluateKeys(type);
+            index.put(type, result);
+        }
+        return result;
+    }
+
+    private Set<String> evaluateKeys(Class<?> type) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i < keys.length; i++) {
+            if (values[i] != null && type.isAssignableFrom(values[i].getClass())) {
+                result.add(keys[i]);
+            }
+        }
+        return result.isEmpty() ? Collections.emptySet() : Collections.unmodifiableSet(result);
+    }
+
+    /**
+     * Performs the given action for each attribute, in the order of the attribute keys. Other than
+     * iterating over {@link #getKeys(Class)} no additional lookups are required.
+     *
+     * @param action the action, not null.
+     */
+    public void forEach(BiConsumer<String, Object> action) {
+        Objects.requireNonNull(action, "Action required.");
+        for (int i = 0; i < keys.length; i++) {
+            action.accept(keys[i], values[i]);
+        }
     }
 
     /**
@@ -72,7 +347,8 @@ public abstract class AbstractContext implements Serializable {
      * @return the current attribute type, or null, if no such attribute exists.
      */
     public Class<?> getType(String key) {
-        Object val = this.data.get(key);
+        int index = indexOf(key);
+        Object val = index < 0 ? null : values[index];
         return val == null ? null : val.getClass();
     }
 
@@ -85,13 +361,33 @@ public abstract class AbstractContext implements Serializable {
      * @return the attribute value, or {@code null}.
      */
     public <T> T get(String key, Class<T> type) {
-        Object value = this.data.get(key);
+        int index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        Object value = values[index];
         if (value != null && type.isAssignableFrom(value.getClass())) {
             return (T) value;
         }
         return null;
     }
 
+    /**
+     * Access an attribute using a typed key. Attributes of keys having a slot assigned are resolved by index,
+     * without any lookup or type check.
+     *
+     * @param key the attribute's key, not {@code null}
+     * @return the attribute value, or {@code null}, also if the value is not an instance of the key's type.
+     */
+    public <T> T get(AttributeKey<T> key) {
+        int slot = key.getSlot();
+        if (slot >= 0 && slot < slotCount) {
+            int index = slotIndex(slot);
+            return index < 0 ? null : (T) slots[index];
+        }
+        return get(key.getName(), key.getType());
+    }
+
     /**
      * Access an attribute, hereby using the class name as key.
      *
@@ -170,7 +466,7 @@ public abstract class AbstractContext implements Serializable {
      * @return the provider name, or null.
      */
     public String getProviderName() {
-        return getText(KEY_PROVIDER);
+        return get(PROVIDER);
     }
 
 
@@ -180,32 +476,35 @@ public abstract class AbstractContext implements Serializable {
      * @return true, if no attributes are set.
      */
     public boolean isEmpty() {
-        return this.data.isEmpty();
+        return keys.length == 0;
     }
 
-    /*
-     * (non-Javadoc)
+    /**
+     * The hash code considers the context type and the attributes, consistently with {@link #equals(Object)}.
      *
-     * @see java.lang.Object#hashCode()
+     * @return the hash code.
      */
     @Override
     public int hashCode() {
-        return Objects.hash(data);
+        return 31 * getClass().getName().hashCode() + hash;
     }
 
-    /*
-     * (non-Javadoc)
+    /**
+     * Contexts are only equal to contexts of the same type having equal attributes. Since the hash code is
+     * evaluated on creation and all attribute collections set by the builders are immutable, contexts and queries
+     * can be used as keys for caching lookup results.
      *
-     * @see java.lang.Object#equals(java.lang.Object)
+     * @param obj the object to compare with.
+     * @return true, if {@code obj} is a context of the same type with equal attributes.
      */
     @Override
     public boolean equals(Object obj) {
         if (obj == this) {
             return true;
         }
-        if (obj instanceof AbstractContext) {
+        if (obj != null && obj.getClass() == getClass()) {
             AbstractContext other = (AbstractContext) obj;
-            return Objects.equals(data, other.data);
+            return hash == other.hash && Arrays.equals(keys, other.keys) && Arrays.equals(values, other.values);
         }
         return false;
     }
@@ -217,6 +516,27 @@ public abstract class AbstractContext implements Serializable {
      */
     @Override
     public String toString() {
-        return getClass().getSimpleName() + " (\n" + data + ')';
+        StringBuilder b = new StringBuilder(getClass().getSimpleName()).append(" (\n{");
+        for (int i = 0; i < keys.length; i++) {
+            if (i > 0) {
+                b.append(", ");
+            }
+            b.append(keys[i]).append('=').append(values[i]);
+        }
+        return b.append("})").toString();
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        Map<String, Object> data = new HashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            data.put(keys[i], values[i]);
+        }
+        out.putFields().put("data", data);
+        out.writeFields();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        Map<String, Object> data = (Map<String, Object>) in.readFields().get("data", null);
+        init(data == null ? new HashMap<>() : data);
     }
 }
@@ -16,10 +16,15 @@
  */
 package javax.money;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * This interface defines the common generic parts of a query. Queries are used to pass complex parameters sets
@@ -34,23 +39,73 @@ import java.util.TreeMap;
 public abstract class AbstractContextBuilder<B extends AbstractContextBuilder, C extends AbstractContext>{
 
     /**
-     * The data map containing all values.
+     * The canonical context instances, shared by all builders. Contexts are referenced weakly, entries of
+     * contexts no longer used elsewhere are removed, when their references are found in {@link #CLEARED_CONTEXTS}.
      */
-    final Map<String, Object> data = new HashMap<>();
+    private static final ConcurrentMap<ContextReference, ContextReference> INTERNED_CONTEXTS =
+            new ConcurrentHashMap<>();
 
     /**
-     * Apply all attributes on the given context.
+     * Queue of the references in {@link #INTERNED_CONTEXTS}, whose contexts have been garbage collected.
+     */
+    private static final ReferenceQueue<AbstractContext> CLEARED_CONTEXTS = new ReferenceQueue<>();
+
+    /**
+     * Marker for attributes removed from {@link #base}.
+     */
+    static final Object REMOVED = new Object();
+
+    /**
+     * The context whose attributes this builder is based on, or null. Contexts are immutable, so its storage is
+     * shared with the contexts built, as long as no attributes are changed.
+     */
+    AbstractContext base;
+
+    /**
+     * The attributes changed relative to {@link #base}, removed attributes are mapped to {@link #REMOVED}.
+     * Created on the first change.
+     */
+    Map<String, Object> changes;
+
+    /**
+     * The number of attributes currently visible, i.e. of {@link #base} and {@link #changes} combined.
+     */
+    private int attributeCount;
+
+    /**
+     * Apply all attributes on the given context. If this builder is not based on another context yet, the context
+     * is not copied, but becomes the base of this builder with the attributes set so far applied on top of it, so
+     * importing costs only as much as the attributes changed.
      *
      * @param context             the context to be applied, not null.
      * @param overwriteDuplicates flag, if existing entries should be overwritten.
      * @return this Builder, for chaining
      */
     public B importContext(AbstractContext context, boolean overwriteDuplicates){
-        for (Map.Entry<String, Object> en : context.data.entrySet()) {
-            if (overwriteDuplicates) {
-                this.data.put(en.getKey(), en.getValue());
-            }else{
-                this.data.putIfAbsent(en.getKey(), en.getValue());
+        Objects.requireNonNull(context);
+        if (attributeCount == 0) {
+            this.base = context;
+            this.changes = null;
+            this.attributeCount = context.attributeCount();
+            return (B) this;
+        }
+        if (base == null) {
+            // no base context: only attributes set are left, removals have nothing to hide
+            changes.entrySet().removeIf(e -> e.getValue() == REMOVED
+                    || overwriteDuplicates && context.get(e.getKey(), Object.class) != null);
+            int count = context.attributeCount();
+            for (String key : changes.keySet()) {
+                if (context.get(key, Object.class) == null) {
+                    count++;
+                }
+            }
+            this.base = context;
+            this.attributeCount = count;
+            return (B) this;
+        }
+        for (int i = 0; i < context.attributeCount(); i++) {
+            if (overwriteDuplicates || !containsKey(context.keyAt(i))) {
+                put(context.keyAt(i), context.valueAt(i));
             }
         }
         return (B) this;
@@ -76,7 +131,7 @@ public abstract class AbstractContextBuilder<B extends AbstractContextBuilder, C
      * @return the Builder, for chaining.
      */
     public B set(String key, int value) {
-        this.data.put(key, value);
+        put(key, value);
         return (B) this;
     }
 
@@ -89,7 +144,7 @@ public abstract class AbstractContextBuilder<B extends AbstractContextBuilder, C
      * @return the Builder, for chaining.
      */
     public B set(String key, boolean value) {
-        this.data.put(key, value);
+        put(key, value);
         return (B) this;
     }
 
@@ -102,7 +157,7 @@ public abstract class AbstractContextBuilder<B extends AbstractContextBuilder, C
      * @return the Builder, for chaining.
      */
     public B set(String key, long value) {
-        this.data.put(key, value);
+        put(key, value);
         return (B) this;
     }
 
@@ -115,7 +170,7 @@ public abstract class AbstractContextBuilder<B extends AbstractContextBuilder, C
      * @return the Builder, for chaining.
      */
     public B set(String key, float value) {
-        this.data.put(key, value);
+        put(key, value);
         return (B) this;
     }
 
@@ -127,7 +182,7 @@ public abstract class AbstractContextBuilder<B extends AbstractContextBuilder, C
      * @return the Builder, for chaining.
      */
     public B set(String key, double value) {
-        this.data.put(key, value);
+        put(key, value);
         return (B) this;
     }
 
@@ -140,7 +195,7 @@ public abstract class AbstractContextBuilder<B extends AbstractContextBuilder, C
      * @return the Builder, for chaining.
      */
     public B set(String key, char value) {
-        this.data.put(key, value);
+        put(key, value);
         return (B) this;
     }
 
@@ -154,7 +209,7 @@ public abstract class AbstractContextBuilder<B extends AbstractContextBuilder, C
      * @return this Builder, for chaining
      */
     public B set(Object value) {
-        data.put(value.getClass().getName(), Objects.requireNonNull(value));
+        put(value.getClass().getName(), Objects.requireNonNull(value));
         return (B) this;
     }
 
@@ -167,7 +222,7 @@ public abstract class AbstractContextBuilder<B extends AbstractContextBuilder, C
      * @return this Builder, for chaining
      */
     public B set(String key, Object value) {
-        data.put(key, Objects.requireNonNull(value));
+        put(key, Objects.requireNonNull(value));
         return (B) this;
     }
 
@@ -187,6 +242,18 @@ public abstract class AbstractContextBuilder<B extends AbstractContextBuilder, C
         return (B) this;
     }
 
+    /**
+     * Sets an attribute using a typed key.
+     *
+     * @param key   the attribute's key, not {@code null}
+     * @param value the attribute value, not null.
+     * @return this Builder, for chaining
+     */
+    public <T> B set(AttributeKey<T> key, T value) {
+        put(key.getName(), Objects.requireNonNull(value));
+        return (B) this;
+    }
+
     /**
      * Sets the provider.
      *
@@ -208,11 +275,42 @@ public abstract class AbstractContextBuilder<B extends AbstractContextBuilder, C
      */
     public B removeAttributes(String... keys) {
         for (String key : keys) {
-            this.data.remove(key);
+            put(key, REMOVED);
         }
         return (B) this;
     }
 
+    /**
+     * Returns the canonical instance of the given context. If an equal context of the same type has been interned
+     * before, this instance is returned, otherwise the given context becomes the canonical instance. Builders of
+     * contexts, which are typically shared by large numbers of artifacts, use this method in {@link #build()} to
+     * avoid holding duplicate context instances.
+     * <p>
+     * The canonical instances are only held weakly, so the identity of contexts must never be relied on.
+     *
+     * @param context the context, not null.
+     * @return the canonical context, never null.
+     */
+    protected C intern(C context) {
+        Objects.requireNonNull(context, "Context required.");
+        for (Reference<?> cleared; (cleared = CLEARED_CONTEXTS.poll()) != null; ) {
+            INTERNED_CONTEXTS.remove(cleared);
+        }
+        ContextReference ref = new ContextReference(context, CLEARED_CONTEXTS);
+        while (true) {
+            ContextReference existing = INTERNED_CONTEXTS.putIfAbsent(ref, ref);
+            if (existing == null) {
+                return context;
+            }
+            AbstractContext interned = existing.get();
+            if (interned != null) {
+                return (C) interned;
+            }
+            // collected after the lookup, but not yet polled from the queue
+            INTERNED_CONTEXTS.remove(existing, existing);
+        }
+    }
+
     /**
      * Creates a new {@link AbstractContext} with the data from this Builder
      * instance.
@@ -221,8 +319,88 @@ public abstract class AbstractContextBuilder<B extends AbstractContextBuilder, C
      */
     public abstract C build();
 
+    /**
+     * Removes all attributes.
+     */
+    void clear() {
+        this.base = null;
+        this.changes = null;
+        this.attributeCount = 0;
+    }
+
+    private void put(String key, Object value) {
+        boolean existed = containsKey(key);
+        if (changes == null) {
+            changes = new HashMap<>();
+        }
+        changes.put(key, value);
+        if (value == REMOVED) {
+            if (existed) {
+                attributeCount--;
+            }
+        } else if (!existed) {
+            attributeCount++;
+        }
+    }
+
+    private boolean containsKey(String key) {
+        Object value = changes == null ? null : changes.get(key);
+        if (value != null) {
+            return value != REMOVED;
+        }
+        return base != null && base.get(key, Object.class) != null;
+    }
+
+    private Map<String, Object> toMap() {
+        Map<String, Object> result = new TreeMap<>();
+        if (base != null) {
+            base.forEach(result::put);
+        }
+        if (changes != null) {
+            changes.forEach((key, value) -> {
+                if (value == REMOVED) {
+                    result.remove(key);
+                } else {
+                    result.put(key, value);
+                }
+            });
+        }
+        return result;
+    }
+
     @Override
     public String toString(){
-        return getClass().getSimpleName() + " [attributes:\n" + new TreeMap<>(data).toString() + ']';
+        return getClass().getSimpleName() + " [attributes:\n" + toMap() + ']';
+    }
+
+    /**
+     * Weak reference to an interned context, equal to the references of equal contexts. Once cleared, a
+     * reference is only equal to itself, so it can still be removed from {@link #INTERNED_CONTEXTS}.
+     */
+    private static final class ContextReference extends WeakReference<AbstractContext> {
+
+        private final int hash;
+
+        ContextReference(AbstractContext context, ReferenceQueue<AbstractContext> queue) {
+            super(context, queue);
+            this.hash = context.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ContextReference)) {
+                return false;
+            }
+            AbstractContext context = get();
+            return context != null && context.equals(((ContextReference) obj).get());
+        }
     }
 }
\ No newline at end of file
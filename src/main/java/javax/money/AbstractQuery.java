@@ -44,6 +44,11 @@ public abstract class AbstractQuery extends AbstractContext {
      */
     protected static final String KEY_QUERY_TARGET_TYPE = "Query.targetType";
 
+    @SuppressWarnings("rawtypes")
+    private static final AttributeKey<List> PROVIDERS = AttributeKey.of(KEY_QUERY_PROVIDERS, List.class);
+    @SuppressWarnings("rawtypes")
+    private static final AttributeKey<Class> TARGET_TYPE = AttributeKey.of(KEY_QUERY_TARGET_TYPE, Class.class);
+
 
     /**
      * Constructor, using a builder.
@@ -54,6 +59,32 @@ public abstract class AbstractQuery extends AbstractContext {
         super(builder);
     }
 
+    /**
+     * Copy constructor, creating a query with the attributes of the given query and the given attributes changed.
+     *
+     * @param query         the query copied, not null.
+     * @param changedKeys   the keys of the changed attributes, sorted, not null.
+     * @param changedValues the new attribute values, in the order of the keys, not null.
+     * @see #withAttributes(String[], Object[])
+     */
+    protected AbstractQuery(AbstractQuery query, String[] changedKeys, Object[] changedValues) {
+        super(query, changedKeys, changedValues);
+    }
+
+    /**
+     * Creates a copy of this query of the same type, with the given attributes changed, without using a builder.
+     * This is used by {@link QueryTemplate}, query types supporting templates override this method using the copy
+     * constructor.
+     *
+     * @param changedKeys   the keys of the changed attributes, sorted, not null.
+     * @param changedValues the new attribute values, in the order of the keys, not null.
+     * @return the new query, never null.
+     * @throws UnsupportedOperationException if the query type cannot be copied, which is the default.
+     */
+    protected AbstractQuery withAttributes(String[] changedKeys, Object[] changedValues) {
+        throw new UnsupportedOperationException("Query type does not support copying: " + getClass().getName());
+    }
+
     /**
      * Returns the providers and their ordering to be considered. This information typically must be interpreted by the
      * singleton SPI implementations, which are backing the singleton accessors.
@@ -64,7 +95,7 @@ public abstract class AbstractQuery extends AbstractContext {
      */
     public List<String> getProviderNames() {
 
-        @SuppressWarnings("unchecked") List<String> result = get(KEY_QUERY_PROVIDERS, List.class);
+        @SuppressWarnings("unchecked") List<String> result = get(PROVIDERS);
         if (result == null) {
             return Collections.emptyList();
         }
@@ -78,7 +109,7 @@ public abstract class AbstractQuery extends AbstractContext {
      * @return this Builder for chaining.
      */
     public Class<?> getTargetType() {
-        return get(KEY_QUERY_TARGET_TYPE, Class.class);
+        return get(TARGET_TYPE);
     }
 
 }
@@ -16,7 +16,9 @@
  */
 package javax.money;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -60,7 +62,7 @@ public abstract class AbstractQueryBuilder<B extends javax.money.AbstractQueryBu
      */
     public B setProviderNames(List<String> providers) {
         Objects.requireNonNull(providers);
-        return set(AbstractQuery.KEY_QUERY_PROVIDERS, providers);
+        return set(AbstractQuery.KEY_QUERY_PROVIDERS, Collections.unmodifiableList(new ArrayList<>(providers)));
     }
 
     /**
@@ -71,7 +73,7 @@ public abstract class AbstractQueryBuilder<B extends javax.money.AbstractQueryBu
      * @return the query builder for chaining.
      */
     public B set(List<String> providers) {
-        return set(AbstractQuery.KEY_QUERY_PROVIDERS, providers);
+        return setProviderNames(providers);
     }
 
     /**
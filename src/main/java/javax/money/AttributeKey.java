@@ -0,0 +1,147 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A typed key of a context or query attribute. The first keys created are registered globally by name and
+ * assigned a fixed slot, so contexts can resolve them by index instead of looking up and type checking the
+ * attribute on each access, see {@link AbstractContext#get(AttributeKey)}. Keys beyond the available slots, or
+ * requested with a different type than the key registered for the same name, are not registered. They still
+ * work, but are resolved by name, so the registry never grows beyond the number of slots.
+ * <p>
+ * An attribute with the key's name, but a value not being an instance of the key's type is not visible through
+ * the key. Instances of this class are immutable and thread-safe.
+ *
+ * @param <T> the attribute type.
+ * @see AbstractContextBuilder#set(AttributeKey, Object)
+ */
+public final class AttributeKey<T> {
+
+    /**
+     * The maximal number of keys being assigned a slot.
+     */
+    static final int MAX_SLOTS = 256;
+
+    /**
+     * The registered keys by name.
+     */
+    private static final Map<String, AttributeKey<?>> KEYS = new ConcurrentHashMap<>();
+
+    /**
+     * The number of slots assigned.
+     */
+    private static volatile int slotCount;
+
+    private final String name;
+    private final Class<T> type;
+    private final int slot;
+
+    private AttributeKey(String name, Class<T> type, int slot) {
+        this.name = name;
+        this.type = type;
+        this.slot = slot;
+    }
+
+    /**
+     * Access the key with the given name and type, registering it if not yet present and a slot is available.
+     * If a key with the same name, but a different type is already registered, or all slots are assigned, an
+     * unregistered key is returned, which is resolved by name.
+     *
+     * @param name the attribute's name, not null.
+     * @param type the attribute's type, not null.
+     * @param <T>  the attribute type.
+     * @return the key, never null.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> AttributeKey<T> of(String name, Class<T> type) {
+        Objects.requireNonNull(name, "Name required.");
+        Objects.requireNonNull(type, "Type required.");
+        AttributeKey<?> key = KEYS.get(name);
+        if (key == null) {
+            synchronized (KEYS) {
+                key = KEYS.get(name);
+                if (key == null) {
+                    if (slotCount >= MAX_SLOTS) {
+                        return new AttributeKey<>(name, type, -1);
+                    }
+                    key = new AttributeKey<>(name, type, slotCount);
+                    KEYS.put(name, key);
+                    slotCount++;
+                }
+            }
+        }
+        if (key.type != type) {
+            return new AttributeKey<>(name, type, -1);
+        }
+        return (AttributeKey<T>) key;
+    }
+
+    /**
+     * Access the registered key with the given name.
+     *
+     * @param name the attribute's name, not null.
+     * @return the key, or null, if no such key has been registered.
+     */
+    static AttributeKey<?> lookup(String name) {
+        return KEYS.get(name);
+    }
+
+    /**
+     * Access the number of slots assigned so far.
+     *
+     * @return the number of slots.
+     */
+    static int getSlotCount() {
+        return slotCount;
+    }
+
+    /**
+     * Access the attribute's name.
+     *
+     * @return the name, never null.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Access the attribute's type.
+     *
+     * @return the type, never null.
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Access the slot of this key.
+     *
+     * @return the slot, or -1, if this key has not been assigned a slot.
+     */
+    int getSlot() {
+        return slot;
+    }
+
+    @Override
+    public String toString() {
+        return "AttributeKey[" + name + ':' + type.getName() + ']';
+    }
+}
@@ -56,6 +56,13 @@ public final class CurrencyQuery extends AbstractQuery implements Serializable {
      */
     static final String KEY_QUERY_NUMERIC_CODES = "Query.numericCodes";
 
+    /**
+     * The typed key of the currency codes attribute, e.g. for use with {@link QueryTemplate}.
+     */
+    @SuppressWarnings("rawtypes")
+    public static final AttributeKey<Collection> CURRENCY_CODES =
+            AttributeKey.of(KEY_QUERY_CURRENCY_CODES, Collection.class);
+
     /**
      * Constructor, used from the Builder.
      *
@@ -65,6 +72,22 @@ public final class CurrencyQuery extends AbstractQuery implements Serializable {
         super(builder);
     }
 
+    /**
+     * Copy constructor, used by {@link #withAttributes(String[], Object[])}.
+     *
+     * @param query         the query copied, not null.
+     * @param changedKeys   the keys of the changed attributes, sorted, not null.
+     * @param changedValues the new attribute values, in the order of the keys, not null.
+     */
+    private CurrencyQuery(CurrencyQuery query, String[] changedKeys, Object[] changedValues) {
+        super(query, changedKeys, changedValues);
+    }
+
+    @Override
+    protected CurrencyQuery withAttributes(String[] changedKeys, Object[] changedValues) {
+        return new CurrencyQuery(this, changedKeys, changedValues);
+    }
+
     /**
      * Returns the target locales.
      *
@@ -84,7 +107,7 @@ public final class CurrencyQuery extends AbstractQuery implements Serializable {
      * @return the target currency codes or the regular expression, never null.
      */
     public Collection<String> getCurrencyCodes() {
-        Collection<String> result = get(KEY_QUERY_CURRENCY_CODES, Collection.class);
+        Collection<String> result = get(CURRENCY_CODES);
         if (result == null) {
             return Collections.emptySet();
         }
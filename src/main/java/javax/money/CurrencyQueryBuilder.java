@@ -17,6 +17,7 @@
 package javax.money;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -56,7 +57,7 @@ public final class CurrencyQueryBuilder extends AbstractQueryBuilder<CurrencyQue
      * @return the query for chaining.
      */
     public CurrencyQueryBuilder setCountries(Locale... countries) {
-        return set(CurrencyQuery.KEY_QUERY_COUNTRIES, Arrays.asList(countries));
+        return set(CurrencyQuery.KEY_QUERY_COUNTRIES, Collections.unmodifiableList(Arrays.asList(countries.clone())));
     }
 
     /**
@@ -66,7 +67,7 @@ public final class CurrencyQueryBuilder extends AbstractQueryBuilder<CurrencyQue
      * @return the query for chaining.
      */
     public CurrencyQueryBuilder setCurrencyCodes(String... codes) {
-        return set(CurrencyQuery.KEY_QUERY_CURRENCY_CODES, Arrays.asList(codes));
+        return set(CurrencyQuery.KEY_QUERY_CURRENCY_CODES, Collections.unmodifiableList(Arrays.asList(codes.clone())));
     }
 
     /**
@@ -77,7 +78,7 @@ public final class CurrencyQueryBuilder extends AbstractQueryBuilder<CurrencyQue
      */
     public CurrencyQueryBuilder setNumericCodes(int... codes) {
         return set(CurrencyQuery.KEY_QUERY_NUMERIC_CODES,
-                Arrays.stream(codes).boxed().collect(Collectors.toList()));
+                Collections.unmodifiableList(Arrays.stream(codes).boxed().collect(Collectors.toList())));
     }
 
     /**
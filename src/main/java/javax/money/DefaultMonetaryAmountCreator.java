@@ -0,0 +1,147 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * Default implementation of {@link MonetaryAmountCreator}. Since factories are stateful builders, each call takes an
+ * idle {@link MonetaryAmountFactory} from a small lock-free pool and returns it afterwards. If no idle factory is
+ * available, e.g. because all of them are used by other threads, a new factory is obtained from the supplier, so
+ * concurrent calls never wait for each other. Factories not fitting into the pool are dropped.
+ *
+ * @param <T> the amount type.
+ */
+final class DefaultMonetaryAmountCreator<T extends MonetaryAmount> implements MonetaryAmountCreator<T> {
+
+    /**
+     * The maximal number of idle factories kept, twice the number of processors rounded up to a power of two.
+     */
+    private static final int POOL_SIZE = Integer.highestOneBit(
+            Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1)) << 1;
+
+    private final Class<T> amountType;
+    private final MonetaryContext context;
+    private final MonetaryContext requestedContext;
+    private final Supplier<MonetaryAmountFactory<T>> factorySupplier;
+    private final AtomicReferenceArray<MonetaryAmountFactory<T>> idleFactories =
+            new AtomicReferenceArray<>(POOL_SIZE);
+
+    @SuppressWarnings("unchecked")
+    DefaultMonetaryAmountCreator(MonetaryAmountFactory<T> factory, Supplier<MonetaryAmountFactory<T>> factorySupplier,
+                                 MonetaryContext context) {
+        if (factory == null) {
+            throw new MonetaryException("No MonetaryAmountFactory available.");
+        }
+        this.factorySupplier = Objects.requireNonNull(factorySupplier, "Factory supplier required.");
+        this.amountType = (Class<T>) factory.getAmountType();
+        this.context = context == null ? factory.getDefaultMonetaryContext() : context;
+        this.requestedContext = context;
+        release(initialize(factory));
+    }
+
+    @Override
+    public Class<T> getAmountType() {
+        return amountType;
+    }
+
+    @Override
+    public MonetaryContext getContext() {
+        return context;
+    }
+
+    @Override
+    public T create(CurrencyUnit currency, Number number) {
+        MonetaryAmountFactory<T> factory = acquire();
+        try {
+            return factory.setCurrency(currency).setNumber(number).create();
+        } finally {
+            release(factory);
+        }
+    }
+
+    @Override
+    public T create(CurrencyUnit currency, long number) {
+        MonetaryAmountFactory<T> factory = acquire();
+        try {
+            return factory.setCurrency(currency).setNumber(number).create();
+        } finally {
+            release(factory);
+        }
+    }
+
+    @Override
+    public T create(CurrencyUnit currency, double number) {
+        MonetaryAmountFactory<T> factory = acquire();
+        try {
+            return factory.setCurrency(currency).setNumber(number).create();
+        } finally {
+            release(factory);
+        }
+    }
+
+    /**
+     * Takes an idle factory from the pool, starting at the slot of the current thread, or obtains a new one.
+     *
+     * @return a factory used by the current thread only, never null.
+     */
+    private MonetaryAmountFactory<T> acquire() {
+        int start = (int) Thread.currentThread().getId();
+        for (int i = 0; i < POOL_SIZE; i++) {
+            int slot = (start + i) & (POOL_SIZE - 1);
+            if (idleFactories.get(slot) != null) {
+                MonetaryAmountFactory<T> factory = idleFactories.getAndSet(slot, null);
+                if (factory != null) {
+                    return factory;
+                }
+            }
+        }
+        MonetaryAmountFactory<T> factory = factorySupplier.get();
+        if (factory == null) {
+            throw new MonetaryException("No MonetaryAmountFactory available for " + amountType.getName());
+        }
+        return initialize(factory);
+    }
+
+    /**
+     * Returns the factory to the pool, starting at the slot of the current thread, or drops it, if the pool is full.
+     *
+     * @param factory the factory, not null.
+     */
+    private void release(MonetaryAmountFactory<T> factory) {
+        int start = (int) Thread.currentThread().getId();
+        for (int i = 0; i < POOL_SIZE; i++) {
+            if (idleFactories.compareAndSet((start + i) & (POOL_SIZE - 1), null, factory)) {
+                return;
+            }
+        }
+    }
+
+    private MonetaryAmountFactory<T> initialize(MonetaryAmountFactory<T> factory) {
+        if (requestedContext != null) {
+            factory.setContext(requestedContext);
+        }
+        return factory;
+    }
+
+    @Override
+    public String toString() {
+        return "MonetaryAmountCreator [amountType=" + amountType.getName() + ", context=" + context + ']';
+    }
+}
@@ -19,6 +19,7 @@ package javax.money;
 import javax.money.spi.Bootstrap;
 import javax.money.spi.CurrencyProviderSpi;
 import javax.money.spi.MonetaryCurrenciesSingletonSpi;
+import javax.money.spi.ProviderResolver;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
@@ -72,17 +73,8 @@ final class DefaultMonetaryCurrenciesSingletonSpi implements MonetaryCurrenciesS
      */
     @Override
     public Set<String> getProviderNames() {
-        Set<String> result = new HashSet<>();
-        for (CurrencyProviderSpi spi : Bootstrap.getServices(CurrencyProviderSpi.class)) {
-            try {
-                result.add(spi.getProviderName());
-            } catch (Exception e) {
-                Logger.getLogger(DefaultMonetaryCurrenciesSingletonSpi.class.getName())
-                        .log(Level.SEVERE, "Error loading currency provider names for " + spi.getClass().getName(),
-                                e);
-            }
-        }
-        return result;
+        return new HashSet<>(ProviderResolver.getProviderMap(CurrencyProviderSpi.class,
+                CurrencyProviderSpi::getProviderName).keySet());
     }
 
 }
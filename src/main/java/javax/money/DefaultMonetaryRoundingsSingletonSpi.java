@@ -18,6 +18,8 @@ package javax.money;
 
 import javax.money.spi.Bootstrap;
 import javax.money.spi.MonetaryRoundingsSingletonSpi;
+import javax.money.spi.ProviderResolver;
+import javax.money.spi.RoundingListenerSpi;
 import javax.money.spi.RoundingProviderSpi;
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -26,6 +28,14 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -46,6 +56,11 @@ public final class DefaultMonetaryRoundingsSingletonSpi implements MonetaryRound
      */
     private static final MonetaryRounding DEFAULT_ROUNDING = new DefaultCurrencyRounding();
 
+    /**
+     * The maximal number of threads evaluating providers concurrently, if the query does not define an executor.
+     */
+    private static final int MAX_PARALLEL_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+
     /**
      * Creates an rounding instance using {@link java.math.RoundingMode#UP} rounding.
      *
@@ -58,7 +73,9 @@ public final class DefaultMonetaryRoundingsSingletonSpi implements MonetaryRound
     }
 
     /**
-     * Get the default rounding, which delegates rounding dynamically depending on the current  currency.
+     * Get the default rounding, which delegates rounding dynamically depending on the current  currency. The
+     * registered {@link RoundingListenerSpi} instances are notified when the rounding is applied, they are
+     * resolved using {@link ProviderResolver#getServices(Class)}, so no services are looked up per call.
      *
      * @return the default rounding, never null.
      */
@@ -69,7 +86,11 @@ public final class DefaultMonetaryRoundingsSingletonSpi implements MonetaryRound
 
 
     /**
-     * Query all roundings matching the given {@link RoundingQuery}.
+     * Query all roundings matching the given {@link RoundingQuery}. If
+     * {@link RoundingQuery#isParallelEvaluation()} is set, the providers are evaluated concurrently, hereby
+     * preserving the ordering of the provider chain in the result. The providers are run by the query's
+     * {@link RoundingQuery#getExecutor() executor}, or by a bounded pool of daemon threads dedicated to rounding
+     * providers, never by the common {@link java.util.concurrent.ForkJoinPool}.
      *
      * @param query the rounding query, not null.
      * @return the collection found, not null.
@@ -77,25 +98,255 @@ public final class DefaultMonetaryRoundingsSingletonSpi implements MonetaryRound
     @Override
     public Collection<MonetaryRounding> getRoundings(RoundingQuery query) {
         List<MonetaryRounding> result = new ArrayList<>();
+        List<RoundingProviderSpi> providers = getProviders(query);
+        if (query.isParallelEvaluation() && providers.size() > 1) {
+            List<Future<MonetaryRounding>> futures = evaluateAsync(providers, query);
+            for (int i = 0; i < futures.size(); i++) {
+                MonetaryRounding r = await(futures, i);
+                if (r != null) {
+                    result.add(r);
+                }
+            }
+            return result;
+        }
+        Collection<RoundingListenerSpi> listeners = ProviderResolver.getServices(RoundingListenerSpi.class);
+        for (RoundingProviderSpi prov : providers) {
+            MonetaryRounding r = evaluate(prov, query, listeners);
+            if (r != null) {
+                result.add(r);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Query the first rounding matching the given {@link RoundingQuery}. Evaluation stops at the first provider
+     * in the provider chain returning a non null result. If {@link RoundingQuery#isParallelEvaluation()} is set,
+     * the providers are evaluated concurrently, whereas the result of the first provider in the chain returning
+     * a rounding is selected. Evaluations of the providers following in the chain are cancelled then: providers
+     * not yet started are skipped, running providers are interrupted, but may still complete, if they do not
+     * respond to interruption.
+     *
+     * @param query the rounding query, not null.
+     * @return the rounding found, or null.
+     */
+    @Override
+    public MonetaryRounding getRounding(RoundingQuery query) {
+        List<RoundingProviderSpi> providers = getProviders(query);
+        if (query.isParallelEvaluation() && providers.size() > 1) {
+            List<Future<MonetaryRounding>> futures = evaluateAsync(providers, query);
+            for (int i = 0; i < futures.size(); i++) {
+                MonetaryRounding r = await(futures, i);
+                if (r != null) {
+                    cancel(futures, i + 1);
+                    return r;
+                }
+            }
+            return null;
+        }
+        Collection<RoundingListenerSpi> listeners = ProviderResolver.getServices(RoundingListenerSpi.class);
+        for (RoundingProviderSpi prov : providers) {
+            MonetaryRounding r = evaluate(prov, query, listeners);
+            if (r != null) {
+                return r;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks if any rounding matches the given {@link RoundingQuery}, stopping at the first match.
+     *
+     * @param query the rounding query, not null.
+     * @return true, if at least one rounding matches the query.
+     */
+    @Override
+    public boolean isRoundingAvailable(RoundingQuery query) {
+        return getRounding(query) != null;
+    }
+
+    /**
+     * Query the first {@link RoundingPlan} matching the given {@link RoundingQuery}.
+     *
+     * @param query the rounding query, not null.
+     * @return the plan found, or null.
+     */
+    @Override
+    public RoundingPlan getRoundingPlan(RoundingQuery query) {
+        for (RoundingProviderSpi prov : getProviders(query)) {
+            try {
+                RoundingPlan plan = prov.getRoundingPlan(query);
+                if (plan != null) {
+                    return plan;
+                }
+            } catch (Exception e) {
+                Logger.getLogger(DefaultMonetaryRoundingsSingletonSpi.class.getName())
+                        .log(Level.SEVERE, "Error loading RoundingPlan from provider: " + prov, e);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Evaluates the providers to be queried, in the order as defined by the query's provider chain, or the
+     * default provider chain.
+     *
+     * @param query the rounding query, not null.
+     * @return the ordered providers, never null.
+     */
+    private List<RoundingProviderSpi> getProviders(RoundingQuery query) {
         Collection<String> providerNames = query.getProviderNames();
         if (providerNames == null || providerNames.isEmpty()) {
             providerNames = getDefaultProviderChain();
         }
-        for (String providerName : providerNames) {
-            Bootstrap.getServices(RoundingProviderSpi.class).stream()
-                    .filter(prov -> providerName.equals(prov.getProviderName())).forEach(prov -> {
+        return ProviderResolver.getProviders(RoundingProviderSpi.class, RoundingProviderSpi::getProviderName,
+                providerNames);
+    }
+
+    /**
+     * Evaluates the rounding of a single provider, hereby logging any errors and notifying the registered
+     * {@link RoundingListenerSpi} instances.
+     *
+     * @param prov      the provider, not null.
+     * @param query     the rounding query, not null.
+     * @param listeners the listeners to be notified, not null.
+     * @return the rounding, or null.
+     */
+    private static MonetaryRounding evaluate(RoundingProviderSpi prov, RoundingQuery query,
+                                             Collection<RoundingListenerSpi> listeners) {
+        if (listeners.isEmpty()) {
+            try {
+                return prov.getRounding(query);
+            } catch (Exception e) {
+                Logger.getLogger(DefaultMonetaryRoundingsSingletonSpi.class.getName())
+                        .log(Level.SEVERE, "Error loading RoundingProviderSpi from provider: " + prov, e);
+                return null;
+            }
+        }
+        long start = System.nanoTime();
+        MonetaryRounding rounding;
+        try {
+            rounding = prov.getRounding(query);
+        } catch (Exception e) {
+            long duration = System.nanoTime() - start;
+            Logger.getLogger(DefaultMonetaryRoundingsSingletonSpi.class.getName())
+                    .log(Level.SEVERE, "Error loading RoundingProviderSpi from provider: " + prov, e);
+            for (RoundingListenerSpi listener : listeners) {
                 try {
-                    MonetaryRounding r = prov.getRounding(query);
-                    if (r != null) {
-                        result.add(r);
-                    }
-                } catch (Exception e) {
-                    Logger.getLogger(DefaultMonetaryRoundingsSingletonSpi.class.getName())
-                            .log(Level.SEVERE, "Error loading RoundingProviderSpi from provider: " + prov, e);
+                    listener.providerFailed(prov.getProviderName(), query, e, duration);
+                } catch (Exception le) {
+                    logListenerError(listener, le);
                 }
+            }
+            return null;
+        }
+        long duration = System.nanoTime() - start;
+        for (RoundingListenerSpi listener : listeners) {
+            try {
+                listener.providerEvaluated(prov.getProviderName(), query, rounding, duration);
+            } catch (Exception e) {
+                logListenerError(listener, e);
+            }
+        }
+        return rounding;
+    }
+
+    /**
+     * Logs an error thrown by a {@link RoundingListenerSpi}, which never affects the rounding evaluated.
+     *
+     * @param listener the listener, not null.
+     * @param e        the error, not null.
+     */
+    private static void logListenerError(RoundingListenerSpi listener, Exception e) {
+        Logger.getLogger(DefaultMonetaryRoundingsSingletonSpi.class.getName())
+                .log(Level.WARNING, "Error notifying RoundingListenerSpi: " + listener, e);
+    }
+
+    /**
+     * Starts the concurrent evaluation of all given providers, using the query's executor or the dedicated pool.
+     *
+     * @param providers the ordered providers, not null.
+     * @param query     the rounding query, not null.
+     * @return the pending results, in provider order.
+     */
+    private static List<Future<MonetaryRounding>> evaluateAsync(List<RoundingProviderSpi> providers,
+                                                               RoundingQuery query) {
+        Collection<RoundingListenerSpi> listeners = ProviderResolver.getServices(RoundingListenerSpi.class);
+        Executor executor = query.getExecutor();
+        if (executor == null) {
+            executor = ParallelEvaluation.EXECUTOR;
+        }
+        List<Future<MonetaryRounding>> futures = new ArrayList<>(providers.size());
+        try {
+            for (RoundingProviderSpi prov : providers) {
+                FutureTask<MonetaryRounding> future = new FutureTask<>(() -> evaluate(prov, query, listeners));
+                futures.add(future);
+                executor.execute(future);
+            }
+        } catch (RuntimeException e) {
+            cancel(futures, 0);
+            throw new MonetaryException("Failed to start parallel rounding evaluation.", e);
+        }
+        return futures;
+    }
+
+    /**
+     * Waits for the result of the given evaluation. If the waiting thread is interrupted, all evaluations are
+     * cancelled.
+     *
+     * @param futures the pending results, in provider order, not null.
+     * @param index   the index of the result.
+     * @return the rounding, or null.
+     */
+    private static MonetaryRounding await(List<Future<MonetaryRounding>> futures, int index) {
+        try {
+            return futures.get(index).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel(futures, index);
+            throw new MonetaryException("Interrupted while evaluating rounding providers.", e);
+        } catch (ExecutionException e) {
+            // evaluate handles all exceptions, so only errors get here
+            Throwable cause = e.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new MonetaryException("Failed to evaluate rounding provider.", cause);
+        }
+    }
+
+    /**
+     * Cancels all evaluations starting at the given index. Evaluations not yet started are skipped, running
+     * evaluations are interrupted, but may still complete.
+     *
+     * @param futures the pending results, not null.
+     * @param from    the index of the first evaluation to cancel.
+     */
+    private static void cancel(List<Future<MonetaryRounding>> futures, int from) {
+        for (int i = from; i < futures.size(); i++) {
+            futures.get(i).cancel(true);
+        }
+    }
+
+    /**
+     * Holder of the pool evaluating providers, if the query does not define an executor, created on first use.
+     */
+    private static final class ParallelEvaluation {
+
+        private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+        private static final Executor EXECUTOR = createExecutor();
+
+        private static ThreadPoolExecutor createExecutor() {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_PARALLEL_THREADS, MAX_PARALLEL_THREADS,
+                    30L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+                Thread thread = new Thread(r, "money-rounding-" + THREAD_COUNT.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
             });
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
         }
-        return result;
     }
 
     /**
@@ -105,16 +356,8 @@ public final class DefaultMonetaryRoundingsSingletonSpi implements MonetaryRound
      */
     @Override
     public Set<String> getProviderNames() {
-        Set<String> result = new HashSet<>();
-        for (RoundingProviderSpi prov : Bootstrap.getServices(RoundingProviderSpi.class)) {
-            try {
-                result.add(prov.getProviderName());
-            } catch (Exception e) {
-                Logger.getLogger(Monetary.class.getName())
-                        .log(Level.SEVERE, "Error loading RoundingProviderSpi from provider: " + prov, e);
-            }
-        }
-        return result;
+        return new HashSet<>(ProviderResolver.getProviderMap(RoundingProviderSpi.class,
+                RoundingProviderSpi::getProviderName).keySet());
     }
 
     /**
@@ -172,10 +415,26 @@ public final class DefaultMonetaryRoundingsSingletonSpi implements MonetaryRound
 
         @Override
         public MonetaryAmount apply(MonetaryAmount amount) {
+            for (RoundingListenerSpi listener : ProviderResolver.getServices(RoundingListenerSpi.class)) {
+                try {
+                    listener.defaultRoundingLookup(amount.getCurrency());
+                } catch (Exception e) {
+                    logListenerError(listener, e);
+                }
+            }
             MonetaryRounding r = Monetary.getRounding(amount.getCurrency());
             return r.apply(amount);
         }
 
+        /**
+         * Replaces deserialized instances by the shared instance.
+         *
+         * @return the shared default rounding.
+         */
+        private Object readResolve() {
+            return DEFAULT_ROUNDING;
+        }
+
         @Override
         public RoundingContext getRoundingContext() {
             return ROUNDING_CONTEXT;
@@ -0,0 +1,418 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.Objects;
+
+/**
+ * {@link NumberValue} backed by a {@code long} unscaled value and an {@code int} scale, the value being
+ * {@code unscaled * 10^-scale}, analogous to {@link java.math.BigDecimal}. Comparison, exact long access, scale
+ * and precision are evaluated on the primitive values without creating any objects, which makes this type
+ * suitable for amount implementations backed by {@code long} values, e.g. for sorting large numbers of amounts.
+ * Conversions that cannot be performed on {@code long} values without overflow fall back to
+ * {@link java.math.BigDecimal}.
+ * <p>
+ * This class is immutable, thread-safe and serializable.
+ */
+public final class LongNumberValue extends NumberValue {
+
+    private static final long serialVersionUID = 2784379474226512475L;
+
+    /**
+     * The powers of ten representable as {@code long}.
+     */
+    private static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L,
+            10_000_000L, 100_000_000L, 1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L,
+            10_000_000_000_000L, 100_000_000_000_000L, 1_000_000_000_000_000L, 10_000_000_000_000_000L,
+            100_000_000_000_000_000L, 1_000_000_000_000_000_000L};
+
+    /**
+     * The powers of ten exactly representable as {@code double}.
+     */
+    private static final double[] POWERS_OF_DOUBLE_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    /**
+     * The maximal number of decimal digits of a {@code long}.
+     */
+    private static final int MAX_LONG_DIGITS = 19;
+
+    /**
+     * The highest integer, which is exactly representable as {@code double}.
+     */
+    private static final long MAX_EXACT_DOUBLE = 1L << 53;
+
+    /**
+     * The unscaled value.
+     */
+    private final long unscaled;
+    /**
+     * The scale.
+     */
+    private final int scale;
+
+    private LongNumberValue(long unscaled, int scale) {
+        this.unscaled = unscaled;
+        this.scale = scale;
+    }
+
+    /**
+     * Creates a new instance with a scale of {@code 0}.
+     *
+     * @param value the value.
+     * @return the new instance, never null.
+     */
+    public static LongNumberValue of(long value) {
+        return new LongNumberValue(value, 0);
+    }
+
+    /**
+     * Creates a new instance representing {@code unscaled * 10^-scale}.
+     *
+     * @param unscaled the unscaled value.
+     * @param scale    the scale.
+     * @return the new instance, never null.
+     */
+    public static LongNumberValue of(long unscaled, int scale) {
+        return new LongNumberValue(unscaled, scale);
+    }
+
+    /**
+     * Creates a new instance with the same unscaled value and scale as the given {@link BigDecimal}.
+     *
+     * @param number the number, not null.
+     * @return the new instance, never null.
+     * @throws ArithmeticException if the unscaled value of the number does not fit into a {@code long}.
+     */
+    public static LongNumberValue of(BigDecimal number) {
+        Objects.requireNonNull(number, "Number required.");
+        return new LongNumberValue(number.unscaledValue().longValueExact(), number.scale());
+    }
+
+    /**
+     * Compares two numbers given as unscaled value and scale, without creating any objects.
+     *
+     * @param unscaled1 the first unscaled value.
+     * @param scale1    the first scale.
+     * @param unscaled2 the second unscaled value.
+     * @param scale2    the second scale.
+     * @return a negative number, zero or a positive number, if the first number is less than, equal to or greater
+     * than the second number.
+     */
+    public static int compare(long unscaled1, int scale1, long unscaled2, int scale2) {
+        if (scale1 == scale2) {
+            return Long.compare(unscaled1, unscaled2);
+        }
+        int signum1 = Long.signum(unscaled1);
+        int signum2 = Long.signum(unscaled2);
+        if (signum1 != signum2) {
+            return signum1 < signum2 ? -1 : 1;
+        }
+        if (signum1 == 0) {
+            return 0;
+        }
+        // same sign, non zero: align the value with the lower scale
+        if (scale1 < scale2) {
+            long diff = (long) scale2 - scale1;
+            if (fitsScaled(unscaled1, diff)) {
+                return Long.compare(unscaled1 * POWERS_OF_TEN[(int) diff], unscaled2);
+            }
+            // the magnitude of the first number exceeds any long value
+            return signum1;
+        }
+        long diff = (long) scale1 - scale2;
+        if (fitsScaled(unscaled2, diff)) {
+            return Long.compare(unscaled1, unscaled2 * POWERS_OF_TEN[(int) diff]);
+        }
+        return -signum2;
+    }
+
+    /**
+     * Evaluates {@code value * 10^exponent}.
+     *
+     * @param value    the value.
+     * @param exponent the exponent, {@code >= 0}.
+     * @return the scaled value.
+     * @throws ArithmeticException if the result overflows a {@code long}.
+     */
+    static long scaleUpExact(long value, long exponent) {
+        if (exponent == 0 || value == 0) {
+            return value;
+        }
+        if (!fitsScaled(value, exponent)) {
+            throw new ArithmeticException("long overflow");
+        }
+        return value * POWERS_OF_TEN[(int) exponent];
+    }
+
+    /**
+     * Decomposes a number given as unscaled value and scale, if its scale is within {@code [0, 18]}.
+     *
+     * @param unscaled the unscaled value.
+     * @param scale    the scale.
+     * @param parts    the holder to be filled, not null.
+     * @return true, if the parts have been evaluated.
+     */
+    static boolean decompose(long unscaled, int scale, NumberParts parts) {
+        if (scale < 0 || scale >= POWERS_OF_TEN.length) {
+            return false;
+        }
+        long denominator = POWERS_OF_TEN[scale];
+        parts.set(unscaled / denominator, unscaled % denominator, denominator, scale);
+        return true;
+    }
+
+    /**
+     * Checks if {@code value * 10^exponent} can be represented as {@code long}.
+     */
+    private static boolean fitsScaled(long value, long exponent) {
+        if (exponent >= POWERS_OF_TEN.length || value == Long.MIN_VALUE) {
+            return false;
+        }
+        return Math.abs(value) <= Long.MAX_VALUE / POWERS_OF_TEN[(int) exponent];
+    }
+
+    /**
+     * Returns {@code true}, since the unscaled value is always available.
+     *
+     * @return {@code true}.
+     */
+    @Override
+    public boolean isUnscaledLongAvailable() {
+        return true;
+    }
+
+    /**
+     * Get the unscaled value.
+     *
+     * @return the unscaled value.
+     */
+    @Override
+    public long getUnscaledLong() {
+        return unscaled;
+    }
+
+    @Override
+    public Class<?> getNumberType() {
+        return Long.class;
+    }
+
+    @Override
+    public int getPrecision() {
+        if (unscaled == Long.MIN_VALUE) {
+            return MAX_LONG_DIGITS;
+        }
+        long abs = Math.abs(unscaled);
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            if (abs < POWERS_OF_TEN[i]) {
+                return i;
+            }
+        }
+        return MAX_LONG_DIGITS;
+    }
+
+    @Override
+    public int getScale() {
+        return scale;
+    }
+
+    @Override
+    public int intValueExact() {
+        long value = longValueExact();
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new ArithmeticException("Value exceeds int range: " + this);
+        }
+        return (int) value;
+    }
+
+    @Override
+    public long longValueExact() {
+        if (scale == 0 || unscaled == 0) {
+            return unscaled;
+        }
+        if (scale < 0) {
+            if (!fitsScaled(unscaled, -(long) scale)) {
+                throw new ArithmeticException("Value exceeds long range: " + this);
+            }
+            return unscaled * POWERS_OF_TEN[-scale];
+        }
+        if (scale >= POWERS_OF_TEN.length || unscaled % POWERS_OF_TEN[scale] != 0) {
+            throw new ArithmeticException("Value has a non zero fraction: " + this);
+        }
+        return unscaled / POWERS_OF_TEN[scale];
+    }
+
+    @Override
+    public double doubleValueExact() {
+        double value = doubleValue();
+        if (Double.isInfinite(value) || new BigDecimal(value).compareTo(bigDecimalValue()) != 0) {
+            throw new ArithmeticException("Value is not exactly representable as double: " + this);
+        }
+        return value;
+    }
+
+    @Override
+    public <T extends Number> T numberValue(Class<T> numberType) {
+        return convert(numberType, false);
+    }
+
+    @Override
+    public <T extends Number> T numberValueExact(Class<T> numberType) {
+        return convert(numberType, true);
+    }
+
+    @Override
+    public NumberValue round(MathContext mathContext) {
+        if (mathContext.getPrecision() == 0 || getPrecision() <= mathContext.getPrecision()) {
+            return this;
+        }
+        return of(bigDecimalValue().round(mathContext));
+    }
+
+    @Override
+    public long getAmountFractionNumerator() {
+        if (scale <= 0) {
+            return 0L;
+        }
+        if (scale < POWERS_OF_TEN.length) {
+            return unscaled % POWERS_OF_TEN[scale];
+        }
+        // truncated to the maximal denominator available
+        return bigDecimalValue().remainder(BigDecimal.ONE).movePointRight(POWERS_OF_TEN.length - 1).longValue();
+    }
+
+    @Override
+    public long getAmountFractionDenominator() {
+        if (scale <= 0) {
+            return 1L;
+        }
+        return POWERS_OF_TEN[Math.min(scale, POWERS_OF_TEN.length - 1)];
+    }
+
+    @Override
+    public int intValue() {
+        return (int) longValue();
+    }
+
+    @Override
+    public long longValue() {
+        if (scale == 0) {
+            return unscaled;
+        }
+        if (scale > 0) {
+            return scale < POWERS_OF_TEN.length ? unscaled / POWERS_OF_TEN[scale] : 0L;
+        }
+        if (fitsScaled(unscaled, -(long) scale)) {
+            return unscaled * POWERS_OF_TEN[-scale];
+        }
+        return bigDecimalValue().longValue();
+    }
+
+    @Override
+    public float floatValue() {
+        if (scale == 0 && isExactDouble(unscaled)) {
+            return (float) unscaled;
+        }
+        return bigDecimalValue().floatValue();
+    }
+
+    @Override
+    public double doubleValue() {
+        if (isExactDouble(unscaled)) {
+            // both operands are exact, so the result is correctly rounded
+            if (scale == 0) {
+                return unscaled;
+            }
+            if (scale > 0 && scale < POWERS_OF_DOUBLE_TEN.length) {
+                return unscaled / POWERS_OF_DOUBLE_TEN[scale];
+            }
+        }
+        return bigDecimalValue().doubleValue();
+    }
+
+    private static boolean isExactDouble(long value) {
+        return value >= -MAX_EXACT_DOUBLE && value <= MAX_EXACT_DOUBLE;
+    }
+
+    private BigDecimal bigDecimalValue() {
+        return BigDecimal.valueOf(unscaled, scale);
+    }
+
+    private <T extends Number> T convert(Class<T> numberType, boolean exact) {
+        Objects.requireNonNull(numberType, "Number type required.");
+        Number result;
+        if (numberType == Long.class) {
+            result = exact ? longValueExact() : longValue();
+        } else if (numberType == Integer.class) {
+            result = exact ? intValueExact() : intValue();
+        } else if (numberType == Short.class) {
+            long value = exact ? longValueExact() : longValue();
+            if (exact && (short) value != value) {
+                throw new ArithmeticException("Value exceeds short range: " + this);
+            }
+            result = (short) value;
+        } else if (numberType == Byte.class) {
+            long value = exact ? longValueExact() : longValue();
+            if (exact && (byte) value != value) {
+                throw new ArithmeticException("Value exceeds byte range: " + this);
+            }
+            result = (byte) value;
+        } else if (numberType == Double.class) {
+            result = exact ? doubleValueExact() : doubleValue();
+        } else if (numberType == Float.class) {
+            float value = floatValue();
+            if (exact && (Float.isInfinite(value) || new BigDecimal(value).compareTo(bigDecimalValue()) != 0)) {
+                throw new ArithmeticException("Value is not exactly representable as float: " + this);
+            }
+            result = value;
+        } else if (numberType == BigDecimal.class) {
+            result = bigDecimalValue();
+        } else if (numberType == BigInteger.class) {
+            result = exact ? bigDecimalValue().toBigIntegerExact() : bigDecimalValue().toBigInteger();
+        } else if (numberType.isAssignableFrom(LongNumberValue.class)) {
+            result = this;
+        } else {
+            throw new IllegalArgumentException("Unsupported number type: " + numberType.getName());
+        }
+        return numberType.cast(result);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof LongNumberValue) {
+            LongNumberValue other = (LongNumberValue) obj;
+            return unscaled == other.unscaled && scale == other.scale;
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(unscaled) + scale;
+    }
+
+    @Override
+    public String toString() {
+        return bigDecimalValue().toString();
+    }
+}
@@ -37,6 +37,12 @@ import java.util.logging.Logger;
  * @author Anatole Tresch
  */
 public final class Monetary {
+    /**
+     * The cache used for {@link #getAmountFactory(MonetaryAmountFactoryQuery)} and {@link #getAmountFactories()},
+     * bound to the current SPI instances.
+     */
+    private static volatile MonetaryAmountFactoryCache amountFactoryCache;
+
     /**
      * The used {@link javax.money.spi.MonetaryCurrenciesSingletonSpi} instance.
      * 
@@ -60,7 +66,7 @@ public final class Monetary {
      */
     private static MonetaryAmountsSingletonSpi monetaryAmountsSingletonSpi() {
         try {
-            return Bootstrap.getService(MonetaryAmountsSingletonSpi.class);
+            return ProviderResolver.getService(MonetaryAmountsSingletonSpi.class);
         } catch (Exception e) {
             Logger.getLogger(Monetary.class.getName())
                     .log(Level.SEVERE, "Failed to load MonetaryAmountsSingletonSpi.", e);
@@ -73,7 +79,7 @@ public final class Monetary {
      */
     private static MonetaryAmountsSingletonQuerySpi monetaryAmountsSingletonQuerySpi() {
         try {
-            return Bootstrap.getService(MonetaryAmountsSingletonQuerySpi.class);
+            return ProviderResolver.getService(MonetaryAmountsSingletonQuerySpi.class);
         } catch (Exception e) {
             Logger.getLogger(Monetary.class.getName()).log(Level.SEVERE, "Failed to load " +
                     "MonetaryAmountsSingletonQuerySpi, " +
@@ -153,8 +159,13 @@ public final class Monetary {
      * rounding, never {@code null}.
      */
     public static MonetaryRounding getRounding(CurrencyUnit currencyUnit, String... providers) {
-        return monetaryRoundingsSingletonSpi()
-                .getRounding(currencyUnit, providers);
+        MonetaryEvent event = MonetaryEvents.begin(MonetaryEvents.ROUNDING_LOOKUP);
+        try {
+            return monetaryRoundingsSingletonSpi()
+                    .getRounding(currencyUnit, providers);
+        } finally {
+            event.set(MonetaryEvents.ATTR_CURRENCY, currencyUnit).set(MonetaryEvents.ATTR_PROVIDER, providers).end();
+        }
     }
 
     /**
@@ -170,8 +181,13 @@ public final class Monetary {
      *                                  {@link javax.money.spi.RoundingProviderSpi} instance.
      */
     public static MonetaryRounding getRounding(String roundingName, String... providers) {
-        return monetaryRoundingsSingletonSpi()
-                .getRounding(roundingName, providers);
+        MonetaryEvent event = MonetaryEvents.begin(MonetaryEvents.ROUNDING_LOOKUP);
+        try {
+            return monetaryRoundingsSingletonSpi()
+                    .getRounding(roundingName, providers);
+        } finally {
+            event.set(MonetaryEvents.ATTR_QUERY, roundingName).set(MonetaryEvents.ATTR_PROVIDER, providers).end();
+        }
     }
 
     /**
@@ -184,8 +200,29 @@ public final class Monetary {
      *                                  {@link javax.money.spi.RoundingProviderSpi} instance.
      */
     public static MonetaryRounding getRounding(RoundingQuery roundingQuery) {
+        MonetaryEvent event = MonetaryEvents.begin(MonetaryEvents.ROUNDING_LOOKUP);
+        try {
+            return monetaryRoundingsSingletonSpi()
+                    .getRounding(roundingQuery);
+        } finally {
+            event.set(MonetaryEvents.ATTR_QUERY, roundingQuery).end();
+        }
+    }
+
+    /**
+     * Access a precompiled {@link RoundingPlan} using a possibly complex query. Plans can be applied repeatedly
+     * without any further lookups, but are only available for roundings the registered
+     * {@link javax.money.spi.RoundingProviderSpi} instances can express as a plan.
+     *
+     * @param roundingQuery The {@link javax.money.RoundingQuery} that may contains arbitrary parameters to be
+     *                      evaluated.
+     * @return the corresponding {@link javax.money.RoundingPlan}, or {@code null}, if no provider supports plans
+     * for the query.
+     * @see #getRounding(RoundingQuery)
+     */
+    public static RoundingPlan getRoundingPlan(RoundingQuery roundingQuery) {
         return monetaryRoundingsSingletonSpi()
-                .getRounding(roundingQuery);
+                .getRoundingPlan(roundingQuery);
     }
 
     /**
@@ -269,10 +306,48 @@ public final class Monetary {
      *                           implementation class is registered.
      */
     public static <T extends MonetaryAmount> MonetaryAmountFactory<T> getAmountFactory(Class<T> amountType) {
+        MonetaryAmountsSingletonSpi spi = monetaryAmountsSingletonSpi();
+        if (spi == null) {
+            throw new MonetaryException("No MonetaryAmountsSingletonSpi loaded.");
+        }
+        MonetaryAmountFactory<T> factory = spi.getAmountFactory(amountType);
+        if (factory == null) {
+            throw new MonetaryException("No AmountFactory available for type: " + amountType.getName());
+        }
+        return factory;
+    }
+
+    /**
+     * Access a stateless, thread-safe {@link MonetaryAmountCreator} for the given {@link MonetaryAmount}
+     * implementation type, using the factory's default {@link MonetaryContext}. Other than a
+     * {@link MonetaryAmountFactory} the creator can be obtained once and shared.
+     *
+     * @param amountType {@link MonetaryAmount} implementation type, nor {@code null}.
+     * @return the corresponding {@link MonetaryAmountCreator}, never {@code null}.
+     * @throws MonetaryException if no {@link MonetaryAmountFactory} targeting the given {@link MonetaryAmount}
+     *                           implementation class is registered.
+     */
+    public static <T extends MonetaryAmount> MonetaryAmountCreator<T> getAmountCreator(Class<T> amountType) {
+        return getAmountCreator(amountType, null);
+    }
+
+    /**
+     * Access a stateless, thread-safe {@link MonetaryAmountCreator} for the given {@link MonetaryAmount}
+     * implementation type, creating all amounts with the given {@link MonetaryContext}. Other than a
+     * {@link MonetaryAmountFactory} the creator can be obtained once and shared.
+     *
+     * @param amountType {@link MonetaryAmount} implementation type, nor {@code null}.
+     * @param context    the {@link MonetaryContext} to be used, or {@code null} for the factory's default.
+     * @return the corresponding {@link MonetaryAmountCreator}, never {@code null}.
+     * @throws MonetaryException if no {@link MonetaryAmountFactory} targeting the given {@link MonetaryAmount}
+     *                           implementation class is registered.
+     */
+    public static <T extends MonetaryAmount> MonetaryAmountCreator<T> getAmountCreator(Class<T> amountType,
+                                                                                     MonetaryContext context) {
         MonetaryAmountsSingletonSpi spi = Optional.ofNullable(monetaryAmountsSingletonSpi())
                 .orElseThrow(() -> new MonetaryException("No MonetaryAmountsSingletonSpi loaded."));
-        MonetaryAmountFactory<T> factory = spi.getAmountFactory(amountType);
-        return Optional.ofNullable(factory).orElseThrow(
+        MonetaryAmountCreator<T> creator = spi.getAmountCreator(amountType, context);
+        return Optional.ofNullable(creator).orElseThrow(
                 () -> new MonetaryException("No AmountFactory available for type: " + amountType.getName()));
     }
 
@@ -299,9 +374,9 @@ public final class Monetary {
      * corresponding {@link MonetaryAmountFactory} instances provided, never {@code null}
      */
     public static Collection<MonetaryAmountFactory<?>> getAmountFactories() {
-        return Optional.ofNullable(monetaryAmountsSingletonSpi())
-                .orElseThrow(() -> new MonetaryException("No MonetaryAmountsSingletonSpi loaded."))
-                .getAmountFactories();
+        MonetaryAmountsSingletonSpi spi = Optional.ofNullable(monetaryAmountsSingletonSpi())
+                .orElseThrow(() -> new MonetaryException("No MonetaryAmountsSingletonSpi loaded."));
+        return amountFactoryCache(spi, monetaryAmountsSingletonQuerySpi()).getAmountFactories();
     }
 
     /**
@@ -337,9 +412,34 @@ public final class Monetary {
      */
     @SuppressWarnings("rawtypes")
 	public static MonetaryAmountFactory getAmountFactory(MonetaryAmountFactoryQuery query) {
-        return Optional.ofNullable(monetaryAmountsSingletonQuerySpi()).orElseThrow(() -> new MonetaryException(
-                "No MonetaryAmountsSingletonQuerySpi loaded, query functionality is not available."))
-                .getAmountFactory(query);
+        MonetaryAmountsSingletonQuerySpi querySpi = monetaryAmountsSingletonQuerySpi();
+        if (querySpi == null) {
+            throw new MonetaryException(
+                    "No MonetaryAmountsSingletonQuerySpi loaded, query functionality is not available.");
+        }
+        MonetaryAmountsSingletonSpi spi = monetaryAmountsSingletonSpi();
+        if (spi == null) {
+            return querySpi.getAmountFactory(query);
+        }
+        return amountFactoryCache(spi, querySpi).getAmountFactory(query);
+    }
+
+    /**
+     * Access the cache for the given SPI instances, replacing the current cache, if it was created for other
+     * instances.
+     *
+     * @param spi      the amounts SPI, not null.
+     * @param querySpi the query SPI, or null.
+     * @return the cache, never null.
+     */
+    private static MonetaryAmountFactoryCache amountFactoryCache(MonetaryAmountsSingletonSpi spi,
+                                                                 MonetaryAmountsSingletonQuerySpi querySpi) {
+        MonetaryAmountFactoryCache cache = amountFactoryCache;
+        if (cache == null || !cache.isValidFor(spi, querySpi)) {
+            cache = new MonetaryAmountFactoryCache(spi, querySpi);
+            amountFactoryCache = cache;
+        }
+        return cache;
     }
 
     /**
@@ -378,8 +478,13 @@ public final class Monetary {
      * @throws UnknownCurrencyException if no such currency exists.
      */
     public static CurrencyUnit getCurrency(String currencyCode, String... providers) {
-        return monetaryCurrenciesSingletonSpi()
-                .getCurrency(currencyCode, providers);
+        MonetaryEvent event = MonetaryEvents.begin(MonetaryEvents.CURRENCY_LOOKUP);
+        try {
+            return monetaryCurrenciesSingletonSpi()
+                    .getCurrency(currencyCode, providers);
+        } finally {
+            event.set(MonetaryEvents.ATTR_CURRENCY, currencyCode).set(MonetaryEvents.ATTR_PROVIDER, providers).end();
+        }
     }
 
     /**
@@ -394,8 +499,13 @@ public final class Monetary {
      * @throws UnknownCurrencyException if no such currency exists.
      */
     public static CurrencyUnit getCurrency(Locale locale, String... providers) {
-        return monetaryCurrenciesSingletonSpi()
-                .getCurrency(locale, providers);
+        MonetaryEvent event = MonetaryEvents.begin(MonetaryEvents.CURRENCY_LOOKUP);
+        try {
+            return monetaryCurrenciesSingletonSpi()
+                    .getCurrency(locale, providers);
+        } finally {
+            event.set(MonetaryEvents.ATTR_CURRENCY, locale).set(MonetaryEvents.ATTR_PROVIDER, providers).end();
+        }
     }
 
     /**
@@ -459,8 +569,13 @@ public final class Monetary {
      * @return the list of known currencies, never null.
      */
     public static CurrencyUnit getCurrency(CurrencyQuery query) {
-        return monetaryCurrenciesSingletonSpi()
-                .getCurrency(query);
+        MonetaryEvent event = MonetaryEvents.begin(MonetaryEvents.CURRENCY_LOOKUP);
+        try {
+            return monetaryCurrenciesSingletonSpi()
+                    .getCurrency(query);
+        } finally {
+            event.set(MonetaryEvents.ATTR_QUERY, query).end();
+        }
     }
 
 
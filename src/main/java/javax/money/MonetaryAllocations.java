@@ -0,0 +1,83 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Shared argument handling for the allocation operations of {@link MonetaryAmount} and
+ * {@link MonetaryAmountVector}.
+ */
+final class MonetaryAllocations {
+
+    private MonetaryAllocations() {
+    }
+
+    /**
+     * Creates {@code parts} equal ratios.
+     *
+     * @param parts the number of parts, must be &gt;= 1.
+     * @return the ratios, never null.
+     * @throws IllegalArgumentException if {@code parts < 1}.
+     */
+    static long[] equalRatios(int parts) {
+        if (parts < 1) {
+            throw new IllegalArgumentException("Parts must be >= 1, was: " + parts);
+        }
+        long[] ratios = new long[parts];
+        Arrays.fill(ratios, 1L);
+        return ratios;
+    }
+
+    /**
+     * Validates the given ratios and evaluates their total.
+     *
+     * @param ratios the ratios, not null and not empty.
+     * @return the total of all ratios, always &gt; 0.
+     * @throws IllegalArgumentException if no ratio is given, a ratio is negative or all ratios are zero.
+     * @throws ArithmeticException      if the total of all ratios overflows a {@code long}.
+     */
+    static long total(long[] ratios) {
+        Objects.requireNonNull(ratios, "Ratios required.");
+        if (ratios.length == 0) {
+            throw new IllegalArgumentException("At least one ratio required.");
+        }
+        long total = 0L;
+        for (long ratio : ratios) {
+            if (ratio < 0L) {
+                throw new IllegalArgumentException("Ratios must be >= 0, was: " + ratio);
+            }
+            total = Math.addExact(total, ratio);
+        }
+        if (total == 0L) {
+            throw new IllegalArgumentException("At least one ratio must be > 0.");
+        }
+        return total;
+    }
+
+    /**
+     * Evaluates the number of fraction digits of the minor unit of the given currency.
+     *
+     * @param currency the currency, not null.
+     * @return the number of fraction digits, never negative.
+     */
+    static int minorUnitDigits(CurrencyUnit currency) {
+        return Math.max(currency.getDefaultFractionDigits(), 0);
+    }
+
+}
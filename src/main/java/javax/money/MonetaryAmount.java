@@ -16,6 +16,9 @@
  */
 package javax.money;
 
+import java.math.BigDecimal;
+import java.util.Objects;
+
 /**
  * Interface defining a monetary amount. The effective format representation of an amount may vary
  * depending on the implementation used. JSR 354 explicitly supports different types of monetary
@@ -358,6 +361,66 @@ public interface MonetaryAmount extends CurrencySupplier, NumberSupplier, Compar
      */
     MonetaryAmount multiply(Number multiplicand);
 
+    /**
+     * Returns a {@code MonetaryAmount} whose value is <code>(this &times;
+     * multiplicand)</code>, rounded by the given {@link MonetaryRounding}.
+     * <p>
+     * The default implementation is equivalent to {@code multiply(multiplicand).with(rounding)}. Implementations
+     * are encouraged to override this method and compute the rounded result in a single pass, e.g. by using a
+     * {@link java.math.MathContext} derived from the rounding, hereby avoiding the creation of the unrounded
+     * intermediate amount.
+     *
+     * @param multiplicand value to be multiplied by this {@code MonetaryAmount}, not {@code null}.
+     * @param rounding     the rounding to be applied to the product, not {@code null}.
+     * @return {@code round(this * multiplicand)}
+     * @throws ArithmeticException if the result exceeds the numeric capabilities of this implementation class, i.e.
+     *                             the {@link MonetaryContext} cannot be adapted as required.
+     */
+    default MonetaryAmount multiply(Number multiplicand, MonetaryRounding rounding){
+        Objects.requireNonNull(rounding, "Rounding required.");
+        return multiply(multiplicand).with(rounding);
+    }
+
+    /**
+     * Returns a {@code MonetaryAmount} whose value is <code>(this &times;
+     * multiplicand) + addend</code>. No rounding is applied to the intermediate product.
+     * <p>
+     * The default implementation is equivalent to {@code multiply(multiplicand).add(addend)}. Implementations
+     * may override this method to compute the result without creating the intermediate product amount.
+     *
+     * @param multiplicand value to be multiplied by this {@code MonetaryAmount}, not {@code null}.
+     * @param addend       value to be added to the product, not {@code null}.
+     * @return {@code this * multiplicand + addend}
+     * @throws ArithmeticException if the result exceeds the numeric capabilities of this implementation class, i.e.
+     *                             the {@link MonetaryContext} cannot be adapted as required.
+     * @throws MonetaryException   if the currencies of this amount and the addend do not match.
+     */
+    default MonetaryAmount multiplyAdd(Number multiplicand, MonetaryAmount addend){
+        return multiply(multiplicand).add(addend);
+    }
+
+    /**
+     * Returns a {@code MonetaryAmount} whose value is <code>(this &times;
+     * multiplicand) + addend</code>, rounded by the given {@link MonetaryRounding}. Only the final result is
+     * rounded, the intermediate product is kept exact, as far as supported by the implementation.
+     * <p>
+     * The default implementation is equivalent to {@code multiply(multiplicand).add(addend).with(rounding)}.
+     * Implementations are encouraged to override this method and compute the result in a single pass, which is
+     * common when applying interest, tax or fee rates to large numbers of amounts.
+     *
+     * @param multiplicand value to be multiplied by this {@code MonetaryAmount}, not {@code null}.
+     * @param addend       value to be added to the product, not {@code null}.
+     * @param rounding     the rounding to be applied to the result, not {@code null}.
+     * @return {@code round(this * multiplicand + addend)}
+     * @throws ArithmeticException if the result exceeds the numeric capabilities of this implementation class, i.e.
+     *                             the {@link MonetaryContext} cannot be adapted as required.
+     * @throws MonetaryException   if the currencies of this amount and the addend do not match.
+     */
+    default MonetaryAmount multiplyAdd(Number multiplicand, MonetaryAmount addend, MonetaryRounding rounding){
+        Objects.requireNonNull(rounding, "Rounding required.");
+        return multiplyAdd(multiplicand, addend).with(rounding);
+    }
+
     /**
      * Returns a {@code MonetaryAmount} whose value is <code>this /
      * divisor</code>, and whose preferred scale is <code>this.getContext().getMaxScale() -
@@ -517,6 +580,97 @@ public interface MonetaryAmount extends CurrencySupplier, NumberSupplier, Compar
      */
     MonetaryAmount[] divideAndRemainder(Number divisor);
 
+    /**
+     * Splits this {@code MonetaryAmount} into {@code parts} equal shares. The shares are truncated to the
+     * minor unit of the amount's currency, the remaining minor units are distributed one by one to the first
+     * shares. The sum of the shares is always equal to this amount.
+     * <p>
+     * E.g. allocating {@code CHF 100.00} to 3 parts results in {@code CHF 33.34, CHF 33.33, CHF 33.33}.
+     *
+     * @param parts the number of parts, must be &gt;= 1.
+     * @return the shares, never {@code null}.
+     * @throws IllegalArgumentException if {@code parts < 1}.
+     * @see #allocate(long...)
+     */
+    default MonetaryAmount[] allocate(int parts){
+        return allocate(MonetaryAllocations.equalRatios(parts));
+    }
+
+    /**
+     * Splits this {@code MonetaryAmount} into shares proportional to the given ratios. The shares are
+     * truncated to the minor unit of the amount's currency (as defined by
+     * {@link CurrencyUnit#getDefaultFractionDigits()}), the remaining minor units are distributed one by one to
+     * the first shares with a non zero ratio. If this amount is not a whole number of minor units, the fraction
+     * of a minor unit left over is added to the first share with a non zero ratio. The sum of the shares is
+     * always equal to this amount.
+     * <p>
+     * E.g. allocating {@code CHF 0.05} with ratios {@code 3, 7} results in {@code CHF 0.02, CHF 0.03}.
+     *
+     * @param ratios the ratios, not {@code null}, not empty, none negative and at least one &gt; 0.
+     * @return the shares, never {@code null}, in the order of the ratios.
+     * @throws IllegalArgumentException if the ratios are invalid.
+     * @see #allocate(MonetaryAmount[], int, long...)
+     */
+    default MonetaryAmount[] allocate(long... ratios){
+        MonetaryAmount[] shares = new MonetaryAmount[Objects.requireNonNull(ratios, "Ratios required.").length];
+        allocate(shares, 0, ratios);
+        return shares;
+    }
+
+    /**
+     * Splits this {@code MonetaryAmount} into shares proportional to the given ratios, as defined by
+     * {@link #allocate(long...)}, writing the shares into the given array. This allows callers splitting large
+     * numbers of amounts to reuse the target array.
+     * <p>
+     * The default implementation uses the existing arithmetic operations of this amount. Implementations may
+     * override this method to perform the allocation on their internal representation.
+     *
+     * @param target the array the shares are written to, not {@code null}.
+     * @param offset the index of the first share within {@code target}.
+     * @param ratios the ratios, not {@code null}, not empty, none negative and at least one &gt; 0.
+     * @throws IllegalArgumentException  if the ratios are invalid.
+     * @throws IndexOutOfBoundsException if {@code target} cannot hold all shares starting at {@code offset}.
+     * @see MonetaryAmountVector#appendAllocation(MonetaryAmount, long...)
+     */
+    default void allocate(MonetaryAmount[] target, int offset, long... ratios){
+        long total = MonetaryAllocations.total(ratios);
+        Objects.requireNonNull(target, "Target required.");
+        if (offset < 0 || offset > target.length - ratios.length) {
+            throw new IndexOutOfBoundsException("Offset: " + offset + ", parts: " + ratios.length + ", length: " +
+                    target.length);
+        }
+        int digits = MonetaryAllocations.minorUnitDigits(getCurrency());
+        MonetaryAmount minorUnits = scaleByPowerOfTen(digits);
+        MonetaryAmount remaining = this;
+        int first = -1;
+        for (int i = 0; i < ratios.length; i++) {
+            MonetaryAmount share = minorUnits.multiply(ratios[i]).divideToIntegralValue(total)
+                    .scaleByPowerOfTen(-digits);
+            target[offset + i] = share;
+            remaining = remaining.subtract(share);
+            if (first < 0 && ratios[i] > 0) {
+                first = i;
+            }
+        }
+        if (remaining.isZero()) {
+            return;
+        }
+        long units = remaining.scaleByPowerOfTen(digits).divideToIntegralValue(1).getNumber().longValueExact();
+        if (units != 0) {
+            MonetaryAmount unit = getFactory().setNumber(BigDecimal.valueOf(Long.signum(units), digits)).create();
+            for (int i = 0; i < ratios.length && units != 0; i++) {
+                if (ratios[i] > 0) {
+                    target[offset + i] = target[offset + i].add(unit);
+                    remaining = remaining.subtract(unit);
+                    units -= Long.signum(units);
+                }
+            }
+        }
+        if (!remaining.isZero()) {
+            target[offset + first] = target[offset + first].add(remaining);
+        }
+    }
+
     /**
      * Returns a {@code MonetaryAmount} whose value is the integer part of the quotient
      * <code>this / divisor</code> rounded down. The preferred scale of the result is
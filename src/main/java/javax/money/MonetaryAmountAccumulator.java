@@ -0,0 +1,320 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Mutable accumulator for summing up {@link MonetaryAmount} instances without creating an intermediate amount
+ * for each step. The running total is kept internally as {@link BigDecimal}, the currency is determined by the
+ * first amount added and validated for all subsequent amounts. An optional {@link MonetaryRounding} is applied
+ * when the total is accessed and, if a checkpoint interval is configured, after every given number of added
+ * amounts.
+ * <p>
+ * If the rounding is a {@link RoundingPlan} it is applied directly on the running total, otherwise an amount is
+ * created for each checkpoint, which is rounded using {@link MonetaryAmount#with(MonetaryOperator)}.
+ * <p>
+ * The result is created using the {@link MonetaryAmountFactory} of the first amount added, or a new factory of
+ * the amount type requested by {@link #getTotal(MonetaryAmountFactory)}. Instances of this class are not
+ * thread-safe. Nevertheless they can be used for parallel processing by accumulating partial sums and combining
+ * them using {@link #merge(MonetaryAmountAccumulator)}.
+ */
+public final class MonetaryAmountAccumulator implements Consumer<MonetaryAmount> {
+
+    /**
+     * The rounding applied, or null.
+     */
+    private final MonetaryRounding rounding;
+    /**
+     * The number of amounts added after which the rounding is applied to the running total, {@code 0} if the
+     * rounding is only applied on the final result.
+     */
+    private final int checkpointInterval;
+    /**
+     * The accumulated currency, determined by the first amount added.
+     */
+    private CurrencyUnit currency;
+    /**
+     * The first amount added, used for creating the result.
+     */
+    private MonetaryAmount template;
+    /**
+     * The running total.
+     */
+    private BigDecimal total = BigDecimal.ZERO;
+    /**
+     * The number of amounts added.
+     */
+    private long count;
+    /**
+     * The number of amounts added since the last checkpoint.
+     */
+    private int sinceCheckpoint;
+
+    /**
+     * Constructor.
+     *
+     * @param rounding           the rounding, or null.
+     * @param checkpointInterval the checkpoint interval, {@code >= 0}.
+     */
+    private MonetaryAmountAccumulator(MonetaryRounding rounding, int checkpointInterval) {
+        if (checkpointInterval < 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be >= 0, was: " + checkpointInterval);
+        }
+        if (checkpointInterval > 0) {
+            Objects.requireNonNull(rounding, "Rounding required for checkpoints.");
+        }
+        this.rounding = rounding;
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    /**
+     * Creates a new accumulator, which does not apply any rounding.
+     *
+     * @return a new accumulator, never null.
+     */
+    public static MonetaryAmountAccumulator of() {
+        return new MonetaryAmountAccumulator(null, 0);
+    }
+
+    /**
+     * Creates a new accumulator, which applies the given rounding on the final result only.
+     *
+     * @param rounding the rounding, not null.
+     * @return a new accumulator, never null.
+     */
+    public static MonetaryAmountAccumulator of(MonetaryRounding rounding) {
+        return new MonetaryAmountAccumulator(Objects.requireNonNull(rounding, "Rounding required."), 0);
+    }
+
+    /**
+     * Creates a new accumulator, which applies the given rounding on the running total after every
+     * {@code checkpointInterval} amounts added, as well as on the final result.
+     *
+     * @param rounding           the rounding, not null.
+     * @param checkpointInterval the number of amounts after which the running total is rounded, or {@code 0} to
+     *                           round the final result only.
+     * @return a new accumulator, never null.
+     * @throws IllegalArgumentException if {@code checkpointInterval < 0}.
+     */
+    public static MonetaryAmountAccumulator of(MonetaryRounding rounding, int checkpointInterval) {
+        return new MonetaryAmountAccumulator(Objects.requireNonNull(rounding, "Rounding required."),
+                checkpointInterval);
+    }
+
+    /**
+     * Adds the given amount to the running total.
+     *
+     * @param amount the amount, not null.
+     * @return this accumulator, for chaining.
+     * @throws MonetaryException if the amount's currency does not match the currency accumulated so far.
+     */
+    public MonetaryAmountAccumulator add(MonetaryAmount amount) {
+        Objects.requireNonNull(amount, "Amount required.");
+        checkCurrency(amount.getCurrency());
+        if (template == null) {
+            template = amount;
+        }
+        total = total.add(amount.getNumber().numberValue(BigDecimal.class));
+        count++;
+        if (checkpointInterval > 0 && ++sinceCheckpoint >= checkpointInterval) {
+            total = round(total);
+            sinceCheckpoint = 0;
+        }
+        return this;
+    }
+
+    /**
+     * Adds the given amount to the running total, same as {@link #add(MonetaryAmount)}.
+     *
+     * @param amount the amount, not null.
+     */
+    @Override
+    public void accept(MonetaryAmount amount) {
+        add(amount);
+    }
+
+    /**
+     * Adds the running total of the given accumulator to this accumulator. The amounts added to the other
+     * accumulator since its last checkpoint count towards the checkpoint interval of this accumulator, same as if
+     * they had been added directly. The other accumulator remains unchanged.
+     *
+     * @param other the accumulator to be merged, not null.
+     * @return this accumulator, for chaining.
+     * @throws MonetaryException if the currencies of both accumulators do not match.
+     */
+    public MonetaryAmountAccumulator merge(MonetaryAmountAccumulator other) {
+        Objects.requireNonNull(other, "Accumulator required.");
+        if (other.count == 0) {
+            return this;
+        }
+        checkCurrency(other.currency);
+        if (template == null) {
+            template = other.template;
+        }
+        total = total.add(other.total);
+        count += other.count;
+        if (checkpointInterval > 0) {
+            if (other.sinceCheckpoint >= checkpointInterval - sinceCheckpoint) {
+                total = round(total);
+                sinceCheckpoint = 0;
+            } else {
+                sinceCheckpoint += other.sinceCheckpoint;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Access the number of amounts accumulated.
+     *
+     * @return the number of amounts accumulated.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Checks if no amount has been accumulated so far.
+     *
+     * @return true, if no amount has been added.
+     */
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Access the currency accumulated.
+     *
+     * @return the currency, or null, if no amount has been added.
+     */
+    public CurrencyUnit getCurrency() {
+        return currency;
+    }
+
+    /**
+     * Access the rounding applied.
+     *
+     * @return the rounding, or null.
+     */
+    public MonetaryRounding getRounding() {
+        return rounding;
+    }
+
+    /**
+     * Access the checkpoint interval.
+     *
+     * @return the number of amounts after which the running total is rounded, {@code 0} if the rounding is
+     * applied on the final result only.
+     */
+    public int getCheckpointInterval() {
+        return checkpointInterval;
+    }
+
+    /**
+     * Creates the total amount, with the rounding applied, using the factory of the first amount added. The
+     * accumulator remains unchanged and can be used for further accumulation.
+     *
+     * @return the total amount, never null.
+     * @throws MonetaryException if no amount has been added.
+     */
+    public MonetaryAmount getTotal() {
+        if (template == null) {
+            throw new MonetaryException("Cannot evaluate total, no amount accumulated.");
+        }
+        return createTotal(template.getFactory());
+    }
+
+    /**
+     * Creates the total amount, with the rounding applied, of the amount type of the given factory. The given
+     * factory is not changed, the result is created using a new factory of this type, which is the factory of the
+     * first amount added, if it has the same type, or the factory provided by
+     * {@link Monetary#getAmountFactory(Class)}.
+     *
+     * @param factory the amount factory, not null.
+     * @param <T>     the amount type.
+     * @return the total amount, never null.
+     * @throws MonetaryException if no amount has been added, or no factory is available for the amount type.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends MonetaryAmount> T getTotal(MonetaryAmountFactory<T> factory) {
+        Objects.requireNonNull(factory, "Factory required.");
+        if (template == null) {
+            throw new MonetaryException("Cannot evaluate total, no amount accumulated.");
+        }
+        Class<? extends MonetaryAmount> amountType = factory.getAmountType();
+        MonetaryAmountFactory<?> totalFactory = amountType.isInstance(template) ? template.getFactory() :
+                Monetary.getAmountFactory(amountType);
+        if (currency != null) {
+            totalFactory.setCurrency(currency);
+        }
+        return (T) createTotal(totalFactory);
+    }
+
+    /**
+     * Resets this accumulator to its initial state, so it can be reused.
+     *
+     * @return this accumulator, for chaining.
+     */
+    public MonetaryAmountAccumulator reset() {
+        currency = null;
+        template = null;
+        total = BigDecimal.ZERO;
+        count = 0;
+        sinceCheckpoint = 0;
+        return this;
+    }
+
+    private MonetaryAmount createTotal(MonetaryAmountFactory<?> factory) {
+        if (rounding instanceof RoundingPlan) {
+            RoundingPlan plan = (RoundingPlan) rounding;
+            if (plan.getCurrency() != null && currency != null &&
+                    !plan.getCurrency().getCurrencyCode().equals(currency.getCurrencyCode())) {
+                throw new MonetaryException("Rounding plan for " + plan.getCurrency().getCurrencyCode() +
+                        " cannot be applied to an amount in " + currency.getCurrencyCode());
+            }
+            return factory.setNumber(plan.round(total)).create();
+        }
+        MonetaryAmount result = factory.setNumber(total).create();
+        if (rounding != null) {
+            return result.with(rounding);
+        }
+        return result;
+    }
+
+    private BigDecimal round(BigDecimal value) {
+        if (rounding instanceof RoundingPlan) {
+            return ((RoundingPlan) rounding).round(value);
+        }
+        return template.getFactory().setNumber(value).create().with(rounding).getNumber()
+                .numberValue(BigDecimal.class);
+    }
+
+    private void checkCurrency(CurrencyUnit unit) {
+        if (unit == null) {
+            return;
+        }
+        if (currency == null) {
+            currency = unit;
+        } else if (currency != unit && !currency.getCurrencyCode().equals(unit.getCurrencyCode())) {
+            throw new MonetaryException("Currency mismatch: " + currency.getCurrencyCode() + '/' +
+                    unit.getCurrencyCode());
+        }
+    }
+}
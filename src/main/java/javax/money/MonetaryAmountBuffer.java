@@ -0,0 +1,502 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money;
+
+import java.math.BigDecimal;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.stream.Stream;
+
+/**
+ * Amount store backed by a {@link ByteBuffer}, typically a direct or memory mapped buffer, so large numbers of
+ * amounts can be held outside of the Java heap. The buffer starts with a header of {@link #HEADER_SIZE} bytes,
+ * followed by the amounts, each encoded as a fixed-width record of {@link #RECORD_SIZE} bytes. All values are
+ * written in big endian order. The header consists of:
+ * <ul>
+ * <li>a magic number ({@code int}),</li>
+ * <li>the number of currencies in the currency registry ({@code int}),</li>
+ * <li>a fingerprint of the currency codes in the currency registry ({@code long}),</li>
+ * <li>the number of records stored ({@code int}), updated on each change of the size,</li>
+ * <li>4 reserved bytes, keeping the records aligned.</li>
+ * </ul>
+ * Each record consists of:
+ * <ul>
+ * <li>the currency index ({@code int}), referring to the currency registry of the store,</li>
+ * <li>the scale ({@code int}),</li>
+ * <li>the unscaled value ({@code long}).</li>
+ * </ul>
+ * The currency registry is the list of currencies the store was created with, sorted by currency code, by default
+ * the currencies as returned by {@link Monetary#getCurrencies(String...)}. Stores sharing the same registry can
+ * hence exchange their buffers, e.g. by using memory mapped files: a store is created over a new file using
+ * {@link #create(ByteBuffer, Collection, MonetaryAmountCreator)} and reopened using
+ * {@link #wrap(ByteBuffer, Collection, MonetaryAmountCreator)}. When wrapping a buffer, its header is
+ * validated against the registry passed, so a buffer written with a different registry, e.g. by a runtime with
+ * other currency providers, is rejected instead of silently decoding wrong currencies.
+ * <p>
+ * {@link MonetaryAmount} instances are only created on access, using the {@link MonetaryAmountCreator} the store
+ * was created with, or an explicitly passed {@link MonetaryAmountFactory}. Amounts with an unscaled value not
+ * fitting into a {@code long} cannot be stored.
+ * <p>
+ * Concurrent read access is safe, as long as no thread is modifying the store.
+ */
+public final class MonetaryAmountBuffer implements Iterable<MonetaryAmount> {
+
+    /**
+     * The size of the header in bytes.
+     */
+    public static final int HEADER_SIZE = 24;
+
+    /**
+     * The size of a record in bytes.
+     */
+    public static final int RECORD_SIZE = 16;
+
+    /**
+     * The magic number starting the header.
+     */
+    private static final int MAGIC = 0x4A534D42;
+
+    /**
+     * The offset of the number of records within the header.
+     */
+    private static final int SIZE_OFFSET = 16;
+
+    /**
+     * The offset of the scale within a record.
+     */
+    private static final int SCALE_OFFSET = 4;
+
+    /**
+     * The offset of the unscaled value within a record.
+     */
+    private static final int UNSCALED_OFFSET = 8;
+
+    /**
+     * Comparator ordering the currency registry.
+     */
+    private static final Comparator<CurrencyUnit> CURRENCY_CODE_ORDER =
+            Comparator.comparing(CurrencyUnit::getCurrencyCode);
+
+    /**
+     * The buffer, positioned at the header.
+     */
+    private final ByteBuffer buffer;
+    /**
+     * The currency registry, sorted by currency code.
+     */
+    private final CurrencyUnit[] currencies;
+    /**
+     * The creator used for creating amounts on access.
+     */
+    private final MonetaryAmountCreator<?> creator;
+    /**
+     * The maximal number of records.
+     */
+    private final int capacity;
+    /**
+     * The number of records stored.
+     */
+    private int size;
+
+    private MonetaryAmountBuffer(ByteBuffer buffer, Collection<CurrencyUnit> currencies,
+                                 MonetaryAmountCreator<?> creator, boolean full) {
+        Objects.requireNonNull(buffer, "Buffer required.");
+        this.creator = Objects.requireNonNull(creator, "Creator required.");
+        this.currencies = Objects.requireNonNull(currencies, "Currencies required.").toArray(new CurrencyUnit[0]);
+        Arrays.sort(this.currencies, CURRENCY_CODE_ORDER);
+        for (int i = 1; i < this.currencies.length; i++) {
+            if (this.currencies[i - 1].getCurrencyCode().equals(this.currencies[i].getCurrencyCode())) {
+                throw new IllegalArgumentException("Duplicate currency: " + this.currencies[i].getCurrencyCode());
+            }
+        }
+        this.buffer = buffer.slice().order(ByteOrder.BIG_ENDIAN);
+        if (this.buffer.capacity() < HEADER_SIZE) {
+            throw new IllegalArgumentException("Buffer too small for header: " + this.buffer.capacity());
+        }
+        this.capacity = (this.buffer.capacity() - HEADER_SIZE) / RECORD_SIZE;
+        long fingerprint = fingerprint(this.currencies);
+        if (full) {
+            if (this.buffer.getInt(0) != MAGIC) {
+                throw new MonetaryException("Not a MonetaryAmountBuffer, invalid header.");
+            }
+            if (this.buffer.getInt(4) != this.currencies.length || this.buffer.getLong(8) != fingerprint) {
+                throw new MonetaryException("Buffer was written with a different currency registry, expected " +
+                        this.currencies.length + " currencies, found: " + this.buffer.getInt(4));
+            }
+            int stored = this.buffer.getInt(SIZE_OFFSET);
+            if (stored < 0 || stored > capacity) {
+                throw new MonetaryException("Invalid number of records: " + stored + ", capacity: " + capacity);
+            }
+            this.size = stored;
+        } else {
+            this.buffer.putInt(0, MAGIC);
+            this.buffer.putInt(4, this.currencies.length);
+            this.buffer.putLong(8, fingerprint);
+            this.buffer.putInt(SIZE_OFFSET, 0);
+            this.buffer.putInt(SIZE_OFFSET + 4, 0);
+            this.size = 0;
+        }
+    }
+
+    /**
+     * Evaluates the fingerprint of the currency codes, using the 64 bit FNV-1a hash, which is independent of the
+     * runtime.
+     *
+     * @param currencies the currencies, sorted by currency code.
+     * @return the fingerprint.
+     */
+    private static long fingerprint(CurrencyUnit[] currencies) {
+        long hash = 0xcbf29ce484222325L;
+        for (CurrencyUnit currency : currencies) {
+            String code = currency.getCurrencyCode();
+            for (int i = 0; i <= code.length(); i++) {
+                // the terminating zero separates the codes
+                hash ^= i < code.length() ? code.charAt(i) : 0;
+                hash *= 0x100000001b3L;
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Creates a new empty store backed by a direct buffer, using the currencies from
+     * {@link Monetary#getCurrencies(String...)} and the default amount type.
+     *
+     * @param capacity the maximal number of amounts.
+     * @return the new store, never null.
+     */
+    public static MonetaryAmountBuffer allocateDirect(int capacity) {
+        return allocateDirect(capacity, Monetary.getCurrencies(),
+                Monetary.getAmountCreator(Monetary.getDefaultAmountType()));
+    }
+
+    /**
+     * Creates a new empty store backed by a direct buffer.
+     *
+     * @param capacity   the maximal number of amounts.
+     * @param currencies the currencies supported, not null.
+     * @param creator    the creator used for creating amounts on access, not null.
+     * @return the new store, never null.
+     */
+    public static MonetaryAmountBuffer allocateDirect(int capacity, Collection<CurrencyUnit> currencies,
+                                                      MonetaryAmountCreator<?> creator) {
+        if (capacity < 0 || capacity > (Integer.MAX_VALUE - HEADER_SIZE) / RECORD_SIZE) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+        return create(ByteBuffer.allocateDirect(HEADER_SIZE + capacity * RECORD_SIZE), currencies, creator);
+    }
+
+    /**
+     * Creates a new empty store in the given buffer, e.g. a memory mapped file, writing a new header. Any content
+     * of the buffer is discarded, the capacity is given by the remaining bytes after the header. Changes to the
+     * store are written through to the buffer.
+     *
+     * @param buffer     the buffer, positioned where the header is to be written, not null.
+     * @param currencies the currencies supported, not null.
+     * @param creator    the creator used for creating amounts on access, not null.
+     * @return the new store, never null.
+     * @throws java.nio.ReadOnlyBufferException if the buffer is read-only.
+     */
+    public static MonetaryAmountBuffer create(ByteBuffer buffer, Collection<CurrencyUnit> currencies,
+                                              MonetaryAmountCreator<?> creator) {
+        return new MonetaryAmountBuffer(buffer, currencies, creator, false);
+    }
+
+    /**
+     * Creates a store using the existing header and records in the given buffer, e.g. a memory mapped file, as
+     * written by another store. The number of records present is read from the header, the capacity is given by
+     * the remaining bytes after the header. Changes to the store are written through to the buffer.
+     *
+     * @param buffer     the buffer, positioned at the header, not null.
+     * @param currencies the currencies supported, the same as used for writing the records, not null.
+     * @param creator    the creator used for creating amounts on access, not null.
+     * @return the new store, never null.
+     * @throws MonetaryException if the buffer has no valid header or was written with a different currency
+     *                           registry.
+     */
+    public static MonetaryAmountBuffer wrap(ByteBuffer buffer, Collection<CurrencyUnit> currencies,
+                                            MonetaryAmountCreator<?> creator) {
+        return new MonetaryAmountBuffer(buffer, currencies, creator, true);
+    }
+
+    /**
+     * Access the maximal number of amounts.
+     *
+     * @return the capacity.
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Access the number of amounts stored.
+     *
+     * @return the number of amounts.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Access the currency registry, sorted by currency code.
+     *
+     * @return the currencies, never null.
+     */
+    public List<CurrencyUnit> getCurrencies() {
+        return Collections.unmodifiableList(Arrays.asList(currencies));
+    }
+
+    /**
+     * Access a view of the underlying buffer, containing the header and all records stored, which can be passed
+     * to {@link #wrap(ByteBuffer, Collection, MonetaryAmountCreator)}.
+     *
+     * @return a read-only view of the header and records, never null.
+     */
+    public ByteBuffer asReadOnlyBuffer() {
+        ByteBuffer view = buffer.asReadOnlyBuffer();
+        view.limit(HEADER_SIZE + size * RECORD_SIZE);
+        return view.order(ByteOrder.BIG_ENDIAN);
+    }
+
+    /**
+     * Appends the given amount.
+     *
+     * @param amount the amount, not null.
+     * @return this store, for chaining.
+     * @throws BufferOverflowException if the store is full.
+     * @throws MonetaryException       if the currency is not registered.
+     * @throws ArithmeticException     if the unscaled value does not fit into a {@code long}.
+     */
+    public MonetaryAmountBuffer append(MonetaryAmount amount) {
+        Objects.requireNonNull(amount, "Amount required.");
+        NumberValue number = amount.getNumber();
+        if (number.isUnscaledLongAvailable()) {
+            return append(amount.getCurrency(), number.getUnscaledLong(), number.getScale());
+        }
+        LongNumberValue value = LongNumberValue.of(number.numberValue(BigDecimal.class));
+        return append(amount.getCurrency(), value.getUnscaledLong(), value.getScale());
+    }
+
+    /**
+     * Appends an amount given as unscaled value and scale.
+     *
+     * @param currency the currency, not null.
+     * @param unscaled the unscaled value.
+     * @param scale    the scale.
+     * @return this store, for chaining.
+     * @throws BufferOverflowException if the store is full.
+     * @throws MonetaryException       if the currency is not registered.
+     */
+    public MonetaryAmountBuffer append(CurrencyUnit currency, long unscaled, int scale) {
+        if (size == capacity) {
+            throw new BufferOverflowException();
+        }
+        write(size, currencyIndex(currency), unscaled, scale);
+        setSize(size + 1);
+        return this;
+    }
+
+    /**
+     * Replaces the amount at the given index.
+     *
+     * @param index    the index.
+     * @param currency the currency, not null.
+     * @param unscaled the unscaled value.
+     * @param scale    the scale.
+     * @return this store, for chaining.
+     * @throws MonetaryException if the currency is not registered.
+     */
+    public MonetaryAmountBuffer set(int index, CurrencyUnit currency, long unscaled, int scale) {
+        checkIndex(index);
+        write(index, currencyIndex(currency), unscaled, scale);
+        return this;
+    }
+
+    /**
+     * Access the currency at the given index.
+     *
+     * @param index the index.
+     * @return the currency, never null.
+     * @throws MonetaryException if the record refers to a currency not in the currency registry.
+     */
+    public CurrencyUnit getCurrency(int index) {
+        checkIndex(index);
+        int currencyIndex = buffer.getInt(offset(index));
+        if (currencyIndex < 0 || currencyIndex >= currencies.length) {
+            throw new MonetaryException("Invalid currency index at " + index + ": " + currencyIndex);
+        }
+        return currencies[currencyIndex];
+    }
+
+    /**
+     * Access the unscaled value at the given index.
+     *
+     * @param index the index.
+     * @return the unscaled value.
+     */
+    public long getUnscaledLong(int index) {
+        checkIndex(index);
+        return buffer.getLong(offset(index) + UNSCALED_OFFSET);
+    }
+
+    /**
+     * Access the scale at the given index.
+     *
+     * @param index the index.
+     * @return the scale.
+     */
+    public int getScale(int index) {
+        checkIndex(index);
+        return buffer.getInt(offset(index) + SCALE_OFFSET);
+    }
+
+    /**
+     * Access the number at the given index.
+     *
+     * @param index the index.
+     * @return the number, never null.
+     */
+    public LongNumberValue getNumber(int index) {
+        checkIndex(index);
+        int offset = offset(index);
+        return LongNumberValue.of(buffer.getLong(offset + UNSCALED_OFFSET), buffer.getInt(offset + SCALE_OFFSET));
+    }
+
+    /**
+     * Creates the amount at the given index, using the creator of this store.
+     *
+     * @param index the index.
+     * @return the amount, never null.
+     */
+    public MonetaryAmount get(int index) {
+        return creator.create(getCurrency(index), getNumber(index));
+    }
+
+    /**
+     * Creates the amount at the given index, using the given factory.
+     *
+     * @param index   the index.
+     * @param factory the factory, not null.
+     * @param <T>     the amount type.
+     * @return the amount, never null.
+     */
+    public <T extends MonetaryAmount> T get(int index, MonetaryAmountFactory<T> factory) {
+        return factory.setCurrency(getCurrency(index)).setNumber(getNumber(index)).create();
+    }
+
+    /**
+     * Access a lazy list view of this store, creating the amounts on access.
+     *
+     * @return the list view, never null.
+     */
+    public List<MonetaryAmount> asList() {
+        return new ListView();
+    }
+
+    /**
+     * Access a lazy stream of the amounts, creating the amounts on access.
+     *
+     * @return the stream, never null.
+     */
+    public Stream<MonetaryAmount> stream() {
+        return asList().stream();
+    }
+
+    @Override
+    public Iterator<MonetaryAmount> iterator() {
+        return asList().iterator();
+    }
+
+    /**
+     * Removes all amounts. The buffer content is not cleared.
+     *
+     * @return this store, for chaining.
+     */
+    public MonetaryAmountBuffer clear() {
+        setSize(0);
+        return this;
+    }
+
+    /**
+     * Sets the number of records stored, writing it through to the header. The records must have been written
+     * before, so a reader of the buffer never sees a size covering records not yet written.
+     *
+     * @param size the new number of records.
+     */
+    private void setSize(int size) {
+        buffer.putInt(SIZE_OFFSET, size);
+        this.size = size;
+    }
+
+    @Override
+    public String toString() {
+        return "MonetaryAmountBuffer [size=" + size + ", capacity=" + capacity + ", currencies=" +
+                currencies.length + ']';
+    }
+
+    private void write(int index, int currencyIndex, long unscaled, int scale) {
+        int offset = offset(index);
+        buffer.putInt(offset, currencyIndex);
+        buffer.putInt(offset + SCALE_OFFSET, scale);
+        buffer.putLong(offset + UNSCALED_OFFSET, unscaled);
+    }
+
+    private static int offset(int index) {
+        return HEADER_SIZE + index * RECORD_SIZE;
+    }
+
+    private int currencyIndex(CurrencyUnit currency) {
+        Objects.requireNonNull(currency, "Currency required.");
+        int index = Arrays.binarySearch(currencies, currency, CURRENCY_CODE_ORDER);
+        if (index < 0) {
+            throw new MonetaryException("Currency not registered: " + currency.getCurrencyCode());
+        }
+        return index;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+    }
+
+    /**
+     * Lazy list view.
+     */
+    private final class ListView extends AbstractList<MonetaryAmount> implements RandomAccess {
+
+        @Override
+        public MonetaryAmount get(int index) {
+            return MonetaryAmountBuffer.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
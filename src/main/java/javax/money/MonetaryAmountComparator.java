@@ -0,0 +1,75 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money;
+
+import java.util.Comparator;
+
+/**
+ * Comparators for {@link MonetaryAmount} instances of any implementation type. Numbers are compared using
+ * {@link NumberValue#compareTo(NumberValue)}, so numbers providing their unscaled {@code long} representation (see
+ * {@link NumberValue#isUnscaledLongAvailable()}) are compared without creating any {@link java.math.BigDecimal}
+ * instances.
+ */
+public enum MonetaryAmountComparator implements Comparator<MonetaryAmount> {
+
+    /**
+     * Compares the numeric values only, the currencies are not considered.
+     */
+    NUMBER {
+        @Override
+        public int compare(MonetaryAmount amount1, MonetaryAmount amount2) {
+            return compareNumbers(amount1.getNumber(), amount2.getNumber());
+        }
+    },
+
+    /**
+     * Compares the currency codes first, the numeric values for amounts with the same currency.
+     */
+    CURRENCY_AND_NUMBER {
+        @Override
+        public int compare(MonetaryAmount amount1, MonetaryAmount amount2) {
+            CurrencyUnit currency1 = amount1.getCurrency();
+            CurrencyUnit currency2 = amount2.getCurrency();
+            if (currency1 != currency2) {
+                int compare = currency1.getCurrencyCode().compareTo(currency2.getCurrencyCode());
+                if (compare != 0) {
+                    return compare;
+                }
+            }
+            return compareNumbers(amount1.getNumber(), amount2.getNumber());
+        }
+    };
+
+    /**
+     * Compares the given numbers, consistent with {@code number1.compareTo(number2)}. If both numbers provide their
+     * unscaled value as {@code long}, they are compared directly, even if their type overrides
+     * {@link NumberValue#compareTo(NumberValue)}, otherwise the comparison is delegated to the first number.
+     *
+     * @param number1 the first number, not null.
+     * @param number2 the second number, not null.
+     * @return a negative number, zero or a positive number, if the first number is less than, equal to or greater
+     * than the second number.
+     * @see NumberValue#compareTo(NumberValue)
+     */
+    public static int compareNumbers(NumberValue number1, NumberValue number2) {
+        if (number1.isUnscaledLongAvailable() && number2.isUnscaledLongAvailable()) {
+            return LongNumberValue.compare(number1.getUnscaledLong(), number1.getScale(), number2.getUnscaledLong(),
+                    number2.getScale());
+        }
+        return number1.compareTo(number2);
+    }
+}
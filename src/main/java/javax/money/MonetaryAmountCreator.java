@@ -0,0 +1,126 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+
+/**
+ * Thread-safe creator for {@link MonetaryAmount} instances of a fixed type and
+ * {@link MonetaryContext}. Unlike a {@link MonetaryAmountFactory}, which is a stateful builder, a creator can be
+ * obtained once and shared across threads, each amount being created with a single call, e.g.
+ *
+ * <pre>
+ * {@code
+ * MonetaryAmountCreator<MyMoney> creator = Monetary.getAmountCreator(MyMoney.class, context);
+ * MyMoney amount = creator.create(chf, 1234L);
+ * }
+ * </pre>
+ * <p>
+ * Implementations of this interface must be thread-safe.
+ *
+ * @param <T> the amount type created.
+ * @see Monetary#getAmountCreator(Class, MonetaryContext)
+ */
+public interface MonetaryAmountCreator<T extends MonetaryAmount> {
+
+    /**
+     * Access the {@link MonetaryAmount} implementation type created.
+     *
+     * @return the {@link MonetaryAmount} implementation type, never {@code null}.
+     */
+    Class<T> getAmountType();
+
+    /**
+     * Access the {@link MonetaryContext} applied to all amounts created.
+     *
+     * @return the {@link MonetaryContext}, never {@code null}.
+     */
+    MonetaryContext getContext();
+
+    /**
+     * Creates a new amount.
+     *
+     * @param currency the currency, not {@code null}.
+     * @param number   the number, not {@code null}.
+     * @return the new amount, never {@code null}.
+     * @throws ArithmeticException if the number exceeds the capabilities of the {@link MonetaryContext} used.
+     */
+    T create(CurrencyUnit currency, Number number);
+
+    /**
+     * Creates a new amount.
+     *
+     * @param currency the currency, not {@code null}.
+     * @param number   the number.
+     * @return the new amount, never {@code null}.
+     * @throws ArithmeticException if the number exceeds the capabilities of the {@link MonetaryContext} used.
+     */
+    default T create(CurrencyUnit currency, long number) {
+        return create(currency, (Number) number);
+    }
+
+    /**
+     * Creates a new amount.
+     *
+     * @param currency the currency, not {@code null}.
+     * @param number   the number.
+     * @return the new amount, never {@code null}.
+     * @throws ArithmeticException if the number exceeds the capabilities of the {@link MonetaryContext} used.
+     */
+    default T create(CurrencyUnit currency, double number) {
+        return create(currency, (Number) number);
+    }
+
+    /**
+     * Creates a new creator, which delegates to {@link MonetaryAmountFactory} instances obtained from the given
+     * supplier. Since factories are stateful builders, each call uses a factory not used by any other thread
+     * meanwhile: idle factories are kept in a small pool, new factories are obtained from the supplier, if all
+     * pooled factories are in use. The supplier must return a new factory instance on each call.
+     *
+     * @param factorySupplier the supplier for new factory instances, not {@code null}.
+     * @param context         the context to be used, or {@code null} for using the factory's default
+     *                        {@link MonetaryContext}.
+     * @param <T>             the amount type.
+     * @return a new creator, never {@code null}.
+     * @throws MonetaryException if the supplier does not provide a factory.
+     */
+    static <T extends MonetaryAmount> MonetaryAmountCreator<T> of(Supplier<MonetaryAmountFactory<T>> factorySupplier,
+                                                                  MonetaryContext context) {
+        Objects.requireNonNull(factorySupplier, "Factory supplier required.");
+        return new DefaultMonetaryAmountCreator<>(factorySupplier.get(), factorySupplier, context);
+    }
+
+    /**
+     * Creates a new creator as {@link #of(Supplier, MonetaryContext)}, using the given factory first. The factory
+     * is owned by the creator afterwards, so it must not be used elsewhere.
+     *
+     * @param factory         the first factory to be used, not {@code null}.
+     * @param factorySupplier the supplier for further factory instances, not {@code null}.
+     * @param context         the context to be used, or {@code null} for using the factory's default
+     *                        {@link MonetaryContext}.
+     * @param <T>             the amount type.
+     * @return a new creator, never {@code null}.
+     * @throws MonetaryException if no factory is passed.
+     */
+    static <T extends MonetaryAmount> MonetaryAmountCreator<T> of(MonetaryAmountFactory<T> factory,
+                                                                  Supplier<MonetaryAmountFactory<T>> factorySupplier,
+                                                                  MonetaryContext context) {
+        return new DefaultMonetaryAmountCreator<>(factory, factorySupplier, context);
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money;
+
+import javax.money.spi.MonetaryAmountsSingletonQuerySpi;
+import javax.money.spi.MonetaryAmountsSingletonSpi;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Cache used by {@link Monetary#getAmountFactory(MonetaryAmountFactoryQuery)} and
+ * {@link Monetary#getAmountFactories()}, bound to the current SPI instances.
+ * <p>
+ * Normalized queries are mapped to the {@link MonetaryAmount} implementation type selected by the
+ * {@link MonetaryAmountsSingletonQuerySpi}. On a cache hit a fresh factory is created by the
+ * {@link MonetaryAmountsSingletonSpi}, so the query is not evaluated again. A query is considered normalized, if it
+ * only contains the precision, fixed scale, max scale, target type and provider names. Normalized queries are
+ * cached, unless the query SPI declares them as not being a
+ * {@link MonetaryAmountsSingletonQuerySpi#isAmountTypeSelection(MonetaryAmountFactoryQuery) type selection}, all
+ * other queries are always passed to the query SPI. If the cache is full, the least recently used query is evicted.
+ * <p>
+ * If the {@link MonetaryAmountsSingletonSpi} uses the default implementation of
+ * {@link MonetaryAmountsSingletonSpi#getAmountFactories()}, its amount types are evaluated once and a new factory is
+ * created for each of them on each call.
+ * <p>
+ * The cache is bound to the SPI instances it was created for, so it gets replaced, when
+ * {@link javax.money.spi.Bootstrap#init(javax.money.spi.ServiceProvider)} registers new services.
+ */
+final class MonetaryAmountFactoryCache {
+
+    /**
+     * The maximal number of queries cached.
+     */
+    static final int MAX_SIZE = 256;
+
+    /**
+     * The keys of a normalized query.
+     */
+    private static final Set<String> NORMALIZED_KEYS = new HashSet<>(Arrays.asList(
+            MonetaryAmountFactoryQuery.KEY_PRECISION, MonetaryAmountFactoryQuery.KEY_FIXED_SCALE,
+            MonetaryAmountFactoryQuery.KEY_MAX_SCALE, AbstractQuery.KEY_QUERY_TARGET_TYPE,
+            AbstractQuery.KEY_QUERY_PROVIDERS));
+
+    private final MonetaryAmountsSingletonSpi amountsSpi;
+    private final MonetaryAmountsSingletonQuerySpi querySpi;
+    /**
+     * The amount types selected by normalized queries, in access order. Access must be synchronized on the map.
+     */
+    private final Map<List<Object>, Class<? extends MonetaryAmount>> selectedTypes =
+            new LinkedHashMap<List<Object>, Class<? extends MonetaryAmount>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<List<Object>, Class<? extends MonetaryAmount>> eldest) {
+                    return size() > MAX_SIZE;
+                }
+            };
+    /**
+     * The amount types of the amounts SPI, or null, if the SPI evaluates its factories itself.
+     */
+    private final List<Class<? extends MonetaryAmount>> amountTypes;
+
+    MonetaryAmountFactoryCache(MonetaryAmountsSingletonSpi amountsSpi, MonetaryAmountsSingletonQuerySpi querySpi) {
+        this.amountsSpi = amountsSpi;
+        this.querySpi = querySpi;
+        this.amountTypes = evaluateAmountTypes(amountsSpi);
+    }
+
+    /**
+     * Checks if this cache was created for the given SPI instances.
+     *
+     * @param amountsSpi the amounts SPI.
+     * @param querySpi   the query SPI.
+     * @return true, if both instances are the same as used by this cache.
+     */
+    boolean isValidFor(MonetaryAmountsSingletonSpi amountsSpi, MonetaryAmountsSingletonQuerySpi querySpi) {
+        return this.amountsSpi == amountsSpi && this.querySpi == querySpi;
+    }
+
+    /**
+     * Evaluates the factory for the given query, using the cached amount type, if possible.
+     *
+     * @param query the query, not null.
+     * @return the factory found, or null.
+     */
+    MonetaryAmountFactory<?> getAmountFactory(MonetaryAmountFactoryQuery query) {
+        List<Object> key = createKey(query);
+        if (key == null) {
+            return querySpi.getAmountFactory(query);
+        }
+        Class<? extends MonetaryAmount> type;
+        synchronized (selectedTypes) {
+            type = selectedTypes.get(key);
+        }
+        if (type != null) {
+            MonetaryAmountFactory<?> factory = amountsSpi.getAmountFactory(type);
+            if (factory != null) {
+                return factory;
+            }
+        }
+        MonetaryAmountFactory<?> factory = querySpi.getAmountFactory(query);
+        if (factory != null && querySpi.isAmountTypeSelection(query)) {
+            Class<? extends MonetaryAmount> selected = factory.getAmountType();
+            synchronized (selectedTypes) {
+                selectedTypes.put(key, selected);
+            }
+        }
+        return factory;
+    }
+
+    /**
+     * Creates a new factory for each amount type of the amounts SPI.
+     *
+     * @return the factories, never null.
+     */
+    Collection<MonetaryAmountFactory<?>> getAmountFactories() {
+        if (amountTypes == null) {
+            return amountsSpi.getAmountFactories();
+        }
+        List<MonetaryAmountFactory<?>> factories = new ArrayList<>(amountTypes.size());
+        for (Class<? extends MonetaryAmount> type : amountTypes) {
+            factories.add(amountsSpi.getAmountFactory(type));
+        }
+        return factories;
+    }
+
+    private static List<Object> createKey(MonetaryAmountFactoryQuery query) {
+        if (!NORMALIZED_KEYS.containsAll(query.getCachedKeys(Object.class))) {
+            return null;
+        }
+        return Arrays.asList(query.getPrecision(), query.isFixedScale(), query.getMaxScale(), query.getTargetType(),
+                query.getProviderNames());
+    }
+
+    /**
+     * Evaluates the amount types once, if the SPI uses the default implementation of
+     * {@link MonetaryAmountsSingletonSpi#getAmountFactories()}.
+     *
+     * @param amountsSpi the amounts SPI, not null.
+     * @return the amount types, or null, if the SPI evaluates its factories itself.
+     */
+    private static List<Class<? extends MonetaryAmount>> evaluateAmountTypes(MonetaryAmountsSingletonSpi amountsSpi) {
+        try {
+            if (amountsSpi.getClass().getMethod("getAmountFactories").getDeclaringClass()
+                    != MonetaryAmountsSingletonSpi.class) {
+                return null;
+            }
+            Collection<Class<? extends MonetaryAmount>> types = amountsSpi.getAmountTypes();
+            return types == null ? null : Collections.unmodifiableList(new ArrayList<>(types));
+        } catch (Exception e) {
+            Logger.getLogger(MonetaryAmountFactoryCache.class.getName())
+                    .log(Level.FINEST, "Amount types of " + amountsSpi.getClass().getName() + " not cached.", e);
+            return null;
+        }
+    }
+}
@@ -40,17 +40,21 @@ public final class MonetaryAmountFactoryQuery extends AbstractQuery implements S
 	/**
      * Key name for the context.
      */
-    private static final String KEY_PRECISION = "precision";
+    static final String KEY_PRECISION = "precision";
 
     /**
      * Key name for the currency provider.
      */
-    private static final String KEY_FIXED_SCALE = "fixedScale";
+    static final String KEY_FIXED_SCALE = "fixedScale";
 
     /**
      * Key name for the max scale.
      */
-    private static final String KEY_MAX_SCALE = "maxScale";
+    static final String KEY_MAX_SCALE = "maxScale";
+
+    private static final AttributeKey<Integer> PRECISION = AttributeKey.of(KEY_PRECISION, Integer.class);
+    private static final AttributeKey<Boolean> FIXED_SCALE = AttributeKey.of(KEY_FIXED_SCALE, Boolean.class);
+    private static final AttributeKey<Integer> MAX_SCALE = AttributeKey.of(KEY_MAX_SCALE, Integer.class);
 
     /**
      * Constructor, used from the {@link MonetaryAmountFactoryQueryBuilder}.
@@ -61,13 +65,29 @@ public final class MonetaryAmountFactoryQuery extends AbstractQuery implements S
         super(builder);
     }
 
+    /**
+     * Copy constructor, used by {@link #withAttributes(String[], Object[])}.
+     *
+     * @param query         the query copied, not null.
+     * @param changedKeys   the keys of the changed attributes, sorted, not null.
+     * @param changedValues the new attribute values, in the order of the keys, not null.
+     */
+    private MonetaryAmountFactoryQuery(MonetaryAmountFactoryQuery query, String[] changedKeys, Object[] changedValues) {
+        super(query, changedKeys, changedValues);
+    }
+
+    @Override
+    protected MonetaryAmountFactoryQuery withAttributes(String[] changedKeys, Object[] changedValues) {
+        return new MonetaryAmountFactoryQuery(this, changedKeys, changedValues);
+    }
+
     /**
      * Get the maximal scale to be supported.
      *
      * @return the maximal scale, or null, if this attribute must not be considered.
      */
     public Integer getMaxScale() {
-        return getInt(KEY_MAX_SCALE);
+        return get(MAX_SCALE);
     }
 
     /**
@@ -76,7 +96,7 @@ public final class MonetaryAmountFactoryQuery extends AbstractQuery implements S
      * @return the maximal precision, or null, if this attribute must not be considered.
      */
     public Integer getPrecision() {
-        return getInt(KEY_PRECISION);
+        return get(PRECISION);
     }
 
     /**
@@ -86,7 +106,7 @@ public final class MonetaryAmountFactoryQuery extends AbstractQuery implements S
      * @return the fixed scale flag, or null, if this attribute must not be considered.
      */
     public Boolean isFixedScale() {
-        return getBoolean(KEY_FIXED_SCALE);
+        return get(FIXED_SCALE);
     }
 
     /**
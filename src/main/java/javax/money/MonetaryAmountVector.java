@@ -0,0 +1,813 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money;
+
+import java.math.BigDecimal;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.stream.Stream;
+
+/**
+ * Mutable, columnar container for large numbers of {@link MonetaryAmount} instances. Instead of holding amount
+ * instances, the vector stores an index into a currency dictionary as well as the unscaled value and the scale of
+ * each amount in primitive arrays. Values whose unscaled value does not fit into a {@code long} are held in a
+ * {@link java.math.BigDecimal} column, which is only allocated when needed.
+ * <p>
+ * Arithmetic operations are performed in place on all elements, using {@code long} arithmetic as long as the
+ * results do not overflow. {@link MonetaryAmount} instances are only created when accessed, e.g. by
+ * {@link #get(int)}, {@link #asList()} or {@link #stream()}, using the {@link MonetaryAmountCreator} the vector
+ * was created with.
+ * <p>
+ * This class is not thread-safe.
+ */
+public final class MonetaryAmountVector implements Iterable<MonetaryAmount> {
+
+    /**
+     * The default initial capacity.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * The creator used for creating amounts on access.
+     */
+    private final MonetaryAmountCreator<?> creator;
+    /**
+     * The currencies, indexed by {@link #currencyIndexes}.
+     */
+    private CurrencyUnit[] currencies = new CurrencyUnit[4];
+    /**
+     * The number of currencies.
+     */
+    private int currencyCount;
+    /**
+     * The currency indexes by currency code.
+     */
+    private final Map<String, Integer> currencyCodes = new HashMap<>();
+    /**
+     * The currency index of each element.
+     */
+    private short[] currencyIndexes;
+    /**
+     * The unscaled value of each element.
+     */
+    private long[] unscaled;
+    /**
+     * The scale of each element.
+     */
+    private int[] scales;
+    /**
+     * The values not representable by an unscaled {@code long}, allocated on demand.
+     */
+    private BigDecimal[] decimals;
+    /**
+     * The number of elements.
+     */
+    private int size;
+
+    private MonetaryAmountVector(MonetaryAmountCreator<?> creator, int capacity) {
+        this.creator = Objects.requireNonNull(creator, "Creator required.");
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must be >= 0, was: " + capacity);
+        }
+        this.currencyIndexes = new short[capacity];
+        this.unscaled = new long[capacity];
+        this.scales = new int[capacity];
+    }
+
+    /**
+     * Creates a new empty vector, using the default amount type for creating amounts.
+     *
+     * @return a new vector, never null.
+     * @throws MonetaryException if no default amount type is available.
+     * @see Monetary#getDefaultAmountType()
+     */
+    public static MonetaryAmountVector of() {
+        return new MonetaryAmountVector(Monetary.getAmountCreator(Monetary.getDefaultAmountType()),
+                DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new empty vector.
+     *
+     * @param creator the creator used for creating amounts on access, not null.
+     * @return a new vector, never null.
+     */
+    public static MonetaryAmountVector of(MonetaryAmountCreator<?> creator) {
+        return new MonetaryAmountVector(creator, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new empty vector.
+     *
+     * @param creator         the creator used for creating amounts on access, not null.
+     * @param initialCapacity the initial capacity.
+     * @return a new vector, never null.
+     */
+    public static MonetaryAmountVector of(MonetaryAmountCreator<?> creator, int initialCapacity) {
+        return new MonetaryAmountVector(creator, initialCapacity);
+    }
+
+    /**
+     * Access the number of elements.
+     *
+     * @return the number of elements.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the vector is empty.
+     *
+     * @return true, if the vector has no elements.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Access the currencies contained in this vector, in order of their first occurrence.
+     *
+     * @return the currencies, never null.
+     */
+    public List<CurrencyUnit> getCurrencies() {
+        return Collections.unmodifiableList(Arrays.asList(currencies).subList(0, currencyCount));
+    }
+
+    /**
+     * Appends the given amount.
+     *
+     * @param amount the amount, not null.
+     * @return this vector, for chaining.
+     */
+    public MonetaryAmountVector append(MonetaryAmount amount) {
+        Objects.requireNonNull(amount, "Amount required.");
+        int index = grow();
+        currencyIndexes[index] = currencyIndex(amount.getCurrency());
+        setNumber(index, amount.getNumber());
+        return this;
+    }
+
+    /**
+     * Appends an amount given as unscaled value and scale.
+     *
+     * @param currency the currency, not null.
+     * @param unscaled the unscaled value.
+     * @param scale    the scale.
+     * @return this vector, for chaining.
+     */
+    public MonetaryAmountVector append(CurrencyUnit currency, long unscaled, int scale) {
+        int index = grow();
+        currencyIndexes[index] = currencyIndex(currency);
+        setUnscaled(index, unscaled, scale);
+        return this;
+    }
+
+    /**
+     * Appends an amount.
+     *
+     * @param currency the currency, not null.
+     * @param number   the number, not null.
+     * @return this vector, for chaining.
+     */
+    public MonetaryAmountVector append(CurrencyUnit currency, BigDecimal number) {
+        Objects.requireNonNull(number, "Number required.");
+        int index = grow();
+        currencyIndexes[index] = currencyIndex(currency);
+        setDecimal(index, number);
+        return this;
+    }
+
+    /**
+     * Appends all given amounts.
+     *
+     * @param amounts the amounts, not null.
+     * @return this vector, for chaining.
+     */
+    public MonetaryAmountVector appendAll(Iterable<? extends MonetaryAmount> amounts) {
+        for (MonetaryAmount amount : amounts) {
+            append(amount);
+        }
+        return this;
+    }
+
+    /**
+     * Splits the given amount into shares proportional to the given ratios and appends the shares, as defined by
+     * {@link MonetaryAmount#allocate(long...)}. If the amount is a whole number of minor units representable
+     * as {@code long}, the shares are evaluated directly on the unscaled minor units, without creating any
+     * intermediate amounts.
+     *
+     * @param amount the amount to be split, not null.
+     * @param ratios the ratios, not null, not empty, none negative and at least one &gt; 0.
+     * @return this vector, for chaining.
+     * @throws IllegalArgumentException if the ratios are invalid.
+     */
+    public MonetaryAmountVector appendAllocation(MonetaryAmount amount, long... ratios) {
+        Objects.requireNonNull(amount, "Amount required.");
+        long total = MonetaryAllocations.total(ratios);
+        int digits = MonetaryAllocations.minorUnitDigits(amount.getCurrency());
+        NumberValue number = amount.getNumber();
+        long unscaledValue;
+        int scale;
+        if (number.isUnscaledLongAvailable()) {
+            unscaledValue = number.getUnscaledLong();
+            scale = number.getScale();
+        } else {
+            BigDecimal decimal = number.numberValue(BigDecimal.class);
+            unscaledValue = decimal.unscaledValue().longValue();
+            scale = decimal.unscaledValue().bitLength() < Long.SIZE ? decimal.scale() : Integer.MAX_VALUE;
+        }
+        if (scale <= digits) {
+            int start = size;
+            try {
+                appendUnscaledAllocation(amount.getCurrency(),
+                        LongNumberValue.scaleUpExact(unscaledValue, (long) digits - scale), digits, ratios, total);
+                return this;
+            } catch (ArithmeticException e) {
+                // overflow, fall back to the amount's arithmetic
+                size = start;
+            }
+        }
+        for (MonetaryAmount share : amount.allocate(ratios)) {
+            append(share);
+        }
+        return this;
+    }
+
+    /**
+     * Replaces the amount at the given index.
+     *
+     * @param index  the index.
+     * @param amount the amount, not null.
+     * @return this vector, for chaining.
+     */
+    public MonetaryAmountVector set(int index, MonetaryAmount amount) {
+        checkIndex(index);
+        Objects.requireNonNull(amount, "Amount required.");
+        currencyIndexes[index] = currencyIndex(amount.getCurrency());
+        setNumber(index, amount.getNumber());
+        return this;
+    }
+
+    /**
+     * Creates the amount at the given index.
+     *
+     * @param index the index.
+     * @return the amount, never null.
+     */
+    public MonetaryAmount get(int index) {
+        checkIndex(index);
+        CurrencyUnit currency = currencies[currencyIndexes[index]];
+        if (decimals != null && decimals[index] != null) {
+            return creator.create(currency, decimals[index]);
+        }
+        return creator.create(currency, LongNumberValue.of(unscaled[index], scales[index]));
+    }
+
+    /**
+     * Access the currency at the given index.
+     *
+     * @param index the index.
+     * @return the currency, never null.
+     */
+    public CurrencyUnit getCurrency(int index) {
+        checkIndex(index);
+        return currencies[currencyIndexes[index]];
+    }
+
+    /**
+     * Checks if the number at the given index is available as unscaled {@code long}.
+     *
+     * @param index the index.
+     * @return true, if {@link #getUnscaledLong(int)} can be called.
+     */
+    public boolean isUnscaledLongAvailable(int index) {
+        checkIndex(index);
+        return decimals == null || decimals[index] == null;
+    }
+
+    /**
+     * Access the unscaled value of the number at the given index.
+     *
+     * @param index the index.
+     * @return the unscaled value.
+     * @throws ArithmeticException if the unscaled value does not fit into a {@code long}.
+     */
+    public long getUnscaledLong(int index) {
+        if (!isUnscaledLongAvailable(index)) {
+            throw new ArithmeticException("Unscaled value is not available as long: " + decimals[index]);
+        }
+        return unscaled[index];
+    }
+
+    /**
+     * Access the scale of the number at the given index.
+     *
+     * @param index the index.
+     * @return the scale.
+     */
+    public int getScale(int index) {
+        checkIndex(index);
+        if (decimals != null && decimals[index] != null) {
+            return decimals[index].scale();
+        }
+        return scales[index];
+    }
+
+    /**
+     * Access the number at the given index as {@link BigDecimal}.
+     *
+     * @param index the index.
+     * @return the number, never null.
+     */
+    public BigDecimal getDecimal(int index) {
+        checkIndex(index);
+        return decimal(index);
+    }
+
+    /**
+     * Access a lazy list view of this vector, creating the amounts on access. Changes of the vector are visible
+     * in the view.
+     *
+     * @return the list view, never null.
+     */
+    public List<MonetaryAmount> asList() {
+        return new ListView();
+    }
+
+    /**
+     * Access a lazy stream of the amounts, creating the amounts on access.
+     *
+     * @return the stream, never null.
+     */
+    public Stream<MonetaryAmount> stream() {
+        return asList().stream();
+    }
+
+    @Override
+    public Iterator<MonetaryAmount> iterator() {
+        return asList().iterator();
+    }
+
+    /**
+     * Adds the elements of the given vector to the elements of this vector at the same index.
+     *
+     * @param other the vector, with the same size and currencies, not null.
+     * @return this vector, for chaining.
+     * @throws MonetaryException if the sizes or the currencies of the elements do not match.
+     */
+    public MonetaryAmountVector add(MonetaryAmountVector other) {
+        combine(other, false);
+        return this;
+    }
+
+    /**
+     * Subtracts the elements of the given vector from the elements of this vector at the same index.
+     *
+     * @param other the vector, with the same size and currencies, not null.
+     * @return this vector, for chaining.
+     * @throws MonetaryException if the sizes or the currencies of the elements do not match.
+     */
+    public MonetaryAmountVector subtract(MonetaryAmountVector other) {
+        combine(other, true);
+        return this;
+    }
+
+    /**
+     * Multiplies all elements by the given value.
+     *
+     * @param multiplicand the multiplicand.
+     * @return this vector, for chaining.
+     */
+    public MonetaryAmountVector multiply(long multiplicand) {
+        for (int i = 0; i < size; i++) {
+            if (isUnscaledLong(i)) {
+                try {
+                    unscaled[i] = Math.multiplyExact(unscaled[i], multiplicand);
+                    continue;
+                } catch (ArithmeticException e) {
+                    // overflow, fall back to BigDecimal
+                }
+            }
+            setDecimal(i, decimal(i).multiply(BigDecimal.valueOf(multiplicand)));
+        }
+        return this;
+    }
+
+    /**
+     * Multiplies all elements by the given value.
+     *
+     * @param multiplicand the multiplicand, must be finite.
+     * @return this vector, for chaining.
+     * @throws ArithmeticException if the multiplicand is infinite or not a number.
+     */
+    public MonetaryAmountVector multiply(double multiplicand) {
+        if (Double.isNaN(multiplicand) || Double.isInfinite(multiplicand)) {
+            throw new ArithmeticException("Multiplicand must be finite, was: " + multiplicand);
+        }
+        return multiply(BigDecimal.valueOf(multiplicand));
+    }
+
+    /**
+     * Multiplies all elements by the given value.
+     *
+     * @param multiplicand the multiplicand, not null.
+     * @return this vector, for chaining.
+     */
+    public MonetaryAmountVector multiply(Number multiplicand) {
+        BigDecimal factor = toBigDecimal(Objects.requireNonNull(multiplicand, "Multiplicand required."));
+        if (factor.unscaledValue().bitLength() < Long.SIZE) {
+            long factorUnscaled = factor.unscaledValue().longValue();
+            int factorScale = factor.scale();
+            for (int i = 0; i < size; i++) {
+                if (isUnscaledLong(i)) {
+                    try {
+                        setUnscaled(i, Math.multiplyExact(unscaled[i], factorUnscaled),
+                                Math.addExact(scales[i], factorScale));
+                        continue;
+                    } catch (ArithmeticException e) {
+                        // overflow, fall back to BigDecimal
+                    }
+                }
+                setDecimal(i, decimal(i).multiply(factor));
+            }
+            return this;
+        }
+        for (int i = 0; i < size; i++) {
+            setDecimal(i, decimal(i).multiply(factor));
+        }
+        return this;
+    }
+
+    /**
+     * Negates all elements.
+     *
+     * @return this vector, for chaining.
+     */
+    public MonetaryAmountVector negate() {
+        for (int i = 0; i < size; i++) {
+            if (isUnscaledLong(i) && unscaled[i] != Long.MIN_VALUE) {
+                unscaled[i] = -unscaled[i];
+            } else {
+                setDecimal(i, decimal(i).negate());
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Replaces all elements with their absolute value.
+     *
+     * @return this vector, for chaining.
+     */
+    public MonetaryAmountVector abs() {
+        for (int i = 0; i < size; i++) {
+            if (isUnscaledLong(i) && unscaled[i] != Long.MIN_VALUE) {
+                unscaled[i] = Math.abs(unscaled[i]);
+            } else {
+                setDecimal(i, decimal(i).abs());
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Rounds all elements using the given plan.
+     *
+     * @param plan the rounding plan, not null.
+     * @return this vector, for chaining.
+     * @throws MonetaryException if the plan is bound to a currency and the vector contains other currencies.
+     */
+    public MonetaryAmountVector round(RoundingPlan plan) {
+        Objects.requireNonNull(plan, "RoundingPlan required.");
+        if (plan.getCurrency() != null) {
+            for (int i = 0; i < currencyCount; i++) {
+                if (!currencies[i].getCurrencyCode().equals(plan.getCurrency().getCurrencyCode()) &&
+                        containsCurrency(i)) {
+                    throw new MonetaryException("Rounding plan for " + plan.getCurrency().getCurrencyCode() +
+                            " cannot be applied to an amount in " + currencies[i].getCurrencyCode());
+                }
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            if (plan.getCashStep() == 1 && isUnscaledLong(i) && scales[i] == plan.getScale()) {
+                continue;
+            }
+            setDecimal(i, plan.round(decimal(i)));
+        }
+        return this;
+    }
+
+    /**
+     * Rounds all elements using the given rounding. If the rounding is a {@link RoundingPlan}, it is applied on
+     * the numbers directly, otherwise each amount is created and rounded.
+     *
+     * @param rounding the rounding, not null.
+     * @return this vector, for chaining.
+     */
+    public MonetaryAmountVector with(MonetaryRounding rounding) {
+        Objects.requireNonNull(rounding, "Rounding required.");
+        if (rounding instanceof RoundingPlan) {
+            return round((RoundingPlan) rounding);
+        }
+        for (int i = 0; i < size; i++) {
+            set(i, get(i).with(rounding));
+        }
+        return this;
+    }
+
+    /**
+     * Evaluates the total of the elements per currency.
+     *
+     * @return the totals, by currency in order of their first occurrence, never null.
+     */
+    public Map<CurrencyUnit, MonetaryAmount> sumByCurrency() {
+        long[] sums = new long[currencyCount];
+        int[] sumScales = new int[currencyCount];
+        BigDecimal[] decimalSums = new BigDecimal[currencyCount];
+        boolean[] present = new boolean[currencyCount];
+        for (int i = 0; i < size; i++) {
+            int c = currencyIndexes[i];
+            if (!present[c]) {
+                present[c] = true;
+                if (isUnscaledLong(i)) {
+                    sums[c] = unscaled[i];
+                    sumScales[c] = scales[i];
+                } else {
+                    decimalSums[c] = decimals[i];
+                }
+                continue;
+            }
+            if (decimalSums[c] == null && isUnscaledLong(i)) {
+                int scale = Math.max(sumScales[c], scales[i]);
+                try {
+                    sums[c] = Math.addExact(LongNumberValue.scaleUpExact(sums[c], (long) scale - sumScales[c]),
+                            LongNumberValue.scaleUpExact(unscaled[i], (long) scale - scales[i]));
+                    sumScales[c] = scale;
+                    continue;
+                } catch (ArithmeticException e) {
+                    // overflow, fall back to BigDecimal
+                }
+            }
+            if (decimalSums[c] == null) {
+                decimalSums[c] = BigDecimal.valueOf(sums[c], sumScales[c]);
+            }
+            decimalSums[c] = decimalSums[c].add(decimal(i));
+        }
+        Map<CurrencyUnit, MonetaryAmount> result = new LinkedHashMap<>();
+        for (int c = 0; c < currencyCount; c++) {
+            if (present[c]) {
+                result.put(currencies[c], decimalSums[c] != null ? creator.create(currencies[c], decimalSums[c]) :
+                        creator.create(currencies[c], LongNumberValue.of(sums[c], sumScales[c])));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Splits this vector into one vector per currency.
+     *
+     * @return the vectors, by currency in order of their first occurrence, never null.
+     */
+    public Map<CurrencyUnit, MonetaryAmountVector> groupByCurrency() {
+        MonetaryAmountVector[] groups = new MonetaryAmountVector[currencyCount];
+        for (int i = 0; i < size; i++) {
+            int c = currencyIndexes[i];
+            if (groups[c] == null) {
+                groups[c] = new MonetaryAmountVector(creator, DEFAULT_CAPACITY);
+            }
+            if (isUnscaledLong(i)) {
+                groups[c].append(currencies[c], unscaled[i], scales[i]);
+            } else {
+                groups[c].append(currencies[c], decimals[i]);
+            }
+        }
+        Map<CurrencyUnit, MonetaryAmountVector> result = new LinkedHashMap<>();
+        for (int c = 0; c < currencyCount; c++) {
+            if (groups[c] != null) {
+                result.put(currencies[c], groups[c]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Removes all elements.
+     *
+     * @return this vector, for chaining.
+     */
+    public MonetaryAmountVector clear() {
+        size = 0;
+        decimals = null;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "MonetaryAmountVector [size=" + size + ", currencies=" + getCurrencies() + ']';
+    }
+
+    private void combine(MonetaryAmountVector other, boolean subtract) {
+        Objects.requireNonNull(other, "Vector required.");
+        if (other.size != size) {
+            throw new MonetaryException("Vector size mismatch: " + size + '/' + other.size);
+        }
+        for (int i = 0; i < size; i++) {
+            CurrencyUnit currency = currencies[currencyIndexes[i]];
+            CurrencyUnit otherCurrency = other.currencies[other.currencyIndexes[i]];
+            if (currency != otherCurrency && !currency.getCurrencyCode().equals(otherCurrency.getCurrencyCode())) {
+                throw new MonetaryException("Currency mismatch at index " + i + ": " + currency.getCurrencyCode() +
+                        '/' + otherCurrency.getCurrencyCode());
+            }
+            if (isUnscaledLong(i) && other.isUnscaledLong(i)) {
+                long otherUnscaled = other.unscaled[i];
+                if (!subtract || otherUnscaled != Long.MIN_VALUE) {
+                    if (subtract) {
+                        otherUnscaled = -otherUnscaled;
+                    }
+                    int scale = Math.max(scales[i], other.scales[i]);
+                    try {
+                        setUnscaled(i, Math.addExact(
+                                LongNumberValue.scaleUpExact(unscaled[i], (long) scale - scales[i]),
+                                LongNumberValue.scaleUpExact(otherUnscaled, (long) scale - other.scales[i])), scale);
+                        continue;
+                    } catch (ArithmeticException e) {
+                        // overflow, fall back to BigDecimal
+                    }
+                }
+            }
+            setDecimal(i, subtract ? decimal(i).subtract(other.decimal(i)) : decimal(i).add(other.decimal(i)));
+        }
+    }
+
+    private void appendUnscaledAllocation(CurrencyUnit currency, long minorUnits, int scale, long[] ratios,
+                                          long total) {
+        short currencyIndex = currencyIndex(currency);
+        long remaining = minorUnits;
+        int start = size;
+        for (long ratio : ratios) {
+            long share = Math.multiplyExact(minorUnits, ratio) / total;
+            int index = grow();
+            currencyIndexes[index] = currencyIndex;
+            setUnscaled(index, share, scale);
+            remaining -= share;
+        }
+        for (int i = 0; i < ratios.length && remaining != 0; i++) {
+            if (ratios[i] > 0) {
+                long unit = Long.signum(remaining);
+                unscaled[start + i] += unit;
+                remaining -= unit;
+            }
+        }
+    }
+
+    private boolean containsCurrency(int currencyIndex) {
+        for (int i = 0; i < size; i++) {
+            if (currencyIndexes[i] == currencyIndex) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isUnscaledLong(int index) {
+        return decimals == null || decimals[index] == null;
+    }
+
+    private BigDecimal decimal(int index) {
+        if (decimals != null && decimals[index] != null) {
+            return decimals[index];
+        }
+        return BigDecimal.valueOf(unscaled[index], scales[index]);
+    }
+
+    private void setNumber(int index, NumberValue number) {
+        if (number.isUnscaledLongAvailable()) {
+            setUnscaled(index, number.getUnscaledLong(), number.getScale());
+        } else {
+            setDecimal(index, number.numberValue(BigDecimal.class));
+        }
+    }
+
+    private void setUnscaled(int index, long value, int scale) {
+        unscaled[index] = value;
+        scales[index] = scale;
+        if (decimals != null) {
+            decimals[index] = null;
+        }
+    }
+
+    private void setDecimal(int index, BigDecimal value) {
+        if (value.unscaledValue().bitLength() < Long.SIZE) {
+            setUnscaled(index, value.unscaledValue().longValue(), value.scale());
+            return;
+        }
+        if (decimals == null) {
+            decimals = new BigDecimal[unscaled.length];
+        }
+        decimals[index] = value;
+    }
+
+    private short currencyIndex(CurrencyUnit currency) {
+        Objects.requireNonNull(currency, "Currency required.");
+        for (int i = 0; i < currencyCount; i++) {
+            if (currencies[i] == currency) {
+                return (short) i;
+            }
+        }
+        Integer index = currencyCodes.get(currency.getCurrencyCode());
+        if (index != null) {
+            return index.shortValue();
+        }
+        if (currencyCount > Short.MAX_VALUE) {
+            throw new MonetaryException("Too many currencies in vector, max: " + (Short.MAX_VALUE + 1));
+        }
+        if (currencyCount == currencies.length) {
+            currencies = Arrays.copyOf(currencies, currencyCount * 2);
+        }
+        currencies[currencyCount] = currency;
+        currencyCodes.put(currency.getCurrencyCode(), currencyCount);
+        return (short) currencyCount++;
+    }
+
+    private int grow() {
+        if (size == unscaled.length) {
+            int capacity = Math.max(DEFAULT_CAPACITY, size + (size >> 1));
+            currencyIndexes = Arrays.copyOf(currencyIndexes, capacity);
+            unscaled = Arrays.copyOf(unscaled, capacity);
+            scales = Arrays.copyOf(scales, capacity);
+            if (decimals != null) {
+                decimals = Arrays.copyOf(decimals, capacity);
+            }
+        }
+        if (decimals != null) {
+            decimals[size] = null;
+        }
+        return size++;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+    }
+
+    private static BigDecimal toBigDecimal(Number number) {
+        if (number instanceof BigDecimal) {
+            return (BigDecimal) number;
+        }
+        if (number instanceof NumberValue) {
+            return ((NumberValue) number).numberValue(BigDecimal.class);
+        }
+        if (number instanceof Long || number instanceof Integer || number instanceof Short ||
+                number instanceof Byte) {
+            return BigDecimal.valueOf(number.longValue());
+        }
+        return new BigDecimal(number.toString());
+    }
+
+    /**
+     * Lazy list view.
+     */
+    private final class ListView extends AbstractList<MonetaryAmount> implements RandomAccess {
+
+        @Override
+        public MonetaryAmount get(int index) {
+            return MonetaryAmountVector.this.get(index);
+        }
+
+        @Override
+        public MonetaryAmount set(int index, MonetaryAmount amount) {
+            MonetaryAmount previous = MonetaryAmountVector.this.get(index);
+            MonetaryAmountVector.this.set(index, amount);
+            return previous;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
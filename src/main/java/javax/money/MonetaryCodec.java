@@ -0,0 +1,908 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money;
+
+import javax.money.convert.ConversionContext;
+import javax.money.convert.ConversionContextBuilder;
+import javax.money.convert.ProviderContext;
+import javax.money.convert.ProviderContextBuilder;
+import javax.money.convert.RateType;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Compact binary codec for {@link MonetaryAmount}, {@link CurrencyUnit} and context instances, as an alternative
+ * to Java serialization, e.g. for shipping amounts between services. The encoding is as follows:
+ * <ul>
+ * <li>Integral values are written as variable length numbers (varints) with 7 bits per byte, least significant
+ * group first, where the high bit of each byte marks a following byte. Signed values are zig-zag encoded first.
+ * Strings are written as varint length followed by their UTF-8 bytes.</li>
+ * <li>Numbers are written as varint of the zig-zag encoded scale shifted left by one, followed by the zig-zag
+ * encoded unscaled value as varint. If the unscaled value does not fit into a {@code long}, the lowest bit of
+ * the first varint is set and the unscaled value follows as varint length and its two's complement bytes.</li>
+ * <li>Currencies are written as varint of their index + 1 in the currency registry of the codec, or as
+ * {@code 0} followed by the currency code, if not registered. Encoder and decoder must use the same registry,
+ * which is sorted by currency code.</li>
+ * <li>Contexts ({@link MonetaryContext}, {@link CurrencyContext}, {@link RoundingContext},
+ * {@link ConversionContext} and {@link ProviderContext}) are written as a varint, which is {@code 0} for a null
+ * context. On the first occurrence of a context within a stream it is {@code 1}, followed by a context type byte,
+ * the number of attributes as varint and, for each attribute, its key and a value type byte followed by the
+ * value. Subsequent occurrences of an equal context are written as reference only, being the varint of the
+ * context's definition index + 2, so references to the first 126 contexts of a stream take one byte.</li>
+ * <li>Attribute values of other {@link Serializable} types are written using Java serialization and are read
+ * back only, if all classes contained belong to {@code java.lang}, {@code java.math}, {@code java.time},
+ * {@code java.util} or {@code javax.money}.</li>
+ * </ul>
+ * Streams are written by an {@link Encoder} and read by a {@link Decoder}, both operating on a {@link DataOutput}
+ * /{@link DataInput} or a {@link ByteBuffer}. Since the context dictionary is built up while streaming, a stream
+ * must be decoded by a single decoder in the order written. Lengths read are never trusted: they are checked
+ * against the bytes remaining in a {@link ByteBuffer}, whereas arrays read from a {@link DataInput} only grow
+ * with the bytes actually read.
+ * <p>
+ * Instances of this class are immutable and thread-safe, encoders and decoders are not thread-safe.
+ */
+public final class MonetaryCodec {
+
+    /**
+     * Context reference marking a null context.
+     */
+    private static final int CONTEXT_NULL = 0;
+    /**
+     * Context reference marking a new context definition.
+     */
+    private static final int CONTEXT_DEFINITION = 1;
+    /**
+     * Offset of context references.
+     */
+    private static final int CONTEXT_REFERENCE_OFFSET = 2;
+
+    private static final int CONTEXT_MONETARY = 1;
+    private static final int CONTEXT_CURRENCY = 2;
+    private static final int CONTEXT_ROUNDING = 3;
+    private static final int CONTEXT_CONVERSION = 4;
+    private static final int CONTEXT_PROVIDER = 5;
+
+    private static final int VALUE_STRING = 1;
+    private static final int VALUE_INTEGER = 2;
+    private static final int VALUE_LONG = 3;
+    private static final int VALUE_BOOLEAN = 4;
+    private static final int VALUE_DOUBLE = 5;
+    private static final int VALUE_FLOAT = 6;
+    private static final int VALUE_CHARACTER = 7;
+    private static final int VALUE_BIG_DECIMAL = 8;
+    private static final int VALUE_BIG_INTEGER = 9;
+    private static final int VALUE_CLASS = 10;
+    private static final int VALUE_ENUM = 11;
+    private static final int VALUE_CURRENCY = 12;
+    private static final int VALUE_SET = 13;
+    private static final int VALUE_LIST = 14;
+    private static final int VALUE_SERIALIZED = 15;
+
+    /**
+     * Initial size of arrays read from a {@link DataInput}, which grow only with the bytes actually read.
+     */
+    private static final int READ_CHUNK_SIZE = 8192;
+
+    /**
+     * Maximal nesting of collection attribute values, so crafted input cannot exhaust the stack.
+     */
+    static final int MAX_VALUE_DEPTH = 16;
+
+    /**
+     * Shared codec without currency registry.
+     */
+    private static final MonetaryCodec DEFAULT = new MonetaryCodec(new CurrencyUnit[0]);
+
+    /**
+     * The currency registry, sorted by currency code.
+     */
+    private final CurrencyUnit[] currencies;
+    /**
+     * The currency indexes by currency code.
+     */
+    private final Map<String, Integer> currencyIndexes = new HashMap<>();
+
+    private MonetaryCodec(CurrencyUnit[] currencies) {
+        Arrays.sort(currencies, Comparator.comparing(CurrencyUnit::getCurrencyCode));
+        for (int i = 0; i < currencies.length; i++) {
+            if (currencyIndexes.put(currencies[i].getCurrencyCode(), i) != null) {
+                throw new IllegalArgumentException("Duplicate currency: " + currencies[i].getCurrencyCode());
+            }
+        }
+        this.currencies = currencies;
+    }
+
+    /**
+     * Access a codec without currency registry, encoding all currencies by their currency code.
+     *
+     * @return the codec, never null.
+     */
+    public static MonetaryCodec of() {
+        return DEFAULT;
+    }
+
+    /**
+     * Creates a codec encoding the given currencies as registry index, all other currencies by their currency
+     * code.
+     *
+     * @param currencies the currency registry, not null.
+     * @return the new codec, never null.
+     */
+    public static MonetaryCodec of(Collection<CurrencyUnit> currencies) {
+        return new MonetaryCodec(Objects.requireNonNull(currencies, "Currencies required.")
+                .toArray(new CurrencyUnit[0]));
+    }
+
+    /**
+     * Creates a new encoder writing to the given output.
+     *
+     * @param out the output, not null.
+     * @return a new encoder, never null.
+     */
+    public Encoder newEncoder(DataOutput out) {
+        return new Encoder(Objects.requireNonNull(out, "DataOutput required."), null);
+    }
+
+    /**
+     * Creates a new encoder writing to the given buffer, starting at its current position.
+     *
+     * @param buffer the buffer, not null.
+     * @return a new encoder, never null.
+     */
+    public Encoder newEncoder(ByteBuffer buffer) {
+        return new Encoder(null, Objects.requireNonNull(buffer, "ByteBuffer required."));
+    }
+
+    /**
+     * Creates a new decoder reading from the given input.
+     *
+     * @param in the input, not null.
+     * @return a new decoder, never null.
+     */
+    public Decoder newDecoder(DataInput in) {
+        return new Decoder(Objects.requireNonNull(in, "DataInput required."), null);
+    }
+
+    /**
+     * Creates a new decoder reading from the given buffer, starting at its current position.
+     *
+     * @param buffer the buffer, not null.
+     * @return a new decoder, never null.
+     */
+    public Decoder newDecoder(ByteBuffer buffer) {
+        return new Decoder(null, Objects.requireNonNull(buffer, "ByteBuffer required."));
+    }
+
+    /**
+     * Encodes a single amount, including its context.
+     *
+     * @param amount the amount, not null.
+     * @return the encoded amount, never null.
+     */
+    public byte[] encode(MonetaryAmount amount) {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try {
+            newEncoder(new DataOutputStream(bos)).writeAmount(amount);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bos.toByteArray();
+    }
+
+    /**
+     * Decodes a single amount, encoded by {@link #encode(MonetaryAmount)}. The amount is created using the
+     * factory of the amount type declared by its {@link MonetaryContext}.
+     *
+     * @param bytes the encoded amount, not null.
+     * @return the amount, never null.
+     * @throws MonetaryException if the data cannot be decoded.
+     */
+    public MonetaryAmount decodeAmount(byte[] bytes) {
+        try {
+            return newDecoder(new DataInputStream(new ByteArrayInputStream(bytes))).readAmount();
+        } catch (IOException e) {
+            throw new MonetaryException("Failed to decode amount.", e);
+        }
+    }
+
+    /**
+     * Writes a stream of encoded items. The encoder holds the dictionary of the contexts written.
+     */
+    public final class Encoder {
+
+        private final DataOutput out;
+        private final ByteBuffer buffer;
+        private final Map<AbstractContext, Integer> contexts = new HashMap<>();
+
+        private Encoder(DataOutput out, ByteBuffer buffer) {
+            this.out = out;
+            this.buffer = buffer;
+        }
+
+        /**
+         * Writes an amount, consisting of its currency, number and {@link MonetaryContext}.
+         *
+         * @param amount the amount, not null.
+         * @return this encoder, for chaining.
+         * @throws IOException if writing fails.
+         */
+        public Encoder writeAmount(MonetaryAmount amount) throws IOException {
+            Objects.requireNonNull(amount, "Amount required.");
+            writeCurrency(amount.getCurrency());
+            writeNumber(amount.getNumber());
+            writeContext(amount.getContext());
+            return this;
+        }
+
+        /**
+         * Writes a currency.
+         *
+         * @param currency the currency, not null.
+         * @return this encoder, for chaining.
+         * @throws IOException if writing fails.
+         */
+        public Encoder writeCurrency(CurrencyUnit currency) throws IOException {
+            Integer index = currencyIndexes.get(currency.getCurrencyCode());
+            if (index != null) {
+                writeVarLong(index + 1L);
+            } else {
+                writeVarLong(0L);
+                writeString(currency.getCurrencyCode());
+            }
+            return this;
+        }
+
+        /**
+         * Writes a number.
+         *
+         * @param number the number, not null.
+         * @return this encoder, for chaining.
+         * @throws IOException if writing fails.
+         */
+        public Encoder writeNumber(NumberValue number) throws IOException {
+            if (number.isUnscaledLongAvailable()) {
+                writeNumber(number.getUnscaledLong(), number.getScale());
+            } else {
+                writeNumber(number.numberValue(BigDecimal.class));
+            }
+            return this;
+        }
+
+        /**
+         * Writes a number.
+         *
+         * @param number the number, not null.
+         * @return this encoder, for chaining.
+         * @throws IOException if writing fails.
+         */
+        public Encoder writeNumber(BigDecimal number) throws IOException {
+            BigInteger unscaled = number.unscaledValue();
+            if (unscaled.bitLength() < Long.SIZE) {
+                return writeNumber(unscaled.longValue(), number.scale());
+            }
+            writeVarLong(zigZag(number.scale()) << 1 | 1L);
+            byte[] bytes = unscaled.toByteArray();
+            writeVarLong(bytes.length);
+            writeBytes(bytes);
+            return this;
+        }
+
+        /**
+         * Writes a number given as unscaled value and scale.
+         *
+         * @param unscaled the unscaled value.
+         * @param scale    the scale.
+         * @return this encoder, for chaining.
+         * @throws IOException if writing fails.
+         */
+        public Encoder writeNumber(long unscaled, int scale) throws IOException {
+            writeVarLong(zigZag(scale) << 1);
+            writeVarLong(zigZag(unscaled));
+            return this;
+        }
+
+        /**
+         * Writes a context. If an equal context has been written before by this encoder, only a reference is
+         * written.
+         *
+         * @param context the context, may be null.
+         * @return this encoder, for chaining.
+         * @throws IOException       if writing fails.
+         * @throws MonetaryException if the context type or one of its attributes is not supported.
+         */
+        public Encoder writeContext(AbstractContext context) throws IOException {
+            if (context == null) {
+                writeVarLong(CONTEXT_NULL);
+                return this;
+            }
+            Integer reference = contexts.get(context);
+            if (reference != null) {
+                writeVarLong(reference + (long) CONTEXT_REFERENCE_OFFSET);
+                return this;
+            }
+            writeVarLong(CONTEXT_DEFINITION);
+            writeByte(contextType(context));
+            writeVarLong(context.attributeCount());
+            for (int i = 0; i < context.attributeCount(); i++) {
+                writeString(context.keyAt(i));
+                writeValue(context.valueAt(i));
+            }
+            contexts.put(context, contexts.size());
+            return this;
+        }
+
+        private int contextType(AbstractContext context) {
+            if (context instanceof MonetaryContext) {
+                return CONTEXT_MONETARY;
+            }
+            if (context instanceof CurrencyContext) {
+                return CONTEXT_CURRENCY;
+            }
+            if (context instanceof RoundingContext) {
+                return CONTEXT_ROUNDING;
+            }
+            if (context instanceof ConversionContext) {
+                return CONTEXT_CONVERSION;
+            }
+            if (context instanceof ProviderContext) {
+                return CONTEXT_PROVIDER;
+            }
+            throw new MonetaryException("Unsupported context type: " + context.getClass().getName());
+        }
+
+        private void writeValue(Object value) throws IOException {
+            if (value instanceof String) {
+                writeByte(VALUE_STRING);
+                writeString((String) value);
+            } else if (value instanceof Integer) {
+                writeByte(VALUE_INTEGER);
+                writeVarLong(zigZag((Integer) value));
+            } else if (value instanceof Long) {
+                writeByte(VALUE_LONG);
+                writeVarLong(zigZag((Long) value));
+            } else if (value instanceof Boolean) {
+                writeByte(VALUE_BOOLEAN);
+                writeByte((Boolean) value ? 1 : 0);
+            } else if (value instanceof Double) {
+                writeByte(VALUE_DOUBLE);
+                writeFixedLong(Double.doubleToLongBits((Double) value));
+            } else if (value instanceof Float) {
+                writeByte(VALUE_FLOAT);
+                writeVarLong(Float.floatToIntBits((Float) value) & 0xFFFFFFFFL);
+            } else if (value instanceof Character) {
+                writeByte(VALUE_CHARACTER);
+                writeVarLong((Character) value);
+            } else if (value instanceof BigDecimal) {
+                writeByte(VALUE_BIG_DECIMAL);
+                writeNumber((BigDecimal) value);
+            } else if (value instanceof BigInteger) {
+                writeByte(VALUE_BIG_INTEGER);
+                writeNumber(new BigDecimal((BigInteger) value));
+            } else if (value instanceof Class) {
+                writeByte(VALUE_CLASS);
+                writeString(((Class<?>) value).getName());
+            } else if (value instanceof Enum) {
+                writeByte(VALUE_ENUM);
+                writeString(((Enum<?>) value).getDeclaringClass().getName());
+                writeString(((Enum<?>) value).name());
+            } else if (value instanceof CurrencyUnit) {
+                writeByte(VALUE_CURRENCY);
+                writeCurrency((CurrencyUnit) value);
+            } else if (value instanceof Set || value instanceof List) {
+                writeByte(value instanceof Set ? VALUE_SET : VALUE_LIST);
+                Collection<?> values = (Collection<?>) value;
+                writeVarLong(values.size());
+                for (Object val : values) {
+                    writeValue(val);
+                }
+            } else if (value instanceof Serializable) {
+                writeByte(VALUE_SERIALIZED);
+                ByteArrayOutputStream bos = new ByteArrayOutputStream();
+                try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+                    oos.writeObject(value);
+                }
+                writeVarLong(bos.size());
+                writeBytes(bos.toByteArray());
+            } else {
+                throw new MonetaryException("Unsupported attribute value: " + value);
+            }
+        }
+
+        private void writeString(String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            writeBytes(bytes);
+        }
+
+        private void writeVarLong(long value) throws IOException {
+            while ((value & ~0x7FL) != 0) {
+                writeByte((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            writeByte((int) value);
+        }
+
+        private void writeFixedLong(long value) throws IOException {
+            if (out != null) {
+                out.writeLong(value);
+            } else {
+                buffer.putLong(value);
+            }
+        }
+
+        private void writeByte(int value) throws IOException {
+            if (out != null) {
+                out.writeByte(value);
+            } else {
+                buffer.put((byte) value);
+            }
+        }
+
+        private void writeBytes(byte[] bytes) throws IOException {
+            if (out != null) {
+                out.write(bytes);
+            } else {
+                buffer.put(bytes);
+            }
+        }
+    }
+
+    /**
+     * Reads a stream of encoded items. The decoder holds the dictionary of the contexts read.
+     */
+    public final class Decoder {
+
+        private final DataInput in;
+        private final ByteBuffer buffer;
+        private final List<AbstractContext> contexts = new ArrayList<>();
+
+        private Decoder(DataInput in, ByteBuffer buffer) {
+            this.in = in;
+            this.buffer = buffer;
+        }
+
+        /**
+         * Reads an amount, creating it using the factory of the amount type declared by its
+         * {@link MonetaryContext}, or the default amount factory, if no context was written.
+         *
+         * @return the amount, never null.
+         * @throws IOException       if reading fails.
+         * @throws MonetaryException if the data cannot be decoded or no matching factory is available.
+         */
+        public MonetaryAmount readAmount() throws IOException {
+            return decode(() -> {
+                CurrencyUnit currency = readCurrency();
+                Number number = readNumber();
+                MonetaryContext context = readContext(MonetaryContext.class);
+                Class<?> amountType = context == null ? null : context.get(MonetaryContext.AMOUNT_TYPE, Class.class);
+                MonetaryAmountFactory<?> factory = amountType == null ? Monetary.getDefaultAmountFactory() :
+                        Monetary.getAmountFactory(amountType.asSubclass(MonetaryAmount.class));
+                return createAmount(factory, currency, number, context);
+            });
+        }
+
+        /**
+         * Reads an amount, creating it using the given factory.
+         *
+         * @param factory the factory, not null.
+         * @param <T>     the amount type.
+         * @return the amount, never null.
+         * @throws IOException       if reading fails.
+         * @throws MonetaryException if the data cannot be decoded.
+         */
+        public <T extends MonetaryAmount> T readAmount(MonetaryAmountFactory<T> factory) throws IOException {
+            Objects.requireNonNull(factory, "Factory required.");
+            return decode(() -> {
+                CurrencyUnit currency = readCurrency();
+                Number number = readNumber();
+                return createAmount(factory, currency, number, readContext(MonetaryContext.class));
+            });
+        }
+
+        private <T extends MonetaryAmount> T createAmount(MonetaryAmountFactory<T> factory, CurrencyUnit currency,
+                                                          Number number, MonetaryContext context) {
+            factory.setCurrency(currency).setNumber(number);
+            if (context != null) {
+                factory.setContext(context);
+            }
+            return factory.create();
+        }
+
+        /**
+         * Reads a currency. Currencies not contained in the registry are resolved using
+         * {@link Monetary#getCurrency(String, String...)}.
+         *
+         * @return the currency, never null.
+         * @throws IOException       if reading fails.
+         * @throws MonetaryException if the data cannot be decoded.
+         */
+        public CurrencyUnit readCurrency() throws IOException {
+            return decode(() -> {
+                long index = readVarLong();
+                if (index == 0L) {
+                    return Monetary.getCurrency(readString());
+                }
+                if (index > currencies.length) {
+                    throw new MonetaryException("Invalid currency index: " + (index - 1));
+                }
+                return currencies[(int) (index - 1)];
+            });
+        }
+
+        /**
+         * Reads a number.
+         *
+         * @return the number, a {@link LongNumberValue}, or a {@link BigDecimal}, if the unscaled value does not
+         * fit into a {@code long}.
+         * @throws IOException       if reading fails.
+         * @throws MonetaryException if the data cannot be decoded.
+         */
+        public Number readNumber() throws IOException {
+            return decode(() -> {
+                long header = readVarLong();
+                long scale = unZigZag(header >>> 1);
+                if (scale < Integer.MIN_VALUE || scale > Integer.MAX_VALUE) {
+                    throw new MonetaryException("Invalid scale: " + scale);
+                }
+                if ((header & 1L) == 0) {
+                    return LongNumberValue.of(unZigZag(readVarLong()), (int) scale);
+                }
+                byte[] unscaled = readBytes();
+                if (unscaled.length == 0) {
+                    throw new MonetaryException("Missing unscaled value.");
+                }
+                return new BigDecimal(new BigInteger(unscaled), (int) scale);
+            });
+        }
+
+        /**
+         * Reads a context.
+         *
+         * @param contextType the expected context type, not null.
+         * @param <C>         the context type.
+         * @return the context, or null, if a null context was written.
+         * @throws IOException       if reading fails.
+         * @throws MonetaryException if the data cannot be decoded or the context is not of the expected type.
+         */
+        public <C extends AbstractContext> C readContext(Class<C> contextType) throws IOException {
+            Objects.requireNonNull(contextType, "Context type required.");
+            AbstractContext context = readContext();
+            if (context != null && !contextType.isInstance(context)) {
+                throw new MonetaryException("Expected " + contextType.getName() + ", but found " +
+                        context.getClass().getName());
+            }
+            return contextType.cast(context);
+        }
+
+        /**
+         * Reads a context.
+         *
+         * @return the context, or null, if a null context was written.
+         * @throws IOException       if reading fails.
+         * @throws MonetaryException if the data cannot be decoded.
+         */
+        public AbstractContext readContext() throws IOException {
+            return decode(this::readContextData);
+        }
+
+        private AbstractContext readContextData() throws IOException {
+            long reference = readVarLong();
+            if (reference == CONTEXT_NULL) {
+                return null;
+            }
+            if (reference >= CONTEXT_REFERENCE_OFFSET) {
+                long index = reference - CONTEXT_REFERENCE_OFFSET;
+                if (index >= contexts.size()) {
+                    throw new MonetaryException("Invalid context reference: " + index);
+                }
+                return contexts.get((int) index);
+            }
+            AbstractContextBuilder<?, ?> builder = newContextBuilder(readByte());
+            builder.clear();
+            int size = readLength();
+            for (int i = 0; i < size; i++) {
+                String key = readString();
+                builder.set(key, readValue(0));
+            }
+            AbstractContext context = builder.build();
+            contexts.add(context);
+            return context;
+        }
+
+        private AbstractContextBuilder<?, ?> newContextBuilder(int type) {
+            switch (type) {
+                case CONTEXT_MONETARY:
+                    return MonetaryContextBuilder.of();
+                case CONTEXT_CURRENCY:
+                    return CurrencyContextBuilder.of("");
+                case CONTEXT_ROUNDING:
+                    return RoundingContextBuilder.of("", "");
+                case CONTEXT_CONVERSION:
+                    return ConversionContextBuilder.of();
+                case CONTEXT_PROVIDER:
+                    return ProviderContextBuilder.of("", RateType.ANY);
+                default:
+                    throw new MonetaryException("Invalid context type: " + type);
+            }
+        }
+
+        private Object readValue(int depth) throws IOException {
+            int type = readByte();
+            switch (type) {
+                case VALUE_STRING:
+                    return readString();
+                case VALUE_INTEGER:
+                    return (int) unZigZag(readVarLong());
+                case VALUE_LONG:
+                    return unZigZag(readVarLong());
+                case VALUE_BOOLEAN:
+                    return readByte() != 0;
+                case VALUE_DOUBLE:
+                    return Double.longBitsToDouble(readFixedLong());
+                case VALUE_FLOAT:
+                    return Float.intBitsToFloat((int) readVarLong());
+                case VALUE_CHARACTER:
+                    return (char) readVarLong();
+                case VALUE_BIG_DECIMAL:
+                    return toBigDecimal(readNumber());
+                case VALUE_BIG_INTEGER:
+                    return toBigDecimal(readNumber()).toBigIntegerExact();
+                case VALUE_CLASS:
+                    return readClass(readString());
+                case VALUE_ENUM:
+                    return readEnum(readString(), readString());
+                case VALUE_CURRENCY:
+                    return readCurrency();
+                case VALUE_SET:
+                case VALUE_LIST:
+                    if (depth >= MAX_VALUE_DEPTH) {
+                        throw new MonetaryException("Attribute values nested deeper than " + MAX_VALUE_DEPTH);
+                    }
+                    int size = readLength();
+                    Collection<Object> values = type == VALUE_SET ? new LinkedHashSet<>() : new ArrayList<>();
+                    for (int i = 0; i < size; i++) {
+                        values.add(readValue(depth + 1));
+                    }
+                    return values;
+                case VALUE_SERIALIZED:
+                    try (ObjectInputStream ois = new ValueInputStream(readBytes())) {
+                        return ois.readObject();
+                    } catch (ClassNotFoundException e) {
+                        throw new MonetaryException("Failed to deserialize attribute value.", e);
+                    }
+                default:
+                    throw new MonetaryException("Invalid value type: " + type);
+            }
+        }
+
+        /**
+         * Reads a class value. Classes outside the {@linkplain #isAllowedType(String) allowed packages} are only
+         * accepted as amount types, they are loaded, but not initialized.
+         */
+        private Class<?> readClass(String name) {
+            Class<?> type = loadClass(name);
+            if (!isAllowedType(name) && !MonetaryAmount.class.isAssignableFrom(type)) {
+                throw new MonetaryException("Attribute value type not allowed: " + name);
+            }
+            return type;
+        }
+
+        /**
+         * Reads an enum value. Since resolving the constant initializes the enum class, only enums of the
+         * {@linkplain #isAllowedType(String) allowed packages} are accepted.
+         */
+        private Object readEnum(String typeName, String name) {
+            if (!isAllowedType(typeName)) {
+                throw new MonetaryException("Attribute value type not allowed: " + typeName);
+            }
+            Class<?> type = loadClass(typeName);
+            if (!type.isEnum()) {
+                throw new MonetaryException("Not an enum type: " + typeName);
+            }
+            for (Object constant : type.getEnumConstants()) {
+                if (((Enum<?>) constant).name().equals(name)) {
+                    return constant;
+                }
+            }
+            throw new MonetaryException("Invalid enum constant: " + typeName + '.' + name);
+        }
+
+        private Class<?> loadClass(String name) {
+            try {
+                ClassLoader loader = Thread.currentThread().getContextClassLoader();
+                return Class.forName(name, false, loader != null ? loader : MonetaryCodec.class.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                try {
+                    return Class.forName(name, false, MonetaryCodec.class.getClassLoader());
+                } catch (ClassNotFoundException e2) {
+                    throw new MonetaryException("Failed to load class: " + name, e2);
+                }
+            }
+        }
+
+        private String readString() throws IOException {
+            return new String(readBytes(), StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Reads a length or element count. Since each byte or element takes at least one byte, lengths exceeding
+         * the bytes remaining in a {@link ByteBuffer} are rejected.
+         *
+         * @return the length.
+         * @throws IOException if reading fails.
+         */
+        private int readLength() throws IOException {
+            long length = readVarLong();
+            if (length < 0 || length > Integer.MAX_VALUE || (buffer != null && length > buffer.remaining())) {
+                throw new MonetaryException("Invalid length: " + length);
+            }
+            return (int) length;
+        }
+
+        private long readVarLong() throws IOException {
+            long value = 0L;
+            for (int shift = 0; shift < Long.SIZE; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new MonetaryException("Malformed variable length number.");
+        }
+
+        private long readFixedLong() throws IOException {
+            return in != null ? in.readLong() : buffer.getLong();
+        }
+
+        private int readByte() throws IOException {
+            return in != null ? in.readUnsignedByte() : buffer.get() & 0xFF;
+        }
+
+        /**
+         * Reads a byte array, preceded by its length.
+         *
+         * @return the bytes read, never null.
+         * @throws IOException if reading fails.
+         */
+        private byte[] readBytes() throws IOException {
+            int length = readLength();
+            if (in == null) {
+                byte[] bytes = new byte[length];
+                buffer.get(bytes);
+                return bytes;
+            }
+            // the length is not trusted, so the array only grows with the bytes actually read
+            byte[] bytes = new byte[Math.min(length, READ_CHUNK_SIZE)];
+            int read = 0;
+            while (true) {
+                in.readFully(bytes, read, bytes.length - read);
+                read = bytes.length;
+                if (read == length) {
+                    return bytes;
+                }
+                bytes = Arrays.copyOf(bytes, (int) Math.min(length, 2L * read));
+            }
+        }
+    }
+
+    /**
+     * Object input stream for attribute values, resolving only JDK value types and the types of the money API, so
+     * no other classes are instantiated when reading untrusted data.
+     */
+    private static final class ValueInputStream extends ObjectInputStream {
+
+        ValueInputStream(byte[] bytes) throws IOException {
+            super(new ByteArrayInputStream(bytes));
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            String name = desc.getName();
+            int dims = 0;
+            while (name.charAt(dims) == '[') {
+                dims++;
+            }
+            if (dims > 0) {
+                // primitive arrays have a single character element type
+                name = name.charAt(dims) == 'L' ? name.substring(dims + 1, name.length() - 1) : "";
+            }
+            if (!name.isEmpty() && !isAllowedType(name)) {
+                throw new InvalidClassException(desc.getName(), "Attribute value type not allowed.");
+            }
+            return super.resolveClass(desc);
+        }
+
+        @Override
+        protected Class<?> resolveProxyClass(String[] interfaces) throws IOException {
+            throw new InvalidClassException("Proxy", "Attribute value type not allowed.");
+        }
+    }
+
+    /**
+     * Checks if a type read from untrusted data may be resolved, which is the case for JDK value types and the
+     * types of the money API.
+     *
+     * @param className the fully qualified class name.
+     * @return true, if the type is allowed.
+     */
+    private static boolean isAllowedType(String className) {
+        int packageEnd = className.lastIndexOf('.');
+        String pkg = packageEnd < 0 ? "" : className.substring(0, packageEnd);
+        return pkg.equals("java.lang") || pkg.equals("java.math") || pkg.equals("java.time") || pkg.equals("java.util")
+                || pkg.equals("javax.money") || pkg.startsWith("javax.money.");
+    }
+
+    /**
+     * Runs a decoding step, reporting failures caused by malformed data, such as a buffer underflow or values out
+     * of range, as {@link MonetaryException}.
+     */
+    private static <T> T decode(DecodeStep<T> step) throws IOException {
+        try {
+            return step.read();
+        } catch (MonetaryException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new MonetaryException("Malformed data: " + e, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface DecodeStep<T> {
+        T read() throws IOException;
+    }
+
+    private static BigDecimal toBigDecimal(Number number) {
+        if (number instanceof BigDecimal) {
+            return (BigDecimal) number;
+        }
+        return ((NumberValue) number).numberValue(BigDecimal.class);
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
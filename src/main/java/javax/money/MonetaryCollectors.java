@@ -0,0 +1,179 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collector;
+
+/**
+ * {@link Collector} implementations for reducing streams of {@link MonetaryAmount} instances. Sums are evaluated
+ * using a mutable {@link MonetaryAmountAccumulator} per thread, so no intermediate amounts are created. All
+ * collectors can be used with parallel streams, partial results are combined using
+ * {@link MonetaryAmountAccumulator#merge(MonetaryAmountAccumulator)}. Except for
+ * {@link #summingByCurrency()} all collectors fail with a {@link MonetaryException} as soon as an amount with a
+ * different currency is encountered.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class MonetaryCollectors {
+
+    /**
+     * Private singleton constructor.
+     */
+    private MonetaryCollectors() {
+    }
+
+    /**
+     * Creates a collector evaluating the total of all amounts.
+     *
+     * @return the collector, evaluating the total, or an empty {@link Optional} for an empty stream.
+     */
+    public static Collector<MonetaryAmount, ?, Optional<MonetaryAmount>> summing() {
+        return Collector.of(MonetaryAmountAccumulator::of, MonetaryAmountAccumulator::accept,
+                MonetaryAmountAccumulator::merge, MonetaryCollectors::total, Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Creates a collector evaluating the total of all amounts, applying the given rounding on the total.
+     *
+     * @param rounding the rounding, not null.
+     * @return the collector, evaluating the rounded total, or an empty {@link Optional} for an empty stream.
+     */
+    public static Collector<MonetaryAmount, ?, Optional<MonetaryAmount>> summing(MonetaryRounding rounding) {
+        Objects.requireNonNull(rounding, "Rounding required.");
+        return Collector.of(() -> MonetaryAmountAccumulator.of(rounding), MonetaryAmountAccumulator::accept,
+                MonetaryAmountAccumulator::merge, MonetaryCollectors::total, Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Creates a collector evaluating the average of all amounts, using
+     * {@link MonetaryAmount#divide(long)} on the total.
+     *
+     * @return the collector, evaluating the average, or an empty {@link Optional} for an empty stream.
+     */
+    public static Collector<MonetaryAmount, ?, Optional<MonetaryAmount>> averaging() {
+        return Collector.of(MonetaryAmountAccumulator::of, MonetaryAmountAccumulator::accept,
+                MonetaryAmountAccumulator::merge,
+                acc -> acc.isEmpty() ? Optional.empty() : Optional.of(acc.getTotal().divide(acc.getCount())),
+                Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Creates a collector evaluating the totals per currency.
+     *
+     * @return the collector, evaluating the totals by currency, never null.
+     */
+    public static Collector<MonetaryAmount, ?, Map<CurrencyUnit, MonetaryAmount>> summingByCurrency() {
+        return Collector.<MonetaryAmount, Map<String, MonetaryAmountAccumulator>, Map<CurrencyUnit,
+                MonetaryAmount>>of(HashMap::new, (map, amount) -> map.computeIfAbsent(
+                amount.getCurrency().getCurrencyCode(), c -> MonetaryAmountAccumulator.of()).add(amount),
+                (map1, map2) -> {
+                    map2.forEach((code, acc) -> map1.merge(code, acc, MonetaryAmountAccumulator::merge));
+                    return map1;
+                }, map -> {
+                    Map<CurrencyUnit, MonetaryAmount> result = new LinkedHashMap<>();
+                    map.values().forEach(acc -> result.put(acc.getCurrency(), acc.getTotal()));
+                    return result;
+                }, Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Creates a collector evaluating the minimal amount. If multiple amounts are minimal, the first one is
+     * returned.
+     *
+     * @return the collector, evaluating the minimal amount, or an empty {@link Optional} for an empty stream.
+     */
+    public static Collector<MonetaryAmount, ?, Optional<MonetaryAmount>> minimizing() {
+        return Collector.of(() -> new Extremum(-1), Extremum::accept, Extremum::merge, Extremum::get);
+    }
+
+    /**
+     * Creates a collector evaluating the maximal amount. If multiple amounts are maximal, the first one is
+     * returned.
+     *
+     * @return the collector, evaluating the maximal amount, or an empty {@link Optional} for an empty stream.
+     */
+    public static Collector<MonetaryAmount, ?, Optional<MonetaryAmount>> maximizing() {
+        return Collector.of(() -> new Extremum(1), Extremum::accept, Extremum::merge, Extremum::get);
+    }
+
+    private static Optional<MonetaryAmount> total(MonetaryAmountAccumulator accumulator) {
+        return accumulator.isEmpty() ? Optional.empty() : Optional.of(accumulator.getTotal());
+    }
+
+    /**
+     * Mutable state evaluating the minimal or maximal amount.
+     */
+    private static final class Extremum {
+
+        /**
+         * {@code -1} for evaluating the minimum, {@code 1} for the maximum.
+         */
+        private final int direction;
+        private MonetaryAmount current;
+        private NumberValue currentNumber;
+
+        Extremum(int direction) {
+            this.direction = direction;
+        }
+
+        void accept(MonetaryAmount amount) {
+            Objects.requireNonNull(amount, "Amount required.");
+            NumberValue number = amount.getNumber();
+            if (current == null) {
+                current = amount;
+                currentNumber = number;
+                return;
+            }
+            checkCurrency(amount.getCurrency());
+            if (MonetaryAmountComparator.compareNumbers(number, currentNumber) * direction > 0) {
+                current = amount;
+                currentNumber = number;
+            }
+        }
+
+        Extremum merge(Extremum other) {
+            if (other.current != null) {
+                if (current == null) {
+                    return other;
+                }
+                checkCurrency(other.current.getCurrency());
+                if (MonetaryAmountComparator.compareNumbers(other.currentNumber, currentNumber) * direction > 0) {
+                    return other;
+                }
+            }
+            return this;
+        }
+
+        Optional<MonetaryAmount> get() {
+            return Optional.ofNullable(current);
+        }
+
+        private void checkCurrency(CurrencyUnit currency) {
+            CurrencyUnit currentCurrency = current.getCurrency();
+            if (currentCurrency != currency &&
+                    !currentCurrency.getCurrencyCode().equals(currency.getCurrencyCode())) {
+                throw new MonetaryException("Currency mismatch: " + currentCurrency.getCurrencyCode() + '/' +
+                        currency.getCurrencyCode());
+            }
+        }
+    }
+}
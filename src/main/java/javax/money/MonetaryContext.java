@@ -60,6 +60,12 @@ public final class MonetaryContext extends AbstractContext implements Serializab
      */
     private static final String MAX_SCALE = "maxScale";
 
+    private static final AttributeKey<Integer> PRECISION_KEY = AttributeKey.of(PRECISION, Integer.class);
+    private static final AttributeKey<Boolean> FIXED_SCALE_KEY = AttributeKey.of(FIXED_SCALE, Boolean.class);
+    private static final AttributeKey<Integer> MAX_SCALE_KEY = AttributeKey.of(MAX_SCALE, Integer.class);
+    @SuppressWarnings("rawtypes")
+    private static final AttributeKey<Class> AMOUNT_TYPE_KEY = AttributeKey.of(AMOUNT_TYPE, Class.class);
+
     /**
      * Constructor, used from the Builder.
      *
@@ -76,7 +82,7 @@ public final class MonetaryContext extends AbstractContext implements Serializab
      * setting
      */
     public int getPrecision() {
-        Integer val = getInt(PRECISION);
+        Integer val = get(PRECISION_KEY);
         if (val == null) {
             return 0;
         }
@@ -89,7 +95,7 @@ public final class MonetaryContext extends AbstractContext implements Serializab
      * @return {@code true} if {@code scale == maxScale}.
      */
     public boolean isFixedScale() {
-        Boolean val = getBoolean(FIXED_SCALE);
+        Boolean val = get(FIXED_SCALE_KEY);
         if (val == null) {
             return false;
         }
@@ -104,7 +110,7 @@ public final class MonetaryContext extends AbstractContext implements Serializab
      * @return the maximal scale supported, always {@code >= -1}
      */
     public int getMaxScale() {
-        Integer val = getInt(MAX_SCALE);
+        Integer val = get(MAX_SCALE_KEY);
         if (val == null) {
             return -1;
         }
@@ -118,7 +124,7 @@ public final class MonetaryContext extends AbstractContext implements Serializab
      * @see MonetaryAmount#getContext()
      */
     public Class<? extends MonetaryAmount> getAmountType() {
-        Class<?> clazz = get(AMOUNT_TYPE, Class.class);
+        Class<?> clazz = get(AMOUNT_TYPE_KEY);
         return clazz.asSubclass(MonetaryAmount.class);
     }
 
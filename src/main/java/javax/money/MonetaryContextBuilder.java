@@ -85,12 +85,13 @@ public final class MonetaryContextBuilder extends AbstractContextBuilder<Monetar
     }
 
     /**
-     * Creates a new instance of {@link MonetaryAmountFactoryQuery}.
+     * Creates a new instance of {@link MonetaryContext}. Equal contexts are shared, see
+     * {@link #intern(AbstractContext)}.
      *
-     * @return a new {@link MonetaryAmountFactoryQuery} instance.
+     * @return the {@link MonetaryContext} instance.
      */
     public MonetaryContext build() {
-        return new MonetaryContext(this);
+        return intern(new MonetaryContext(this));
     }
 
     /**
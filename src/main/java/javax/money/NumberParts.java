@@ -0,0 +1,101 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money;
+
+/**
+ * Mutable, reusable holder for the decomposition of a {@link NumberValue}, filled by
+ * {@link NumberValue#decompose(NumberParts)}. Given a number {@code v} the parts satisfy the same constraints as
+ * {@link NumberValue#longValue()}, {@link NumberValue#getAmountFractionNumerator()} and
+ * {@link NumberValue#getAmountFractionDenominator()}, so
+ * {@code v = integerPart + fractionNumerator / fractionDenominator}, as long as the number fits into a
+ * {@code long}.
+ * <p>
+ * Instances of this class are not thread-safe, they are intended to be reused by a single thread, e.g. when
+ * encoding large numbers of amounts.
+ */
+public final class NumberParts {
+
+    private long integerPart;
+    private long fractionNumerator;
+    private long fractionDenominator = 1L;
+    private int scale;
+
+    /**
+     * Creates a new instance, holding the parts of zero, until {@link #set(long, long, long, int)} is called.
+     */
+    public NumberParts() {
+    }
+
+    /**
+     * Sets all parts.
+     *
+     * @param integerPart         the integer part, see {@link NumberValue#longValue()}.
+     * @param fractionNumerator   the fraction numerator, see {@link NumberValue#getAmountFractionNumerator()}.
+     * @param fractionDenominator the fraction denominator, see {@link NumberValue#getAmountFractionDenominator()}.
+     * @param scale               the scale, see {@link NumberValue#getScale()}.
+     * @return this instance, for chaining.
+     */
+    public NumberParts set(long integerPart, long fractionNumerator, long fractionDenominator, int scale) {
+        this.integerPart = integerPart;
+        this.fractionNumerator = fractionNumerator;
+        this.fractionDenominator = fractionDenominator;
+        this.scale = scale;
+        return this;
+    }
+
+    /**
+     * Access the integer part.
+     *
+     * @return the integer part.
+     */
+    public long getIntegerPart() {
+        return integerPart;
+    }
+
+    /**
+     * Access the fraction numerator, having the same sign as the number.
+     *
+     * @return the fraction numerator.
+     */
+    public long getFractionNumerator() {
+        return fractionNumerator;
+    }
+
+    /**
+     * Access the fraction denominator.
+     *
+     * @return the fraction denominator, always positive.
+     */
+    public long getFractionDenominator() {
+        return fractionDenominator;
+    }
+
+    /**
+     * Access the scale of the number.
+     *
+     * @return the scale.
+     */
+    public int getScale() {
+        return scale;
+    }
+
+    @Override
+    public String toString() {
+        return "NumberParts [integerPart=" + integerPart + ", fractionNumerator=" + fractionNumerator +
+                ", fractionDenominator=" + fractionDenominator + ", scale=" + scale + ']';
+    }
+}
@@ -182,8 +182,68 @@ public abstract class NumberValue extends Number implements Comparable<NumberVal
      */
     public abstract long getAmountFractionDenominator();
 
+    /**
+     * Decomposes this number into its integer part, fraction numerator, fraction denominator and scale in one
+     * pass, filling the given holder, which can be reused for subsequent calls. The values are the same as
+     * returned by {@link #longValue()}, {@link #getAmountFractionNumerator()},
+     * {@link #getAmountFractionDenominator()} and {@link #getScale()}.
+     * <p>
+     * If the unscaled value is available as {@code long} (see {@link #isUnscaledLongAvailable()}) and the scale is
+     * within {@code [0, 18]}, the parts are evaluated using {@code long} arithmetic only. Otherwise the methods
+     * listed above are called, implementations may override this method for evaluating the parts more
+     * efficiently.
+     *
+     * @param parts the holder to be filled, not null.
+     * @return the holder passed, for chaining.
+     */
+    public NumberParts decompose(NumberParts parts) {
+        if (isUnscaledLongAvailable() && LongNumberValue.decompose(getUnscaledLong(), getScale(), parts)) {
+            return parts;
+        }
+        return parts.set(longValue(), getAmountFractionNumerator(), getAmountFractionDenominator(), getScale());
+    }
+
+    /**
+     * Checks if this number can be represented exactly as a {@code long} unscaled value and the
+     * {@link #getScale() scale}, so that {@link #getUnscaledLong()} can be called. Implementations backed by
+     * primitive values should override this method, so numbers can be compared without creating any
+     * {@link java.math.BigDecimal} instances.
+     *
+     * @return true, if {@link #getUnscaledLong()} is available. By default {@code false} is returned.
+     * @see MonetaryAmountComparator
+     */
+    public boolean isUnscaledLongAvailable() {
+        return false;
+    }
+
+    /**
+     * Access the unscaled value of this number, so the numeric value equals
+     * {@code getUnscaledLong() * 10^-getScale()}.
+     *
+     * Implementations returning {@code true} from {@link #isUnscaledLongAvailable()} must override this method.
+     *
+     * @return the unscaled value.
+     * @throws ArithmeticException if the unscaled value is not available as {@code long}, see
+     *                             {@link #isUnscaledLongAvailable()}.
+     */
+    public long getUnscaledLong() {
+        throw new ArithmeticException("Unscaled value is not available as long: " + this);
+    }
+
+    /**
+     * Compares the numeric value. If both numbers provide their unscaled value as {@code long}, they are
+     * compared without creating any objects, otherwise both numbers are converted to
+     * {@link java.math.BigDecimal}.
+     *
+     * @param other the number to compare to, not null.
+     * @return a negative number, zero or a positive number, if this number is less than, equal to or greater
+     * than the other number.
+     */
     @Override
     public int compareTo(NumberValue other) {
+        if (isUnscaledLongAvailable() && other.isUnscaledLongAvailable()) {
+            return LongNumberValue.compare(getUnscaledLong(), getScale(), other.getUnscaledLong(), other.getScale());
+        }
         return numberValue(BigDecimal.class).compareTo(other.numberValue(BigDecimal.class));
     }
 
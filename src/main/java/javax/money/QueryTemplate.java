@@ -0,0 +1,211 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Template for creating queries of the same shape, where most attributes, e.g. the provider chain, rate types or
+ * the target type, are fixed and only a few <i>variable</i> attributes, e.g. the currencies, differ. Queries are
+ * created from the template without any builder, copying the fixed attributes from the template query:
+ * <pre><code>
+ * QueryTemplate&lt;ConversionQuery&gt; template = QueryTemplate.of(
+ *     ConversionQueryBuilder.of().setProviderNames("ECB", "IMF").setRateTypes(RateType.DEFERRED).build(),
+ *     ConversionQuery.BASE_CURRENCY, ConversionQuery.TERM_CURRENCY);
+ * ConversionQuery query = template.create(chf, eur);
+ * </code></pre>
+ * Since all queries created share the fixed attributes of the template, SPI implementations may resolve e.g. the
+ * provider chain once per template, see {@link #getProviderNames()}.
+ * <p>
+ * This class is immutable and thread-safe.
+ *
+ * @param <Q> the query type.
+ */
+public final class QueryTemplate<Q extends AbstractQuery> {
+
+    private final Q template;
+    private final List<AttributeKey<?>> variables;
+    /**
+     * The variable names, sorted.
+     */
+    private final String[] sortedNames;
+    /**
+     * For each sorted name, the index of the corresponding variable.
+     */
+    private final int[] positions;
+
+    private QueryTemplate(Q template, AttributeKey<?>[] variables) {
+        this.template = Objects.requireNonNull(template, "Template query required.");
+        this.variables = Collections.unmodifiableList(new ArrayList<>(Arrays.asList(variables)));
+        Integer[] order = new Integer[variables.length];
+        for (int i = 0; i < variables.length; i++) {
+            Objects.requireNonNull(variables[i], "Variable required.");
+            order[i] = i;
+        }
+        Arrays.sort(order, (i1, i2) -> variables[i1].getName().compareTo(variables[i2].getName()));
+        this.sortedNames = new String[variables.length];
+        this.positions = new int[variables.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedNames[i] = variables[order[i]].getName();
+            positions[i] = order[i];
+            if (i > 0 && sortedNames[i].equals(sortedNames[i - 1])) {
+                throw new IllegalArgumentException("Duplicate variable: " + sortedNames[i]);
+            }
+        }
+    }
+
+    /**
+     * Creates a new template.
+     *
+     * @param template  the query providing the fixed attributes, not null. Queries are created by copying it using
+     *                  {@link AbstractQuery#withAttributes(String[], Object[])}, which all query types of the money
+     *                  API support.
+     * @param variables the keys of the variable attributes, not null. Values of these attributes present on the
+     *                  template query are replaced by the values passed to {@link #create(Object...)}.
+     * @param <Q>       the query type.
+     * @return a new template, never null.
+     * @throws IllegalArgumentException if a variable is declared more than once.
+     */
+    public static <Q extends AbstractQuery> QueryTemplate<Q> of(Q template, AttributeKey<?>... variables) {
+        return new QueryTemplate<>(template, variables);
+    }
+
+    /**
+     * Access the query providing the fixed attributes.
+     *
+     * @return the template query, never null.
+     */
+    public Q getTemplate() {
+        return template;
+    }
+
+    /**
+     * Access the keys of the variable attributes, in the order the values are passed to {@link #create(Object...)}.
+     *
+     * @return the variables, never null.
+     */
+    public List<AttributeKey<?>> getVariables() {
+        return variables;
+    }
+
+    /**
+     * Access the provider chain shared by all queries created from this template.
+     *
+     * @return the provider names, never null.
+     * @see AbstractQuery#getProviderNames()
+     */
+    public List<String> getProviderNames() {
+        return template.getProviderNames();
+    }
+
+    /**
+     * Creates a query with one variable attribute.
+     *
+     * @param value the value of the variable, not null.
+     * @return the query, never null.
+     * @throws IllegalArgumentException if the template does not declare exactly one variable or the value is not
+     *                                  of the variable's type.
+     */
+    public Q create(Object value) {
+        checkCount(1);
+        return createSorted(new Object[]{check(0, value)});
+    }
+
+    /**
+     * Creates a query with two variable attributes.
+     *
+     * @param value1 the value of the first variable, not null.
+     * @param value2 the value of the second variable, not null.
+     * @return the query, never null.
+     * @throws IllegalArgumentException if the template does not declare exactly two variables or a value is not
+     *                                  of the variable's type.
+     */
+    public Q create(Object value1, Object value2) {
+        checkCount(2);
+        Object[] values = new Object[2];
+        values[0] = check(positions[0], positions[0] == 0 ? value1 : value2);
+        values[1] = check(positions[1], positions[1] == 0 ? value1 : value2);
+        return createSorted(values);
+    }
+
+    /**
+     * Creates a query.
+     *
+     * @param values the values of the variables, in the order of {@link #getVariables()}, not null.
+     * @return the query, never null.
+     * @throws IllegalArgumentException if the number of values does not match the variables or a value is not of
+     *                                  the variable's type.
+     */
+    public Q create(Object... values) {
+        checkCount(values.length);
+        Object[] sortedValues = new Object[values.length];
+        for (int i = 0; i < values.length; i++) {
+            sortedValues[i] = check(positions[i], values[positions[i]]);
+        }
+        return createSorted(sortedValues);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Q createSorted(Object[] sortedValues) {
+        return (Q) template.withAttributes(sortedNames, sortedValues);
+    }
+
+    private void checkCount(int count) {
+        if (count != sortedNames.length) {
+            throw new IllegalArgumentException("Expected " + sortedNames.length + " values, was: " + count);
+        }
+    }
+
+    private Object check(int variable, Object value) {
+        AttributeKey<?> key = variables.get(variable);
+        Objects.requireNonNull(value, "Value required.");
+        if (!key.getType().isInstance(value)) {
+            throw new IllegalArgumentException("Invalid value for " + key.getName() + ": " + value);
+        }
+        Object copy = copyCollection(value);
+        return key.getType().isInstance(copy) ? copy : value;
+    }
+
+    /**
+     * Copies collection values into unmodifiable collections, as done by the query builders, so queries created
+     * keep their attributes and hash code, when the collection passed is changed afterwards.
+     *
+     * @param value the value, not null.
+     * @return the unmodifiable copy of a collection, or the value itself.
+     */
+    private static Object copyCollection(Object value) {
+        if (value instanceof Set) {
+            return Collections.unmodifiableSet(new LinkedHashSet<>((Set<?>) value));
+        }
+        if (value instanceof Collection) {
+            return Collections.unmodifiableList(new ArrayList<>((Collection<?>) value));
+        }
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return "QueryTemplate[template=" + template + ", variables=" + variables + ']';
+    }
+}
@@ -44,6 +44,10 @@ public final class RoundingContext extends AbstractContext implements Serializab
      */
     static final String KEY_ROUNDING_NAME = "roundingName";
 
+    private static final AttributeKey<String> ROUNDING_NAME = AttributeKey.of(KEY_ROUNDING_NAME, String.class);
+    private static final AttributeKey<CurrencyUnit> CURRENCY =
+            AttributeKey.of(CurrencyUnit.class.getName(), CurrencyUnit.class);
+
     /**
      * Constructor, used from the {@link javax.money.RoundingContextBuilder}.
      *
@@ -59,7 +63,7 @@ public final class RoundingContext extends AbstractContext implements Serializab
      * @return the rounding id, or null.
      */
     public String getRoundingName() {
-        return getText(KEY_ROUNDING_NAME);
+        return get(ROUNDING_NAME);
     }
 
     /**
@@ -68,7 +72,7 @@ public final class RoundingContext extends AbstractContext implements Serializab
      * @return the target CurrencyUnit, or null.
      */
     public CurrencyUnit getCurrency() {
-        return get(CurrencyUnit.class);
+        return get(CURRENCY);
     }
 
     /**
@@ -63,13 +63,14 @@ public final class RoundingContextBuilder extends AbstractContextBuilder<Roundin
     }
 
     /**
-     * Creates a new instance of {@link javax.money.RoundingContext}.
+     * Creates a new instance of {@link javax.money.RoundingContext}. Equal contexts are shared, see
+     * {@link #intern(AbstractContext)}.
      *
-     * @return a new {@link javax.money.RoundingContext} instance.
+     * @return the {@link javax.money.RoundingContext} instance.
      */
     @Override
     public RoundingContext build() {
-        return new RoundingContext(this);
+        return intern(new RoundingContext(this));
     }
 
     /**
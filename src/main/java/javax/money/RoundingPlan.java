@@ -0,0 +1,260 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+/**
+ * A precompiled, immutable rounding. A plan bundles everything required to round an amount, that is the target
+ * scale, the {@link java.math.RoundingMode}, an optional cash rounding step and an optional
+ * {@link javax.money.CurrencyUnit} the plan is bound to. Once obtained, a plan can be applied repeatedly without
+ * evaluating any {@link javax.money.RoundingQuery} or accessing any {@link javax.money.RoundingContext}
+ * attributes.
+ * <p>
+ * Plans are typically provided by {@link javax.money.spi.RoundingProviderSpi#getRoundingPlan(RoundingQuery)} and
+ * can be accessed using {@link Monetary#getRoundingPlan(RoundingQuery)}. The general lookup path
+ * {@link Monetary#getRounding(RoundingQuery)} remains unchanged, since not all roundings can be expressed as a
+ * plan.
+ * <p>
+ * The cash step is expressed in units of the last digit of the target scale, e.g. a plan with scale {@code 2} and
+ * a cash step of {@code 5} rounds to multiples of {@code 0.05}.
+ * <p>
+ * This class is immutable, thread-safe and serializable, given the bound {@link javax.money.CurrencyUnit} is
+ * serializable.
+ */
+public final class RoundingPlan implements MonetaryRounding, Serializable {
+
+    private static final long serialVersionUID = -4381528217311064923L;
+
+    /**
+     * Attribute key used for the scale attribute.
+     */
+    static final String KEY_SCALE = "scale";
+
+    /**
+     * Attribute key used for the cash step attribute.
+     */
+    static final String KEY_CASH_STEP = "cashStep";
+
+    /**
+     * The currency this plan is bound to, or null.
+     */
+    private final CurrencyUnit currency;
+    /**
+     * The target scale.
+     */
+    private final int scale;
+    /**
+     * The rounding mode.
+     */
+    private final RoundingMode roundingMode;
+    /**
+     * The cash step, in units of the last digit of the target scale.
+     */
+    private final int cashStep;
+    /**
+     * The cash step as {@link BigDecimal}, precomputed.
+     */
+    private final BigDecimal cashStepValue;
+    /**
+     * The rounding context, precomputed.
+     */
+    private final RoundingContext roundingContext;
+
+    /**
+     * Constructor.
+     *
+     * @param roundingContext the rounding context, providing the provider and rounding name and the currency
+     *                        binding, not null.
+     * @param scale           the target scale.
+     * @param roundingMode    the rounding mode, not null.
+     * @param cashStep        the cash step, at least {@code 1}.
+     */
+    private RoundingPlan(RoundingContext roundingContext, int scale, RoundingMode roundingMode, int cashStep) {
+        Objects.requireNonNull(roundingContext, "RoundingContext required.");
+        this.roundingMode = Objects.requireNonNull(roundingMode, "RoundingMode required.");
+        if (cashStep < 1) {
+            throw new IllegalArgumentException("Cash step must be >= 1, was: " + cashStep);
+        }
+        this.currency = roundingContext.getCurrency();
+        this.scale = scale;
+        this.cashStep = cashStep;
+        this.cashStepValue = BigDecimal.valueOf(cashStep);
+        this.roundingContext = roundingContext.toBuilder().set(KEY_SCALE, scale).set(roundingMode)
+                .set(KEY_CASH_STEP, cashStep).build();
+    }
+
+    /**
+     * Creates a new plan, not bound to any currency.
+     *
+     * @param scale        the target scale.
+     * @param roundingMode the rounding mode, not null.
+     * @return the new plan, never null.
+     */
+    public static RoundingPlan of(int scale, RoundingMode roundingMode) {
+        return new RoundingPlan(RoundingContextBuilder.of("default", "default").build(), scale, roundingMode, 1);
+    }
+
+    /**
+     * Creates a new plan, bound to the given currency, using {@link CurrencyUnit#getDefaultFractionDigits()} as
+     * scale.
+     *
+     * @param currency     the currency, not null.
+     * @param roundingMode the rounding mode, not null.
+     * @return the new plan, never null.
+     */
+    public static RoundingPlan of(CurrencyUnit currency, RoundingMode roundingMode) {
+        return of(currency, currency.getDefaultFractionDigits(), roundingMode, 1);
+    }
+
+    /**
+     * Creates a new plan, bound to the given currency.
+     *
+     * @param currency     the currency, not null.
+     * @param scale        the target scale.
+     * @param roundingMode the rounding mode, not null.
+     * @param cashStep     the cash step, in units of the last digit of the target scale, at least {@code 1}.
+     * @return the new plan, never null.
+     */
+    public static RoundingPlan of(CurrencyUnit currency, int scale, RoundingMode roundingMode, int cashStep) {
+        Objects.requireNonNull(currency, "CurrencyUnit required.");
+        return new RoundingPlan(RoundingContextBuilder.of("default", currency.getCurrencyCode())
+                .setCurrency(currency).build(), scale, roundingMode, cashStep);
+    }
+
+    /**
+     * Creates a new plan, using the given {@link RoundingContext} for the provider and rounding name. If the
+     * context declares a currency, the plan is bound to it. This method is useful for
+     * {@link javax.money.spi.RoundingProviderSpi} implementations exposing their roundings as plans.
+     *
+     * @param roundingContext the rounding context, not null.
+     * @param scale           the target scale.
+     * @param roundingMode    the rounding mode, not null.
+     * @param cashStep        the cash step, in units of the last digit of the target scale, at least {@code 1}.
+     * @return the new plan, never null.
+     */
+    public static RoundingPlan of(RoundingContext roundingContext, int scale, RoundingMode roundingMode,
+                                  int cashStep) {
+        return new RoundingPlan(roundingContext, scale, roundingMode, cashStep);
+    }
+
+    /**
+     * Get the currency this plan is bound to.
+     *
+     * @return the currency, or null, if the plan can be applied to amounts of any currency.
+     */
+    public CurrencyUnit getCurrency() {
+        return currency;
+    }
+
+    /**
+     * Get the target scale.
+     *
+     * @return the target scale.
+     */
+    public int getScale() {
+        return scale;
+    }
+
+    /**
+     * Get the rounding mode.
+     *
+     * @return the rounding mode, never null.
+     */
+    public RoundingMode getRoundingMode() {
+        return roundingMode;
+    }
+
+    /**
+     * Get the cash step, in units of the last digit of the target scale. A value of {@code 1} means no cash
+     * rounding is applied.
+     *
+     * @return the cash step, at least {@code 1}.
+     */
+    public int getCashStep() {
+        return cashStep;
+    }
+
+    /**
+     * Access the plan's context, containing the provider and rounding name, the bound currency as well as the
+     * {@code scale}, {@link java.math.RoundingMode} and {@code cashStep} attributes.
+     *
+     * @return the rounding's context, never null.
+     */
+    @Override
+    public RoundingContext getRoundingContext() {
+        return roundingContext;
+    }
+
+    /**
+     * Rounds the given amount. The result is created using the amount's {@link MonetaryAmount#getFactory()}.
+     *
+     * @param amount the amount to be rounded, not null.
+     * @return the rounded amount, never null.
+     * @throws MonetaryException if the plan is bound to a currency different from the amount's currency.
+     */
+    @Override
+    public MonetaryAmount apply(MonetaryAmount amount) {
+        Objects.requireNonNull(amount, "Amount required.");
+        if (currency != null && !currency.getCurrencyCode().equals(amount.getCurrency().getCurrencyCode())) {
+            throw new MonetaryException("Rounding plan for " + currency.getCurrencyCode() +
+                    " cannot be applied to an amount in " + amount.getCurrency().getCurrencyCode());
+        }
+        return amount.getFactory().setNumber(round(amount.getNumber().numberValue(BigDecimal.class))).create();
+    }
+
+    /**
+     * Rounds the given number according to this plan.
+     *
+     * @param number the number, not null.
+     * @return the rounded number, with a scale of {@link #getScale()}.
+     */
+    public BigDecimal round(BigDecimal number) {
+        if (cashStep == 1) {
+            return number.setScale(scale, roundingMode);
+        }
+        return number.scaleByPowerOfTen(scale).divide(cashStepValue, 0, roundingMode).multiply(cashStepValue)
+                .scaleByPowerOfTen(-scale).setScale(scale);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o instanceof RoundingPlan) {
+            RoundingPlan other = (RoundingPlan) o;
+            return scale == other.scale && cashStep == other.cashStep && roundingMode == other.roundingMode &&
+                    Objects.equals(roundingContext, other.roundingContext);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(scale, roundingMode, cashStep, roundingContext);
+    }
+
+    @Override
+    public String toString() {
+        return "RoundingPlan [currency=" + (currency == null ? "any" : currency.getCurrencyCode()) + ", scale=" +
+                scale + ", roundingMode=" + roundingMode + ", cashStep=" + cashStep + ']';
+    }
+}
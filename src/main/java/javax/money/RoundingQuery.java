@@ -16,6 +16,8 @@
  */
 package javax.money;
 
+import java.util.concurrent.Executor;
+
 /**
  * Query for accessing instances of {@link javax.money.MonetaryRounding}. In general it is determined by the
  * implementation, what roundings are provided. Nevertheless the following queries must be supported:
@@ -46,6 +48,27 @@ public final class RoundingQuery extends AbstractQuery implements CurrencySuppli
      */
     static final String KEY_QUERY_SCALE = "Query.scale";
 
+    /**
+     * Attribute key used for the parallel evaluation attribute.
+     */
+    static final String KEY_QUERY_PARALLEL = "Query.parallel";
+
+    /**
+     * Attribute key used for the executor of a parallel evaluation.
+     */
+    static final String KEY_QUERY_EXECUTOR = "Query.executor";
+
+    /**
+     * The typed key of the currency attribute, e.g. for use with {@link QueryTemplate}.
+     */
+    public static final AttributeKey<CurrencyUnit> CURRENCY =
+            AttributeKey.of(CurrencyUnit.class.getName(), CurrencyUnit.class);
+
+    private static final AttributeKey<String> ROUNDING_NAME = AttributeKey.of(KEY_QUERY_ROUNDING_NAME, String.class);
+    private static final AttributeKey<Integer> SCALE = AttributeKey.of(KEY_QUERY_SCALE, Integer.class);
+    private static final AttributeKey<Boolean> PARALLEL = AttributeKey.of(KEY_QUERY_PARALLEL, Boolean.class);
+    private static final AttributeKey<Executor> EXECUTOR = AttributeKey.of(KEY_QUERY_EXECUTOR, Executor.class);
+
     /**
      * Constructor, used from the {@link javax.money.RoundingQueryBuilder}.
      *
@@ -55,6 +78,22 @@ public final class RoundingQuery extends AbstractQuery implements CurrencySuppli
         super(builder);
     }
 
+    /**
+     * Copy constructor, used by {@link #withAttributes(String[], Object[])}.
+     *
+     * @param query         the query copied, not null.
+     * @param changedKeys   the keys of the changed attributes, sorted, not null.
+     * @param changedValues the new attribute values, in the order of the keys, not null.
+     */
+    private RoundingQuery(RoundingQuery query, String[] changedKeys, Object[] changedValues) {
+        super(query, changedKeys, changedValues);
+    }
+
+    @Override
+    protected RoundingQuery withAttributes(String[] changedKeys, Object[] changedValues) {
+        return new RoundingQuery(this, changedKeys, changedValues);
+    }
+
     /**
      * Gets the target rounding name. This method allows to
      * access the {@link javax.money.MonetaryRounding} instances by passing a name, which most of the time
@@ -65,7 +104,7 @@ public final class RoundingQuery extends AbstractQuery implements CurrencySuppli
      * @return the rounding id  or null.
      */
     public String getRoundingName() {
-        return getText(KEY_QUERY_ROUNDING_NAME);
+        return get(ROUNDING_NAME);
     }
 
     /**
@@ -75,7 +114,29 @@ public final class RoundingQuery extends AbstractQuery implements CurrencySuppli
      * @return the target scale or null.
      */
     public Integer getScale() {
-        return getInt(KEY_QUERY_SCALE);
+        return get(SCALE);
+    }
+
+    /**
+     * Checks if the rounding providers should be evaluated concurrently. This can be useful, when expensive
+     * providers are part of the provider chain, e.g. rule based roundings backed by a rules file. The ordering of
+     * the provider chain is still respected when selecting the result.
+     *
+     * @return true, if the providers should be evaluated concurrently, default is false.
+     */
+    public boolean isParallelEvaluation() {
+        Boolean val = get(PARALLEL);
+        return val != null && val;
+    }
+
+    /**
+     * Gets the {@link Executor} running the providers, if {@link #isParallelEvaluation()} is set. If not set, the
+     * implementation uses its own executor.
+     *
+     * @return the executor, or null.
+     */
+    public Executor getExecutor() {
+        return get(EXECUTOR);
     }
 
     /**
@@ -88,7 +149,7 @@ public final class RoundingQuery extends AbstractQuery implements CurrencySuppli
      */
     @Override
 	public CurrencyUnit getCurrency() {
-        return get(CurrencyUnit.class);
+        return get(CURRENCY);
     }
 
     /**
@@ -17,6 +17,7 @@
 package javax.money;
 
 import java.util.Objects;
+import java.util.concurrent.Executor;
 
 
 /**
@@ -71,6 +72,33 @@ public final class RoundingQueryBuilder extends AbstractQueryBuilder<RoundingQue
         return this;
     }
 
+    /**
+     * Sets whether the rounding providers should be evaluated concurrently. This is useful, if expensive
+     * providers are part of the provider chain. The ordering of the provider chain is still respected when
+     * selecting the result.
+     *
+     * @param parallelEvaluation true, for evaluating the providers concurrently.
+     * @return this instance for chaining
+     */
+    public RoundingQueryBuilder setParallelEvaluation(boolean parallelEvaluation) {
+        set(RoundingQuery.KEY_QUERY_PARALLEL, parallelEvaluation);
+        return this;
+    }
+
+    /**
+     * Sets the {@link Executor} running the providers, if parallel evaluation is enabled. Providers reading
+     * resources or performing other blocking work should be run by an executor dedicated to this kind of work. If
+     * not set, the implementation uses its own executor.
+     *
+     * @param executor the executor, not null.
+     * @return this instance for chaining
+     */
+    public RoundingQueryBuilder setExecutor(Executor executor) {
+        Objects.requireNonNull(executor);
+        set(RoundingQuery.KEY_QUERY_EXECUTOR, executor);
+        return this;
+    }
+
     /**
      * Sets the target {@link CurrencyUnit}, which defines a rounding targeting a concrete {@link
      * CurrencyUnit}.
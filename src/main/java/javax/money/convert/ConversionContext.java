@@ -17,6 +17,7 @@
 package javax.money.convert;
 
 import javax.money.AbstractContext;
+import javax.money.AttributeKey;
 
 /**
  * This class models a context for which a {@link ExchangeRate} is valid. It allows to define
@@ -36,6 +37,8 @@ public final class ConversionContext extends AbstractContext {
 
     private static final long serialVersionUID = 2386546659786888877L;
 
+    private static final AttributeKey<RateType> RATE_TYPE = AttributeKey.of(RateType.class.getName(), RateType.class);
+
     /**
      * ConversionContext that queries any conversion available.
      */
@@ -77,7 +80,7 @@ public final class ConversionContext extends AbstractContext {
      * @return the deferred flag, or {code null}.
      */
     public RateType getRateType() {
-        return get(RateType.class);
+        return get(RATE_TYPE);
     }
 
 
@@ -89,7 +92,7 @@ public final class ConversionContext extends AbstractContext {
      * @return the provider, or {code null}.
      */
     public String getProviderName() {
-        return getText("provider");
+        return super.getProviderName();
     }
 
     /**
@@ -65,12 +65,12 @@ public final class ConversionContextBuilder extends AbstractContextBuilder<Conve
 
     /**
      * Creates a new {@link ConversionContext} with the data from this
-     * Builder instance.
+     * Builder instance. Equal contexts are shared, see {@link #intern(javax.money.AbstractContext)}.
      *
-     * @return a new {@link ConversionContext}. never {@code null}.
+     * @return the {@link ConversionContext}, never {@code null}.
      */
     public ConversionContext build() {
-        return new ConversionContext(this);
+        return intern(new ConversionContext(this));
     }
 
     /**
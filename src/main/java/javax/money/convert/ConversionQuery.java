@@ -17,6 +17,7 @@
 package javax.money.convert;
 
 import javax.money.AbstractQuery;
+import javax.money.AttributeKey;
 import javax.money.CurrencySupplier;
 import javax.money.CurrencyUnit;
 import java.util.*;
@@ -50,6 +51,20 @@ public final class ConversionQuery extends AbstractQuery implements CurrencySupp
      */
     static final String KEY_RATE_TYPES = "Query.rateTypes";
 
+    /**
+     * The typed key of the base currency attribute, e.g. for use with {@link javax.money.QueryTemplate}.
+     */
+    public static final AttributeKey<CurrencyUnit> BASE_CURRENCY =
+            AttributeKey.of(KEY_BASE_CURRENCY, CurrencyUnit.class);
+
+    /**
+     * The typed key of the term currency attribute, e.g. for use with {@link javax.money.QueryTemplate}.
+     */
+    public static final AttributeKey<CurrencyUnit> TERM_CURRENCY =
+            AttributeKey.of(KEY_TERM_CURRENCY, CurrencyUnit.class);
+    @SuppressWarnings("rawtypes")
+    private static final AttributeKey<Set> RATE_TYPES = AttributeKey.of(KEY_RATE_TYPES, Set.class);
+
     /**
      * Constructor, used from the ConversionQueryBuilder.
      *
@@ -59,6 +74,22 @@ public final class ConversionQuery extends AbstractQuery implements CurrencySupp
         super(builder);
     }
 
+    /**
+     * Copy constructor, used by {@link #withAttributes(String[], Object[])}.
+     *
+     * @param query         the query copied, not null.
+     * @param changedKeys   the keys of the changed attributes, sorted, not null.
+     * @param changedValues the new attribute values, in the order of the keys, not null.
+     */
+    private ConversionQuery(ConversionQuery query, String[] changedKeys, Object[] changedValues) {
+        super(query, changedKeys, changedValues);
+    }
+
+    @Override
+    protected ConversionQuery withAttributes(String[] changedKeys, Object[] changedValues) {
+        return new ConversionQuery(this, changedKeys, changedValues);
+    }
+
     /**
      * Get the rate types set.
      *
@@ -66,7 +97,7 @@ public final class ConversionQuery extends AbstractQuery implements CurrencySupp
      */
     @SuppressWarnings("unchecked")
     public Set<RateType> getRateTypes() {
-        Set<RateType> result = get(KEY_RATE_TYPES, Set.class);
+        Set<RateType> result = get(RATE_TYPES);
         if (result == null) {
             return Collections.emptySet();
         }
@@ -84,7 +115,7 @@ public final class ConversionQuery extends AbstractQuery implements CurrencySupp
      * @return the base CurrencyUnit, or null.
      */
     public CurrencyUnit getBaseCurrency() {
-        return get(KEY_BASE_CURRENCY, CurrencyUnit.class);
+        return get(BASE_CURRENCY);
     }
 
     /**
@@ -94,7 +125,7 @@ public final class ConversionQuery extends AbstractQuery implements CurrencySupp
      * @return the terminating CurrencyUnit, or null.
      */
     public CurrencyUnit getCurrency() {
-        return get(KEY_TERM_CURRENCY, CurrencyUnit.class);
+        return get(TERM_CURRENCY);
     }
 
     /**
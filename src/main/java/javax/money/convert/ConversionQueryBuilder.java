@@ -20,6 +20,7 @@ import javax.money.AbstractQueryBuilder;
 import javax.money.CurrencyUnit;
 import javax.money.Monetary;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -44,7 +45,7 @@ public final class ConversionQueryBuilder extends AbstractQueryBuilder<Conversio
      * @return the query for chaining.
      */
     public ConversionQueryBuilder setRateTypes(RateType... rateTypes) {
-        return set(ConversionQuery.KEY_RATE_TYPES, new HashSet<>(Arrays.asList(rateTypes)));
+        return setRateTypes(new HashSet<>(Arrays.asList(rateTypes)));
     }
 
     /**
@@ -55,7 +56,7 @@ public final class ConversionQueryBuilder extends AbstractQueryBuilder<Conversio
      * @return the query for chaining.
      */
     public ConversionQueryBuilder setRateTypes(Set<RateType> rateTypes) {
-        return set(ConversionQuery.KEY_RATE_TYPES, rateTypes);
+        return set(ConversionQuery.KEY_RATE_TYPES, Collections.unmodifiableSet(new HashSet<>(rateTypes)));
     }
 
     /**
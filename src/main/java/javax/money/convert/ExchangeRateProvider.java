@@ -17,6 +17,8 @@
 package javax.money.convert;
 
 import javax.money.*;
+import javax.money.spi.MonetaryEvent;
+import javax.money.spi.MonetaryEvents;
 import java.util.Objects;
 
 /**
@@ -116,7 +118,16 @@ public interface ExchangeRateProvider{
     default ExchangeRate getExchangeRate(CurrencyUnit base, CurrencyUnit term){
         Objects.requireNonNull(base, "Base Currency is null");
         Objects.requireNonNull(term, "Term Currency is null");
-        return getExchangeRate(ConversionQueryBuilder.of().setBaseCurrency(base).setTermCurrency(term).build());
+        MonetaryEvent event = MonetaryEvents.begin(MonetaryEvents.EXCHANGE_RATE);
+        try{
+            return getExchangeRate(ConversionQueryBuilder.of().setBaseCurrency(base).setTermCurrency(term).build());
+        }
+        finally{
+            if(event.isRecording()){
+                event.set(MonetaryEvents.ATTR_BASE_CURRENCY, base).set(MonetaryEvents.ATTR_CURRENCY, term)
+                        .set(MonetaryEvents.ATTR_PROVIDER, getContext().getProviderName()).end();
+            }
+        }
     }
 
     /**
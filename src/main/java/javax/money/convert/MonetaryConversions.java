@@ -30,6 +30,8 @@ import javax.money.CurrencyUnit;
 import javax.money.Monetary;
 import javax.money.MonetaryException;
 import javax.money.spi.Bootstrap;
+import javax.money.spi.MonetaryEvent;
+import javax.money.spi.MonetaryEvents;
 import javax.money.spi.MonetaryConversionsSingletonSpi;
 
 /**
@@ -88,11 +90,11 @@ public final class MonetaryConversions{
         Objects.requireNonNull(providers);
         Objects.requireNonNull(termCurrency);
         if(providers.length == 0){
-            return getMonetaryConversionsSpi().getConversion(
+            return getConversion(
                     ConversionQueryBuilder.of().setTermCurrency(termCurrency).setProviderNames(getDefaultConversionProviderChain())
                             .build());
         }
-        return getMonetaryConversionsSpi().getConversion(
+        return getConversion(
                 ConversionQueryBuilder.of().setTermCurrency(termCurrency).setProviderNames(providers).build());
     }
 
@@ -120,7 +122,13 @@ public final class MonetaryConversions{
      * @throws IllegalArgumentException if the query defines {@link ExchangeRateProvider}s that are not available.
      */
     public static CurrencyConversion getConversion(ConversionQuery conversionQuery){
-        return getMonetaryConversionsSpi().getConversion(conversionQuery);
+        MonetaryEvent event = MonetaryEvents.begin(MonetaryEvents.CONVERSION_LOOKUP);
+        try{
+            return getMonetaryConversionsSpi().getConversion(conversionQuery);
+        }
+        finally{
+            event.set(MonetaryEvents.ATTR_QUERY, conversionQuery).end();
+        }
     }
 
     /**
@@ -52,6 +52,22 @@ public final class AmountFormatQuery extends AbstractQuery {
         super(builder);
     }
 
+    /**
+     * Copy constructor, used by {@link #withAttributes(String[], Object[])}.
+     *
+     * @param query         the query copied, not null.
+     * @param changedKeys   the keys of the changed attributes, sorted, not null.
+     * @param changedValues the new attribute values, in the order of the keys, not null.
+     */
+    private AmountFormatQuery(AmountFormatQuery query, String[] changedKeys, Object[] changedValues) {
+        super(query, changedKeys, changedValues);
+    }
+
+    @Override
+    protected AmountFormatQuery withAttributes(String[] changedKeys, Object[] changedValues) {
+        return new AmountFormatQuery(this, changedKeys, changedValues);
+    }
+
     /**
      * Gets a style's id.
      *
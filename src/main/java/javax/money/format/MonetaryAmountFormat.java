@@ -19,6 +19,8 @@ package javax.money.format;
 import javax.money.MonetaryAmount;
 import javax.money.MonetaryContext;
 import javax.money.MonetaryQuery;
+import javax.money.spi.MonetaryEvent;
+import javax.money.spi.MonetaryEvents;
 import java.io.IOException;
 
 /**
@@ -107,6 +109,7 @@ public interface MonetaryAmountFormat extends MonetaryQuery<String>{
 	 * @throws IllegalStateException if an IO error occurs.
      */
     default String format(MonetaryAmount amount){
+        MonetaryEvent event = MonetaryEvents.begin(MonetaryEvents.FORMAT);
         StringBuilder b = new StringBuilder();
         try{
             print(b, amount);
@@ -114,6 +117,12 @@ public interface MonetaryAmountFormat extends MonetaryQuery<String>{
         catch(IOException e){
             throw new IllegalStateException("Formatting error.", e);
         }
+        finally{
+            if(event.isRecording()){
+                event.set(MonetaryEvents.ATTR_CURRENCY, amount.getCurrency())
+                        .set(MonetaryEvents.ATTR_PROVIDER, getContext().getProviderName()).end();
+            }
+        }
         return b.toString();
     }
 
@@ -144,6 +153,10 @@ public interface MonetaryAmountFormat extends MonetaryQuery<String>{
      * {@link javax.money.Monetary#getDefaultAmountType()} and will use the result returned
      * to access a corresponding {@link javax.money.MonetaryAmountFactory} to of the instance
      * returned.
+     * <p>
+     * Implementations should record the {@link MonetaryEvents#PARSE} event, setting the
+     * {@link MonetaryEvents#ATTR_PROVIDER provider} attribute, in the same way as
+     * {@link #format(MonetaryAmount)} records the {@link MonetaryEvents#FORMAT} event.
      *
      * @param text the text to parse, not null
      * @return the parsed value, never {@code null}
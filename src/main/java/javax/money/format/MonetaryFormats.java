@@ -19,9 +19,11 @@ package javax.money.format;
 import javax.money.MonetaryException;
 import javax.money.spi.Bootstrap;
 import javax.money.spi.MonetaryAmountFormatProviderSpi;
+import javax.money.spi.MonetaryEvent;
+import javax.money.spi.MonetaryEvents;
 import javax.money.spi.MonetaryFormatsSingletonSpi;
+import javax.money.spi.ProviderResolver;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -115,9 +117,14 @@ public final class MonetaryFormats {
      *                           corresponding {@link MonetaryAmountFormat} instance.
      */
     public static MonetaryAmountFormat getAmountFormat(AmountFormatQuery formatQuery) {
-        return Optional.ofNullable(getMonetaryFormatsSpi()).orElseThrow(() -> new MonetaryException(
-                "No MonetaryFormatsSingletonSpi " + "loaded, query functionality is not available."))
-                .getAmountFormat(formatQuery);
+        MonetaryEvent event = MonetaryEvents.begin(MonetaryEvents.FORMAT_LOOKUP);
+        try {
+            return Optional.ofNullable(getMonetaryFormatsSpi()).orElseThrow(() -> new MonetaryException(
+                    "No MonetaryFormatsSingletonSpi " + "loaded, query functionality is not available."))
+                    .getAmountFormat(formatQuery);
+        } finally {
+            event.set(MonetaryEvents.ATTR_QUERY, formatQuery).end();
+        }
     }
 
     /**
@@ -226,7 +233,7 @@ public final class MonetaryFormats {
 
         @Override
         public Set<String> getProviderNames() {
-            return getSpisAsMap().keySet();
+            return new HashSet<>(getSpisAsMap().keySet());
         }
 
         /**
@@ -259,17 +266,8 @@ public final class MonetaryFormats {
         }
 
         private Map<String, MonetaryAmountFormatProviderSpi> getSpisAsMap() {
-            Map<String, MonetaryAmountFormatProviderSpi> spis = new ConcurrentHashMap<>();
-            for (MonetaryAmountFormatProviderSpi spi : Bootstrap.getServices(MonetaryAmountFormatProviderSpi.class)) {
-                if (spi.getProviderName() == null) {
-                    Logger.getLogger(MonetaryFormats.class.getName()).warning("MonetaryAmountFormatProviderSpi " +
-                            "returns null for " +
-                            "getProviderName: " +
-                            spi.getClass().getName());
-                }
-                spis.put(spi.getProviderName(), spi);
-            }
-            return spis;
+            return ProviderResolver.getProviderMap(MonetaryAmountFormatProviderSpi.class,
+                    MonetaryAmountFormatProviderSpi::getProviderName);
         }
 
         private Collection<MonetaryAmountFormatProviderSpi> getSpis(String... providerNames) {
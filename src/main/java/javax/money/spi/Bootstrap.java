@@ -70,12 +70,16 @@ public final class Bootstrap {
         synchronized (LOCK) {
             if (Objects.isNull(Bootstrap.serviceProviderDelegate)) {
                 Bootstrap.serviceProviderDelegate = serviceProvider;
+                MonetaryEvents.reset();
+                ProviderResolver.reset();
                 Logger.getLogger(Bootstrap.class.getName())
                         .info("Money Bootstrap: new ServiceProvider set: " + serviceProvider.getClass().getName());
                 return null;
             } else {
                 ServiceProvider prevProvider = Bootstrap.serviceProviderDelegate;
                 Bootstrap.serviceProviderDelegate = serviceProvider;
+                MonetaryEvents.reset();
+                ProviderResolver.reset();
                 Logger.getLogger(Bootstrap.class.getName())
                         .warning("Money Bootstrap: ServiceProvider replaced: " + serviceProvider.getClass().getName());
                 return prevProvider;
@@ -107,7 +111,12 @@ public final class Bootstrap {
      * @see ServiceProvider#getServices(Class)
      */
     public static <T> Collection<T> getServices(Class<T> serviceType) {
-        return getServiceProvider().getServices(serviceType);
+        MonetaryEvent event = MonetaryEvents.begin(MonetaryEvents.BOOTSTRAP_SERVICES);
+        try {
+            return getServiceProvider().getServices(serviceType);
+        } finally {
+            event.set(MonetaryEvents.ATTR_SERVICE_TYPE, serviceType).end();
+        }
     }
 
     /**
@@ -118,11 +127,16 @@ public final class Bootstrap {
      * @see ServiceProvider#getServices(Class)
      */
     public static <T> T getService(Class<T> serviceType) {
-        List<T> services = getServiceProvider().getServices(serviceType);
-		return services
-				.stream()
-                .findFirst()
-                .orElse(null);
+        MonetaryEvent event = MonetaryEvents.begin(MonetaryEvents.BOOTSTRAP_SERVICES);
+        try {
+            List<T> services = getServiceProvider().getServices(serviceType);
+            return services
+                    .stream()
+                    .findFirst()
+                    .orElse(null);
+        } finally {
+            event.set(MonetaryEvents.ATTR_SERVICE_TYPE, serviceType).end();
+        }
     }
 
 }
@@ -69,6 +69,25 @@ public interface MonetaryAmountsSingletonQuerySpi {
         return !getAmountFactories(query).isEmpty();
     }
 
+    /**
+     * Checks if the query only selects the {@link javax.money.MonetaryAmount} implementation type, meaning the
+     * factory returned by {@link #getAmountFactory(MonetaryAmountFactoryQuery)} is not configured by the query in
+     * any other way than a factory returned by
+     * {@link MonetaryAmountsSingletonSpi#getAmountFactory(Class)} for the type selected. If so,
+     * {@link javax.money.Monetary#getAmountFactory(MonetaryAmountFactoryQuery)} may cache the type selected and
+     * create further factories for equal queries without evaluating them again. This method is only called for
+     * queries containing nothing else than the precision, fixed scale, max scale, target type and provider names.
+     * <p>
+     * By default all such queries are declared as type selection, implementations configuring the factories
+     * returned based on these attributes must return false.
+     *
+     * @param query the factory query, not null.
+     * @return true, if the query only selects the amount type.
+     */
+    default boolean isAmountTypeSelection(MonetaryAmountFactoryQuery query) {
+        return true;
+    }
+
     /**
      * Executes the query and returns the {@link javax.money.MonetaryAmount} implementation type found,
      * if there is only one type.
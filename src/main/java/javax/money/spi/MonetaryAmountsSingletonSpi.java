@@ -17,7 +17,9 @@
 package javax.money.spi;
 
 import javax.money.MonetaryAmount;
+import javax.money.MonetaryAmountCreator;
 import javax.money.MonetaryAmountFactory;
+import javax.money.MonetaryContext;
 import javax.money.MonetaryException;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -89,4 +91,24 @@ public interface MonetaryAmountsSingletonSpi{
         return factories;
     }
 
-}
\ No newline at end of file
+    /**
+     * Access a thread-safe {@link javax.money.MonetaryAmountCreator} for the given {@code amountType}.
+     * By default the creator pools the factories obtained from {@link #getAmountFactory(Class)}, a new factory is
+     * only obtained, when all pooled factories are used by other threads.
+     * Implementations may override this method to provide a more efficient creator.
+     *
+     * @param amountType the {@link MonetaryAmount} implementation type, not {@code null}.
+     * @param context    the {@link MonetaryContext} to be used, or {@code null} for the factory's default context.
+     * @return the {@link javax.money.MonetaryAmountCreator}, or {@code null}, if no
+     * {@link javax.money.MonetaryAmountFactory} is available for the given type.
+     */
+    default <T extends MonetaryAmount> MonetaryAmountCreator<T> getAmountCreator(Class<T> amountType,
+                                                                               MonetaryContext context){
+        MonetaryAmountFactory<T> factory = getAmountFactory(amountType);
+        if(factory==null){
+            return null;
+        }
+        return MonetaryAmountCreator.of(factory, () -> getAmountFactory(amountType), context);
+    }
+
+}
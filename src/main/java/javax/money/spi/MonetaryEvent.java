@@ -0,0 +1,53 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money.spi;
+
+/**
+ * An event started by a {@link MonetaryEventSpi}. The event's duration is the time between
+ * {@link MonetaryEventSpi#begin(String)} and {@link #end()}. Attributes describing the event, e.g. the currency code
+ * or the provider name, can be added by calling {@link #set(String, Object)}, the attribute names used by the
+ * money API are defined as constants in {@link MonetaryEvents}.
+ * <p>
+ * Instances of this interface are used by one thread only and are not required to be thread-safe.
+ */
+public interface MonetaryEvent {
+
+    /**
+     * Sets an attribute on this event.
+     *
+     * @param attribute the attribute name, not {@code null}.
+     * @param value     the attribute value, may be {@code null}.
+     * @return this event, for chaining.
+     */
+    MonetaryEvent set(String attribute, Object value);
+
+    /**
+     * Checks if this event is actually recorded. Callers can use this method to avoid evaluating expensive
+     * attribute values for events not being recorded.
+     *
+     * @return true, if this event is recorded.
+     */
+    default boolean isRecording() {
+        return true;
+    }
+
+    /**
+     * Ends and records this event. Calling this method more than once has no effect.
+     */
+    void end();
+
+}
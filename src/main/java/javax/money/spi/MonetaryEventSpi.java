@@ -0,0 +1,55 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money.spi;
+
+/**
+ * This SPI allows to record the lookups and operations performed by the money API singletons, such as
+ * {@link javax.money.spi.Bootstrap} service resolution, currency and rounding lookups, exchange rate access and
+ * formatting. It is designed to map directly to event based profilers, such as the JDK Flight Recorder: an
+ * implementation typically creates a {@code jdk.jfr.Event} in {@link #begin(String)}, maps the attributes set on the
+ * returned {@link MonetaryEvent} to event fields and commits the event in {@link MonetaryEvent#end()}.
+ * <p>
+ * Instances of this interface are registered using the {@link java.util.ServiceLoader} mechanism of the current
+ * {@link javax.money.spi.ServiceProvider}. If no instances are registered, or {@link #isEnabled(String)} returns
+ * false, no events are created and no measurements are taken.
+ * <p>
+ * Implementations of this interface must be thread-safe.
+ *
+ * @see MonetaryEvents
+ */
+public interface MonetaryEventSpi {
+
+    /**
+     * Checks if events with the given name should be recorded. This method is evaluated each time an event is
+     * about to be started, so implementations should return quickly, e.g. by reading a (volatile) flag.
+     *
+     * @param eventName the event name, as defined by the constants in {@link MonetaryEvents}, not {@code null}.
+     * @return true, if the event should be recorded.
+     */
+    default boolean isEnabled(String eventName) {
+        return true;
+    }
+
+    /**
+     * Starts a new event.
+     *
+     * @param eventName the event name, as defined by the constants in {@link MonetaryEvents}, not {@code null}.
+     * @return the started event, never {@code null}.
+     */
+    MonetaryEvent begin(String eventName);
+
+}
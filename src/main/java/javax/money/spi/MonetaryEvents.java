@@ -0,0 +1,211 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money.spi;
+
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Singleton accessor used by the money API for recording events using the registered {@link MonetaryEventSpi}
+ * instances. This class also defines the names of the events and attributes recorded by the money API.
+ * <p>
+ * The registered {@link MonetaryEventSpi} instances are resolved once and reloaded only, when the
+ * {@link javax.money.spi.ServiceProvider} is replaced using {@link Bootstrap#init(ServiceProvider)}. If no instances
+ * are registered, {@link #begin(String)} returns a shared no-op event, so recording events does neither allocate
+ * any memory nor take any measurements.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class MonetaryEvents {
+
+    /**
+     * Event recorded when services are resolved using {@link Bootstrap}.
+     */
+    public static final String BOOTSTRAP_SERVICES = "Bootstrap.getServices";
+    /**
+     * Event recorded for currency lookups using {@link javax.money.Monetary}.
+     */
+    public static final String CURRENCY_LOOKUP = "Monetary.getCurrency";
+    /**
+     * Event recorded for rounding lookups using {@link javax.money.Monetary}.
+     */
+    public static final String ROUNDING_LOOKUP = "Monetary.getRounding";
+    /**
+     * Event recorded for conversion lookups using {@link javax.money.convert.MonetaryConversions}.
+     */
+    public static final String CONVERSION_LOOKUP = "MonetaryConversions.getConversion";
+    /**
+     * Event recorded for exchange rates accessed using
+     * {@link javax.money.convert.ExchangeRateProvider#getExchangeRate(javax.money.CurrencyUnit,
+     * javax.money.CurrencyUnit)}.
+     */
+    public static final String EXCHANGE_RATE = "ExchangeRateProvider.getExchangeRate";
+    /**
+     * Event recorded for format lookups using {@link javax.money.format.MonetaryFormats}.
+     */
+    public static final String FORMAT_LOOKUP = "MonetaryFormats.getAmountFormat";
+    /**
+     * Event recorded for amounts formatted using
+     * {@link javax.money.format.MonetaryAmountFormat#format(javax.money.MonetaryAmount)}.
+     */
+    public static final String FORMAT = "MonetaryAmountFormat.format";
+    /**
+     * Event recorded for amounts parsed using {@link javax.money.format.MonetaryAmountFormat#parse(CharSequence)}.
+     * Since parsing is implemented by the format providers, this event is recorded by the provider's
+     * implementation.
+     */
+    public static final String PARSE = "MonetaryAmountFormat.parse";
+
+    /**
+     * Attribute containing the service type resolved, as {@link Class}.
+     */
+    public static final String ATTR_SERVICE_TYPE = "serviceType";
+    /**
+     * Attribute containing the currency (code, {@link javax.money.CurrencyUnit} or {@link java.util.Locale}) or the
+     * term currency of a conversion.
+     */
+    public static final String ATTR_CURRENCY = "currency";
+    /**
+     * Attribute containing the base currency of a conversion.
+     */
+    public static final String ATTR_BASE_CURRENCY = "baseCurrency";
+    /**
+     * Attribute containing the provider name, or the provider names requested.
+     */
+    public static final String ATTR_PROVIDER = "provider";
+    /**
+     * Attribute containing the query evaluated.
+     */
+    public static final String ATTR_QUERY = "query";
+
+    /**
+     * The shared event returned, when no event is recorded.
+     */
+    private static final MonetaryEvent NOOP = new MonetaryEvent() {
+        @Override
+        public MonetaryEvent set(String attribute, Object value) {
+            return this;
+        }
+
+        @Override
+        public boolean isRecording() {
+            return false;
+        }
+
+        @Override
+        public void end() {
+        }
+    };
+
+    /**
+     * The currently registered instances, or null, if not yet resolved.
+     */
+    private static volatile MonetaryEventSpi[] eventSpis;
+
+    /**
+     * Private singletons constructor.
+     */
+    private MonetaryEvents() {
+    }
+
+    /**
+     * Starts a new event, if any registered {@link MonetaryEventSpi} has the event enabled.
+     *
+     * @param eventName the event name, not {@code null}.
+     * @return the event started, or a shared no-op instance, never {@code null}.
+     */
+    public static MonetaryEvent begin(String eventName) {
+        MonetaryEventSpi[] spis = getEventSpis();
+        if (spis.length == 0) {
+            return NOOP;
+        }
+        if (spis.length == 1) {
+            return spis[0].isEnabled(eventName) ? spis[0].begin(eventName) : NOOP;
+        }
+        return new CompositeEvent(spis, eventName);
+    }
+
+    /**
+     * Checks if any {@link MonetaryEventSpi} is registered.
+     *
+     * @return true, if events may be recorded.
+     */
+    public static boolean isEnabled() {
+        return getEventSpis().length > 0;
+    }
+
+    /**
+     * Resets the registered instances, so they are resolved again on next access.
+     */
+    static void reset() {
+        eventSpis = null;
+    }
+
+    /**
+     * Resolves the registered {@link MonetaryEventSpi} instances. The {@link ServiceProvider} is accessed directly,
+     * so resolving the instances does not record any events itself.
+     *
+     * @return the registered instances, never null.
+     */
+    private static MonetaryEventSpi[] getEventSpis() {
+        MonetaryEventSpi[] spis = eventSpis;
+        if (spis == null) {
+            try {
+                List<MonetaryEventSpi> services = Bootstrap.getServiceProvider().getServices(MonetaryEventSpi.class);
+                spis = services.toArray(new MonetaryEventSpi[0]);
+            } catch (Exception e) {
+                Logger.getLogger(MonetaryEvents.class.getName())
+                        .log(Level.WARNING, "Failed to load MonetaryEventSpi instances, no events are recorded.", e);
+                spis = new MonetaryEventSpi[0];
+            }
+            eventSpis = spis;
+        }
+        return spis;
+    }
+
+    /**
+     * Event dispatching to the events of multiple {@link MonetaryEventSpi} instances.
+     */
+    private static final class CompositeEvent implements MonetaryEvent {
+
+        private final MonetaryEvent[] events;
+
+        CompositeEvent(MonetaryEventSpi[] spis, String eventName) {
+            this.events = new MonetaryEvent[spis.length];
+            for (int i = 0; i < spis.length; i++) {
+                events[i] = spis[i].isEnabled(eventName) ? spis[i].begin(eventName) : NOOP;
+            }
+        }
+
+        @Override
+        public MonetaryEvent set(String attribute, Object value) {
+            for (MonetaryEvent event : events) {
+                event.set(attribute, value);
+            }
+            return this;
+        }
+
+        @Override
+        public void end() {
+            for (MonetaryEvent event : events) {
+                event.end();
+            }
+        }
+    }
+
+}
@@ -133,6 +133,18 @@ public interface MonetaryRoundingsSingletonSpi {
         return roundings.iterator().next();
     }
 
+    /**
+     * Query a precompiled {@link javax.money.RoundingPlan} with the given query. If multiple providers can
+     * provide a plan, the first one in the provider chain is selected.
+     *
+     * @param query the rounding query, not null.
+     * @return the rounding plan found, or null, if no provider supports plans for the query.
+     * @see javax.money.spi.RoundingProviderSpi#getRoundingPlan(RoundingQuery)
+     */
+    default RoundingPlan getRoundingPlan(RoundingQuery query) {
+        return null;
+    }
+
     /**
      * Checks if any {@link javax.money.MonetaryRounding} is matching the given query.
      *
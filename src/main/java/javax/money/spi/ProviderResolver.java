@@ -0,0 +1,264 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money.spi;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Shared resolver turning provider names, as defined by {@link javax.money.AbstractQuery#getProviderNames()}, into
+ * the provider instances registered with the {@link Bootstrap}. Singleton SPIs use this class instead of scanning
+ * all registered services on each call.
+ * <p>
+ * Resolved provider chains are cached per service type and list of provider names. A cached chain is reused as long
+ * as the {@link ServiceProvider} returns the same collection of services for its type, all chains are discarded,
+ * when the {@link ServiceProvider} is replaced using {@link Bootstrap#init(ServiceProvider)}. The name function
+ * passed must therefore always return the same name for a provider instance. The singleton services returned by
+ * {@link #getService(Class)} are cached until the {@link ServiceProvider} is replaced as well.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class ProviderResolver {
+
+    /**
+     * The maximal number of provider chains cached, the least recently used chain is evicted when full.
+     */
+    static final int MAX_CHAINS = 256;
+
+    /**
+     * The resolved provider chains and provider maps, by service type and provider names, in access order. Access
+     * must be synchronized on the map.
+     */
+    private static final Map<ChainKey, Chain> CHAINS = new LinkedHashMap<ChainKey, Chain>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ChainKey, Chain> eldest) {
+            return size() > MAX_CHAINS;
+        }
+    };
+
+    /**
+     * The registered services by service type, as returned by {@link #getServices(Class)}.
+     */
+    private static final Map<Class<?>, List<?>> SERVICES = new ConcurrentHashMap<>();
+
+    /**
+     * Private singletons constructor.
+     */
+    private ProviderResolver() {
+    }
+
+    /**
+     * Access the services of the given type registered with the {@link Bootstrap}. Other than
+     * {@link Bootstrap#getServices(Class)} the services are resolved once and cached, until the
+     * {@link ServiceProvider} is replaced using {@link Bootstrap#init(ServiceProvider)}.
+     *
+     * @param serviceType the service type, not null.
+     * @param <T>         the service type
+     * @return the services, as immutable list, never null.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> List<T> getServices(Class<T> serviceType) {
+        List<T> services = (List<T>) SERVICES.get(Objects.requireNonNull(serviceType, "Service type required."));
+        if (services == null) {
+            Collection<T> registered = Bootstrap.getServices(serviceType);
+            services = registered == null || registered.isEmpty() ? Collections.emptyList()
+                    : Collections.unmodifiableList(new ArrayList<>(registered));
+            SERVICES.put(serviceType, services);
+        }
+        return services;
+    }
+
+    /**
+     * Access the first service of the given type registered with the {@link Bootstrap}, as
+     * {@link Bootstrap#getService(Class)}, but cached as {@link #getServices(Class)}.
+     *
+     * @param serviceType the service type, not null.
+     * @param <T>         the service type
+     * @return the service found, or {@code null}.
+     */
+    public static <T> T getService(Class<T> serviceType) {
+        List<T> services = getServices(serviceType);
+        return services.isEmpty() ? null : services.get(0);
+    }
+
+    /**
+     * Access the providers of the given type, in the order of the given provider names. If several providers have
+     * the same name, all of them are added in their registration order, names not matching any provider are
+     * ignored.
+     *
+     * @param serviceType   the service type, not null.
+     * @param nameFunction  the function evaluating the name of a provider, not null.
+     * @param providerNames the provider names, not null.
+     * @param <T>           the service type
+     * @return the providers, as immutable list, never null.
+     */
+    public static <T> List<T> getProviders(Class<T> serviceType, Function<? super T, String> nameFunction,
+                                           Collection<String> providerNames) {
+        Objects.requireNonNull(nameFunction, "Name function required.");
+        Objects.requireNonNull(providerNames, "Provider names required.");
+        List<String> names = providerNames instanceof List ? (List<String>) providerNames
+                : new ArrayList<>(providerNames);
+        return resolve(serviceType, names, services -> {
+            List<T> result = new ArrayList<>();
+            for (String name : names) {
+                for (T service : services) {
+                    if (name.equals(getName(service, nameFunction))) {
+                        result.add(service);
+                    }
+                }
+            }
+            return Collections.unmodifiableList(result);
+        });
+    }
+
+    /**
+     * Access all providers of the given type, by name. If several providers have the same name, the first one
+     * registered is contained, providers without a name are ignored.
+     *
+     * @param serviceType  the service type, not null.
+     * @param nameFunction the function evaluating the name of a provider, not null.
+     * @param <T>          the service type
+     * @return the providers by name in registration order, as immutable map, never null.
+     */
+    public static <T> Map<String, T> getProviderMap(Class<T> serviceType, Function<? super T, String> nameFunction) {
+        Objects.requireNonNull(nameFunction, "Name function required.");
+        return resolve(serviceType, null, services -> {
+            Map<String, T> result = new LinkedHashMap<>();
+            for (T service : services) {
+                String name = getName(service, nameFunction);
+                if (name == null) {
+                    Logger.getLogger(ProviderResolver.class.getName()).warning(
+                            serviceType.getSimpleName() + " returns null for getProviderName: "
+                                    + service.getClass().getName());
+                } else {
+                    result.putIfAbsent(name, service);
+                }
+            }
+            return Collections.unmodifiableMap(result);
+        });
+    }
+
+    /**
+     * Discards all resolved services and provider chains, called when the {@link ServiceProvider} is replaced.
+     */
+    static void reset() {
+        SERVICES.clear();
+        synchronized (CHAINS) {
+            CHAINS.clear();
+        }
+    }
+
+    /**
+     * Access the cached resolution for the given service type and provider names, or resolves and caches it, if
+     * not yet resolved or the registered services have changed.
+     *
+     * @param serviceType the service type, not null.
+     * @param names       the provider names, or null for all providers.
+     * @param resolver    the function resolving the services registered.
+     * @return the resolution, never null.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T, R> R resolve(Class<T> serviceType, List<String> names, Function<Collection<T>, R> resolver) {
+        Collection<T> services = Bootstrap.getServices(Objects.requireNonNull(serviceType, "Service type required."));
+        if (services == null) {
+            services = Collections.emptyList();
+        }
+        Chain chain;
+        synchronized (CHAINS) {
+            chain = CHAINS.get(new ChainKey(serviceType, names));
+        }
+        if (chain == null || chain.services != services) {
+            chain = new Chain(services, resolver.apply(services));
+            ChainKey key = new ChainKey(serviceType, names == null ? null : new ArrayList<>(names));
+            synchronized (CHAINS) {
+                CHAINS.put(key, chain);
+            }
+        }
+        return (R) chain.resolved;
+    }
+
+    /**
+     * Evaluates the name of a provider, hereby logging any errors.
+     *
+     * @param service      the provider, not null.
+     * @param nameFunction the function evaluating the name, not null.
+     * @param <T>          the service type
+     * @return the provider name, or null.
+     */
+    private static <T> String getName(T service, Function<? super T, String> nameFunction) {
+        try {
+            return nameFunction.apply(service);
+        } catch (Exception e) {
+            Logger.getLogger(ProviderResolver.class.getName())
+                    .log(Level.SEVERE, "Error evaluating provider name of " + service.getClass().getName(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Cache key, identifying a provider chain by service type and provider names.
+     */
+    private static final class ChainKey {
+        private final Class<?> serviceType;
+        private final List<String> names;
+
+        ChainKey(Class<?> serviceType, List<String> names) {
+            this.serviceType = serviceType;
+            this.names = names;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ChainKey)) {
+                return false;
+            }
+            ChainKey other = (ChainKey) obj;
+            return serviceType == other.serviceType && Objects.equals(names, other.names);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * serviceType.hashCode() + Objects.hashCode(names);
+        }
+    }
+
+    /**
+     * A resolved provider chain, together with the services it was resolved from.
+     */
+    private static final class Chain {
+        private final Collection<?> services;
+        private final Object resolved;
+
+        Chain(Collection<?> services, Object resolved) {
+            this.services = services;
+            this.resolved = resolved;
+        }
+    }
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money.spi;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryRounding;
+import javax.money.RoundingQuery;
+
+/**
+ * This SPI allows to observe the rounding resolution performed by the
+ * {@link javax.money.spi.MonetaryRoundingsSingletonSpi}, e.g. for counting the calls per provider and rounding name
+ * or recording latency histograms. Instances of this interface are registered using the
+ * {@link javax.money.spi.Bootstrap}, the default {@link javax.money.spi.MonetaryRoundingsSingletonSpi}
+ * implementation notifies all registered listeners. If no listeners are registered, no measurements are taken.
+ * <p>
+ * All methods have empty default implementations, so implementations only must override the callbacks of interest.
+ * Implementations of this interface must be thread-safe and should return quickly, since they are called on the
+ * rounding lookup path.
+ */
+public interface RoundingListenerSpi {
+
+    /**
+     * Called after a {@link javax.money.spi.RoundingProviderSpi} has been evaluated for a query.
+     *
+     * @param providerName  the provider's name, not {@code null}.
+     * @param query         the rounding query evaluated, not {@code null}. The rounding name requested can be
+     *                      accessed by {@link javax.money.RoundingQuery#getRoundingName()}.
+     * @param rounding      the rounding returned by the provider, or {@code null}.
+     * @param durationNanos the time spent in the provider, in nanoseconds.
+     */
+    default void providerEvaluated(String providerName, RoundingQuery query, MonetaryRounding rounding,
+                                   long durationNanos) {
+    }
+
+    /**
+     * Called when a {@link javax.money.spi.RoundingProviderSpi} failed evaluating a query.
+     *
+     * @param providerName  the provider's name, not {@code null}.
+     * @param query         the rounding query evaluated, not {@code null}.
+     * @param error         the error thrown by the provider, not {@code null}.
+     * @param durationNanos the time spent in the provider, in nanoseconds.
+     */
+    default void providerFailed(String providerName, RoundingQuery query, Exception error, long durationNanos) {
+    }
+
+    /**
+     * Called each time the default rounding as returned by
+     * {@link javax.money.spi.MonetaryRoundingsSingletonSpi#getDefaultRounding()} has to look up the rounding for
+     * an amount's currency.
+     *
+     * @param currency the currency of the amount rounded, not {@code null}.
+     */
+    default void defaultRoundingLookup(CurrencyUnit currency) {
+    }
+
+}
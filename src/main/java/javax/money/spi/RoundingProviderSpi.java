@@ -48,6 +48,19 @@ public interface RoundingProviderSpi {
      */
     MonetaryRounding getRounding(RoundingQuery query);
 
+    /**
+     * Evaluate a precompiled {@link javax.money.RoundingPlan} matching the given query. Plans can be applied
+     * repeatedly without any further query evaluation, so providers whose roundings can be expressed by a scale,
+     * a {@link java.math.RoundingMode} and an optional cash step should override this method.
+     * {@link #getRounding(RoundingQuery)} remains the general lookup path.
+     *
+     * @param query the rounding query.
+     * @return the matching rounding plan, or {@code null}, if this provider does not support plans for the query.
+     */
+    default RoundingPlan getRoundingPlan(RoundingQuery query) {
+        return null;
+    }
+
 	/**
 	 * Access the ids of the roundings defined by this provider.
 	 * 
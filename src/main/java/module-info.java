@@ -28,8 +28,10 @@ module java.money {
     uses javax.money.spi.MonetaryAmountsSingletonSpi;
     uses javax.money.spi.MonetaryConversionsSingletonSpi;
     uses javax.money.spi.MonetaryCurrenciesSingletonSpi;
+    uses javax.money.spi.MonetaryEventSpi;
     uses javax.money.spi.MonetaryFormatsSingletonSpi;
     uses javax.money.spi.MonetaryRoundingsSingletonSpi;
+    uses javax.money.spi.RoundingListenerSpi;
     uses javax.money.spi.RoundingProviderSpi;
     uses javax.money.spi.ServiceProvider;
     uses javax.money.convert.ExchangeRateProvider;
@@ -132,6 +132,26 @@ public class AbstractContextTest {
         assertEquals(Integer.class, ctx.getType("b"));
     }
 
+    @Test
+    public void testEqualsAndHashCodeIndependentOfInsertionOrder() {
+        TestContext ctx1 = new TestContext.Builder().set("a", 1).set("b", "B").set("c", 3L).build();
+        TestContext ctx2 = new TestContext.Builder().set("c", 3L).set("a", 1).set("b", "B").build();
+        assertEquals(ctx1, ctx2);
+        assertEquals(ctx1.hashCode(), ctx2.hashCode());
+        assertEquals(ctx1.toString(), ctx2.toString());
+        assertFalse(ctx1.equals(new TestContext.Builder().importContext(ctx1).set("c", 4L).build()));
+    }
+
+    @Test
+    public void testGetMissingKey() {
+        TestContext ctx = new TestContext.Builder().set("b", 1).build();
+        assertNull(ctx.get("a", Integer.class));
+        assertNull(ctx.get("c", Integer.class));
+        assertNull(ctx.getType("a"));
+        assertNull(new TestContext.Builder().build().get("a", Integer.class));
+        assertTrue(new TestContext.Builder().build().isEmpty());
+    }
+
     private static class TestContext extends AbstractContext {
 
         private static final long serialVersionUID = 1L;
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+/**
+ * Tests for {@link AttributeKey}.
+ */
+public class AttributeKeyTest {
+
+    @Test
+    public void testOfReturnsRegisteredKey() {
+        AttributeKey<Integer> key = AttributeKey.of("AttributeKeyTest.int", Integer.class);
+        assertSame(AttributeKey.of("AttributeKeyTest.int", Integer.class), key);
+        assertEquals(key.getName(), "AttributeKeyTest.int");
+        assertEquals(key.getType(), Integer.class);
+        assertTrue(key.getSlot() >= 0);
+        assertTrue(key.toString().contains("AttributeKeyTest.int"));
+    }
+
+    @Test
+    public void testOfWithOtherType() {
+        AttributeKey<Integer> registered = AttributeKey.of("AttributeKeyTest.conflict", Integer.class);
+        AttributeKey<Long> other = AttributeKey.of("AttributeKeyTest.conflict", Long.class);
+        assertEquals(other.getType(), Long.class);
+        assertEquals(other.getSlot(), -1);
+        assertSame(AttributeKey.of("AttributeKeyTest.conflict", Integer.class), registered);
+        MonetaryContext ctx = MonetaryContextBuilder.of().set(other, 2L).build();
+        assertEquals(ctx.get(other), Long.valueOf(2L));
+        assertNull(ctx.get(registered));
+        ctx = MonetaryContextBuilder.of().set(registered, 3).build();
+        assertEquals(ctx.get(registered), Integer.valueOf(3));
+        assertNull(ctx.get(other));
+    }
+
+    @Test
+    public void testGetWithManySlots() {
+        AttributeKey<?>[] keys = new AttributeKey<?>[70];
+        MonetaryContextBuilder builder = MonetaryContextBuilder.of();
+        for (int i = 0; i < keys.length; i++) {
+            AttributeKey<Integer> key = AttributeKey.of("AttributeKeyTest.many" + i, Integer.class);
+            keys[i] = key;
+            if (i % 3 != 0) {
+                builder.set(key, i);
+            }
+        }
+        MonetaryContext ctx = builder.build();
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(ctx.get(keys[i]), i % 3 != 0 ? Integer.valueOf(i) : null);
+        }
+    }
+
+    @Test
+    public void testGetFromContext() {
+        AttributeKey<String> key = AttributeKey.of("AttributeKeyTest.text", String.class);
+        MonetaryContext ctx = MonetaryContextBuilder.of().set(key, "a").setPrecision(5).build();
+        assertEquals(ctx.get(key), "a");
+        assertEquals(ctx.getText("AttributeKeyTest.text"), "a");
+        assertEquals(ctx.getPrecision(), 5);
+        assertNull(MonetaryContextBuilder.of().build().get(key));
+    }
+
+    @Test
+    public void testGetWithValueOfOtherType() {
+        AttributeKey<Long> key = AttributeKey.of("AttributeKeyTest.long", Long.class);
+        MonetaryContext ctx = MonetaryContextBuilder.of().set("AttributeKeyTest.long", 1).build();
+        assertNull(ctx.get(key));
+        assertEquals(ctx.getInt("AttributeKeyTest.long"), Integer.valueOf(1));
+    }
+
+    @Test
+    public void testGetWithKeyRegisteredAfterContextCreation() {
+        MonetaryContext ctx = MonetaryContextBuilder.of().set("AttributeKeyTest.late", "late").build();
+        AttributeKey<String> key = AttributeKey.of("AttributeKeyTest.late", String.class);
+        assertEquals(ctx.get(key), "late");
+    }
+}
@@ -17,8 +17,13 @@
 package javax.money;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Iterator;
 
 import org.testng.annotations.Test;
@@ -65,4 +70,121 @@ public class CurrencyQueryBuilderTest {
 
     }
 
+    /**
+     * Test for {@link CurrencyQuery#toBuilder()} with changes applied on the shared attributes.
+     */
+    @Test
+    public void testToBuilderWithChanges() {
+        CurrencyQuery query = CurrencyQueryBuilder.of().setCurrencyCodes("CHF").setProviderName("a").build();
+        CurrencyQueryBuilder builder = query.toBuilder();
+        assertEquals(builder.build(), query);
+        CurrencyQuery changed = builder.setProviderName("b").set("x", 1).build();
+        assertEquals(changed.getProviderNames().get(0), "b");
+        assertEquals(changed.getCurrencyCodes().iterator().next(), "CHF");
+        assertEquals(changed.getInt("x"), Integer.valueOf(1));
+        assertEquals(query.getProviderNames().get(0), "a");
+        assertNull(query.getInt("x"));
+        CurrencyQuery removed = builder.removeAttributes("x", "Query.currencyCodes").build();
+        assertTrue(removed.getCurrencyCodes().isEmpty());
+        assertNull(removed.getInt("x"));
+        assertEquals(changed.getInt("x"), Integer.valueOf(1));
+        assertEquals(CurrencyQueryBuilder.of(query).removeAttributes("Query.providers").set("y", 2)
+                .setProviderName("a").removeAttributes("y").build(), query);
+    }
+
+    /**
+     * Test for {@link CurrencyQueryBuilder#importContext(AbstractContext, boolean)} on a builder based on another
+     * query.
+     */
+    @Test
+    public void testImportContextOnSharedAttributes() {
+        CurrencyQuery query = CurrencyQueryBuilder.of().setCurrencyCodes("CHF").set("x", 1).build();
+        CurrencyQuery other = CurrencyQueryBuilder.of().set("x", 2).set("y", 3).build();
+        CurrencyQuery merged = CurrencyQueryBuilder.of(query).importContext(other).build();
+        assertEquals(merged.getInt("x"), Integer.valueOf(1));
+        assertEquals(merged.getInt("y"), Integer.valueOf(3));
+        merged = CurrencyQueryBuilder.of(query).importContext(other, true).build();
+        assertEquals(merged.getInt("x"), Integer.valueOf(2));
+        assertEquals(merged.getCurrencyCodes().iterator().next(), "CHF");
+    }
+
+    /**
+     * Test for {@link CurrencyQuery#equals(Object)} and {@link CurrencyQuery#hashCode()}.
+     */
+    @Test
+    public void testEqualsAndHashCode() {
+        CurrencyQuery query = CurrencyQueryBuilder.of().setCurrencyCodes("CHF").setProviderNames("a", "b").build();
+        CurrencyQuery query2 = CurrencyQueryBuilder.of().setProviderNames("a", "b").setCurrencyCodes("CHF").build();
+        assertEquals(query2, query);
+        assertEquals(query2.hashCode(), query.hashCode());
+        assertFalse(query.equals(CurrencyQueryBuilder.of().setCurrencyCodes("CHF").setProviderNames("b", "a")
+                .build()));
+        RoundingQuery roundingQuery = RoundingQueryBuilder.of().importContext(query).build();
+        assertFalse(query.equals(roundingQuery));
+        assertFalse(roundingQuery.equals(query));
+    }
+
+    /**
+     * Test that collections passed to the builder are copied.
+     */
+    @Test
+    public void testAttributesAreCopied() {
+        List<String> providers = new ArrayList<>();
+        providers.add("a");
+        String[] codes = {"CHF"};
+        CurrencyQuery query = CurrencyQueryBuilder.of().setProviderNames(providers).setCurrencyCodes(codes).build();
+        int hashCode = query.hashCode();
+        providers.add("b");
+        codes[0] = "EUR";
+        assertEquals(query.getProviderNames().size(), 1);
+        assertEquals(query.getCurrencyCodes().iterator().next(), "CHF");
+        assertEquals(query.hashCode(), hashCode);
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public void testProviderNamesNotModifiable() {
+        CurrencyQueryBuilder.of().setProviderNames("a").build().getProviderNames().add("b");
+    }
+
+    /**
+     * Test for {@link CurrencyQueryBuilder#importContext(AbstractContext, boolean)} on a builder with attributes
+     * set, but not based on another query.
+     */
+    @Test
+    public void testImportContextOnChanges() {
+        CurrencyQuery other = CurrencyQueryBuilder.of().setCurrencyCodes("CHF").set("x", 2).set("y", 3).build();
+        CurrencyQuery merged = CurrencyQueryBuilder.of().set("x", 1).removeAttributes("y").importContext(other)
+                .build();
+        assertEquals(merged.getInt("x"), Integer.valueOf(1));
+        assertEquals(merged.getInt("y"), Integer.valueOf(3));
+        assertEquals(merged.getCurrencyCodes().iterator().next(), "CHF");
+        merged = CurrencyQueryBuilder.of().set("x", 1).set("z", 4).importContext(other, true).build();
+        assertEquals(merged.getInt("x"), Integer.valueOf(2));
+        assertEquals(merged.getInt("z"), Integer.valueOf(4));
+        assertEquals(merged, CurrencyQueryBuilder.of(other).set("z", 4).build());
+        assertEquals(other.getInt("x"), Integer.valueOf(2));
+        assertNull(other.getInt("z"));
+    }
+
+    /**
+     * Test for {@link CurrencyQueryBuilder#importContext(AbstractContext, boolean)} on a builder, whose attributes
+     * have all been removed again.
+     */
+    @Test
+    public void testImportContextAfterRemovingAllAttributes() {
+        CurrencyQuery query = CurrencyQueryBuilder.of().set("x", 1).set("y", 2).build();
+        CurrencyQuery other = CurrencyQueryBuilder.of().set("z", 3).build();
+        assertEquals(CurrencyQueryBuilder.of(query).removeAttributes("x", "y", "w").importContext(other).build(),
+                other);
+        CurrencyQueryBuilder builder = CurrencyQueryBuilder.of().set("w", 0).importContext(query);
+        assertEquals(builder.build(), CurrencyQueryBuilder.of(query).set("w", 0).build());
+        assertEquals(builder.removeAttributes("w", "x").set("x", 4).removeAttributes("x", "y").importContext(other)
+                .build(), other);
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void testImportContextNull() {
+        CurrencyQueryBuilder.of().importContext(null, true);
+    }
+
 }
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money;
+
+import org.testng.annotations.Test;
+
+import javax.money.convert.TestNumberValue;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.Random;
+
+import static org.testng.Assert.*;
+
+public class LongNumberValueTest {
+
+    @Test
+    public void testCompare() {
+        assertEquals(LongNumberValue.compare(1234, 2, 1234, 2), 0);
+        assertEquals(LongNumberValue.compare(1234, 2, 12340, 3), 0);
+        assertTrue(LongNumberValue.compare(1234, 2, 12341, 3) < 0);
+        assertTrue(LongNumberValue.compare(-1, 0, 0, 5) < 0);
+        assertTrue(LongNumberValue.compare(1, -18, Long.MAX_VALUE, 0) < 0);
+        assertTrue(LongNumberValue.compare(1, -19, Long.MAX_VALUE, 0) > 0);
+        assertTrue(LongNumberValue.compare(-1, -30, Long.MIN_VALUE, 2) < 0);
+        assertTrue(LongNumberValue.compare(Long.MIN_VALUE, 0, -1, 1) < 0);
+        assertEquals(LongNumberValue.compare(0, -5, 0, 100), 0);
+    }
+
+    @Test
+    public void testCompareTo_MatchesBigDecimal() {
+        Random random = new Random(42L);
+        long[] specials = {0, 1, -1, Long.MAX_VALUE, Long.MIN_VALUE, 1_000_000, -999_999_999_999L};
+        for (int i = 0; i < 10_000; i++) {
+            long u1 = i < 49 ? specials[i % specials.length] : random.nextLong() >> random.nextInt(64);
+            long u2 = i < 49 ? specials[i / specials.length] : random.nextLong() >> random.nextInt(64);
+            int s1 = random.nextInt(50) - 25;
+            int s2 = random.nextInt(50) - 25;
+            int expected = BigDecimal.valueOf(u1, s1).compareTo(BigDecimal.valueOf(u2, s2));
+            assertEquals(Integer.signum(LongNumberValue.of(u1, s1).compareTo(LongNumberValue.of(u2, s2))), expected,
+                    u1 + "E" + -s1 + " <> " + u2 + "E" + -s2);
+        }
+    }
+
+    @Test
+    public void testCompareTo_OtherNumberValue() {
+        assertEquals(LongNumberValue.of(150, 2).compareTo(new TestNumberValue(new BigDecimal("1.5"))), 0);
+        assertTrue(LongNumberValue.of(150, 2).compareTo(new TestNumberValue(2)) < 0);
+    }
+
+    @Test
+    public void testPrecisionScale() {
+        assertEquals(LongNumberValue.of(0).getPrecision(), 1);
+        assertEquals(LongNumberValue.of(12345, 2).getPrecision(), 5);
+        assertEquals(LongNumberValue.of(-9, 2).getPrecision(), 1);
+        assertEquals(LongNumberValue.of(Long.MAX_VALUE).getPrecision(), 19);
+        assertEquals(LongNumberValue.of(Long.MIN_VALUE).getPrecision(), 19);
+        assertEquals(LongNumberValue.of(12345, 2).getScale(), 2);
+        assertEquals(LongNumberValue.of(new BigDecimal("-12.3400")).getScale(), 4);
+        assertEquals(LongNumberValue.of(new BigDecimal("-12.3400")).getUnscaledLong(), -123400L);
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void testOf_BigDecimalOverflow() {
+        LongNumberValue.of(new BigDecimal("123456789012345678901234567890"));
+    }
+
+    @Test
+    public void testLongValueExact() {
+        assertEquals(LongNumberValue.of(12300, 2).longValueExact(), 123L);
+        assertEquals(LongNumberValue.of(123, -3).longValueExact(), 123000L);
+        assertEquals(LongNumberValue.of(0, 40).longValueExact(), 0L);
+        assertEquals(LongNumberValue.of(12300, 2).intValueExact(), 123);
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void testLongValueExact_Fraction() {
+        LongNumberValue.of(12345, 2).longValueExact();
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void testLongValueExact_Overflow() {
+        LongNumberValue.of(Long.MAX_VALUE, -1).longValueExact();
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void testIntValueExact_Overflow() {
+        LongNumberValue.of(Integer.MAX_VALUE + 1L).intValueExact();
+    }
+
+    @Test
+    public void testConversions() {
+        LongNumberValue value = LongNumberValue.of(-12345, 2);
+        assertEquals(value.longValue(), -123L);
+        assertEquals(value.intValue(), -123);
+        assertEquals(value.doubleValue(), -123.45d);
+        assertEquals(value.floatValue(), -123.45f);
+        assertEquals(value.numberValue(BigDecimal.class), new BigDecimal("-123.45"));
+        assertEquals(value.numberValue(BigInteger.class), BigInteger.valueOf(-123));
+        assertEquals(value.numberValue(Long.class), Long.valueOf(-123L));
+        assertEquals(value.numberValue(Double.class), -123.45d);
+        assertSame(value.numberValue(NumberValue.class), value);
+        assertEquals(LongNumberValue.of(Long.MAX_VALUE, -2).longValue(),
+                BigDecimal.valueOf(Long.MAX_VALUE, -2).longValue());
+        assertEquals(LongNumberValue.of(Long.MAX_VALUE, 3).doubleValue(),
+                BigDecimal.valueOf(Long.MAX_VALUE, 3).doubleValue());
+    }
+
+    @Test
+    public void testNumberValueExact() {
+        assertEquals(LongNumberValue.of(150, 2).numberValueExact(Double.class), 1.5d);
+        assertEquals(LongNumberValue.of(100, 2).numberValueExact(Integer.class), Integer.valueOf(1));
+        assertEquals(LongNumberValue.of(100, 2).numberValueExact(BigInteger.class), BigInteger.ONE);
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void testNumberValueExact_Double() {
+        LongNumberValue.of(1, 1).numberValueExact(Double.class);
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void testNumberValueExact_Byte() {
+        LongNumberValue.of(1000).numberValueExact(Byte.class);
+    }
+
+    @Test
+    public void testRound() {
+        LongNumberValue value = LongNumberValue.of(123456, 3);
+        assertSame(value.round(MathContext.UNLIMITED), value);
+        assertSame(value.round(new MathContext(6)), value);
+        assertEquals(value.round(new MathContext(4)), LongNumberValue.of(1235, 1));
+    }
+
+    @Test
+    public void testFraction() {
+        LongNumberValue value = LongNumberValue.of(-12345, 2);
+        assertEquals(value.getAmountFractionNumerator(), -45L);
+        assertEquals(value.getAmountFractionDenominator(), 100L);
+        assertEquals(LongNumberValue.of(12345, -2).getAmountFractionNumerator(), 0L);
+        assertEquals(LongNumberValue.of(12345, -2).getAmountFractionDenominator(), 1L);
+        assertEquals(LongNumberValue.of(12345, 20).getAmountFractionDenominator(), 1_000_000_000_000_000_000L);
+        assertEquals(LongNumberValue.of(12345, 20).getAmountFractionNumerator(), 123L);
+    }
+
+    @Test
+    public void testEqualsHashCode() {
+        assertEquals(LongNumberValue.of(123, 2), LongNumberValue.of(123, 2));
+        assertEquals(LongNumberValue.of(123, 2).hashCode(), LongNumberValue.of(123, 2).hashCode());
+        assertNotEquals(LongNumberValue.of(123, 2), LongNumberValue.of(1230, 3));
+        assertEquals(LongNumberValue.of(123, 2).toString(), "1.23");
+    }
+}
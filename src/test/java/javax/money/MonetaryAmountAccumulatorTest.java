@@ -0,0 +1,144 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money;
+
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.testng.Assert.*;
+
+public class MonetaryAmountAccumulatorTest {
+
+    @Test
+    public void testAdd() {
+        MonetaryAmountAccumulator acc = MonetaryAmountAccumulator.of();
+        assertTrue(acc.isEmpty());
+        assertNull(acc.getCurrency());
+        acc.add(TestAmount.of("1.111", "CHF")).add(TestAmount.of("2.222", "CHF"));
+        acc.accept(TestAmount.of("-0.333", "CHF"));
+        assertEquals(acc.getCount(), 3);
+        assertFalse(acc.isEmpty());
+        assertEquals(acc.getCurrency().getCurrencyCode(), "CHF");
+        assertEquals(acc.getTotal(), TestAmount.of("3.000", "CHF"));
+    }
+
+    @Test(expectedExceptions = MonetaryException.class)
+    public void testAdd_CurrencyMismatch() {
+        MonetaryAmountAccumulator.of().add(TestAmount.of("1", "CHF")).add(TestAmount.of("1", "EUR"));
+    }
+
+    @Test(expectedExceptions = MonetaryException.class)
+    public void testGetTotal_Empty() {
+        MonetaryAmountAccumulator.of().getTotal();
+    }
+
+    @Test
+    public void testGetTotal_Factory() {
+        MonetaryAmountAccumulator acc = MonetaryAmountAccumulator.of().add(TestAmount.of("1.5", "EUR"));
+        assertEquals(acc.getTotal(new TestAmountFactory()), TestAmount.of("1.5", "EUR"));
+        // the factory passed is not changed
+        MonetaryAmountFactory<TestAmount> factory = new TestAmountFactory().setCurrency(TestCurrency.of("CHF"))
+                .setNumber(7);
+        assertEquals(acc.add(TestAmount.of("1", "EUR")).getTotal(factory), TestAmount.of("2.5", "EUR"));
+        assertEquals(factory.create(), TestAmount.of("7", "CHF"));
+    }
+
+    @Test(expectedExceptions = MonetaryException.class)
+    public void testGetTotal_FactoryEmpty() {
+        MonetaryAmountAccumulator.of().getTotal(new TestAmountFactory().setCurrency(TestCurrency.of("CHF")));
+    }
+
+    @Test
+    public void testRounding_Final() {
+        MonetaryAmountAccumulator acc = MonetaryAmountAccumulator.of(RoundingPlan.of(2, RoundingMode.HALF_UP));
+        for (int i = 0; i < 10; i++) {
+            acc.add(TestAmount.of("0.004", "CHF"));
+        }
+        assertEquals(acc.getTotal(), TestAmount.of("0.04", "CHF"));
+        // Not a plan, applied by creating an amount
+        acc = MonetaryAmountAccumulator.of(Monetary.getDefaultRounding());
+        acc.add(TestAmount.of("0.004", "CHF"));
+        assertEquals(acc.getTotal(), TestAmount.of("0.004", "CHF").with(Monetary.getDefaultRounding()));
+    }
+
+    @Test
+    public void testRounding_Checkpoints() {
+        MonetaryAmountAccumulator acc = MonetaryAmountAccumulator.of(RoundingPlan.of(2, RoundingMode.HALF_UP), 1);
+        for (int i = 0; i < 10; i++) {
+            acc.add(TestAmount.of("0.004", "CHF"));
+        }
+        assertEquals(acc.getTotal(), TestAmount.of("0.00", "CHF"));
+        acc = MonetaryAmountAccumulator.of(RoundingPlan.of(2, RoundingMode.HALF_UP), 5);
+        for (int i = 0; i < 10; i++) {
+            acc.add(TestAmount.of("0.004", "CHF"));
+        }
+        assertEquals(acc.getTotal(), TestAmount.of("0.04", "CHF"));
+        assertEquals(acc.getCheckpointInterval(), 5);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidCheckpointInterval() {
+        MonetaryAmountAccumulator.of(RoundingPlan.of(2, RoundingMode.HALF_UP), -1);
+    }
+
+    @Test(expectedExceptions = MonetaryException.class)
+    public void testRoundingPlan_CurrencyMismatch() {
+        MonetaryAmountAccumulator.of(RoundingPlan.of(TestCurrency.of("CHF"), RoundingMode.HALF_UP))
+                .add(TestAmount.of("1", "EUR")).getTotal();
+    }
+
+    @Test
+    public void testMerge() {
+        MonetaryAmountAccumulator acc1 = MonetaryAmountAccumulator.of().add(TestAmount.of("1.5", "CHF"));
+        MonetaryAmountAccumulator acc2 = MonetaryAmountAccumulator.of().add(TestAmount.of("2.5", "CHF"))
+                .add(TestAmount.of("1", "CHF"));
+        acc1.merge(acc2).merge(MonetaryAmountAccumulator.of());
+        assertEquals(acc1.getCount(), 3);
+        assertEquals(acc1.getTotal().getNumber().numberValue(BigDecimal.class), new BigDecimal("5.0"));
+        assertEquals(acc2.getCount(), 2);
+        MonetaryAmountAccumulator empty = MonetaryAmountAccumulator.of().merge(acc2);
+        assertEquals(empty.getTotal(), TestAmount.of("3.5", "CHF"));
+    }
+
+    @Test
+    public void testMerge_Checkpoints() {
+        RoundingPlan plan = RoundingPlan.of(2, RoundingMode.DOWN);
+        MonetaryAmountAccumulator acc = MonetaryAmountAccumulator.of(plan, 2).add(TestAmount.of("0.006", "CHF"));
+        // the merged amount completes the checkpoint interval, so the running total is rounded to 0.01
+        acc.merge(MonetaryAmountAccumulator.of(plan, 2).add(TestAmount.of("0.006", "CHF")));
+        acc.add(TestAmount.of("0.009", "CHF"));
+        assertEquals(acc.getTotal(), TestAmount.of("0.01", "CHF"));
+    }
+
+    @Test(expectedExceptions = MonetaryException.class)
+    public void testMerge_CurrencyMismatch() {
+        MonetaryAmountAccumulator.of().add(TestAmount.of("1", "CHF"))
+                .merge(MonetaryAmountAccumulator.of().add(TestAmount.of("1", "EUR")));
+    }
+
+    @Test
+    public void testReset() {
+        MonetaryAmountAccumulator acc = MonetaryAmountAccumulator.of().add(TestAmount.of("1", "CHF"));
+        acc.reset();
+        assertTrue(acc.isEmpty());
+        assertNull(acc.getCurrency());
+        acc.add(TestAmount.of("2", "EUR"));
+        assertEquals(acc.getTotal(), TestAmount.of("2", "EUR"));
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money;
+
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.testng.Assert.*;
+
+public class MonetaryAmountBufferTest {
+
+    private static final MonetaryAmountCreator<TestAmount> CREATOR =
+            MonetaryAmountCreator.of(TestAmountFactory::new, null);
+    private static final CurrencyUnit CHF = TestCurrency.of("CHF");
+    private static final CurrencyUnit EUR = TestCurrency.of("EUR");
+    private static final CurrencyUnit USD = TestCurrency.of("USD");
+    private static final List<CurrencyUnit> CURRENCIES = Arrays.asList(USD, CHF, EUR);
+
+    @Test
+    public void testAppendAndGet() {
+        MonetaryAmountBuffer store = MonetaryAmountBuffer.allocateDirect(3, CURRENCIES, CREATOR);
+        assertEquals(store.capacity(), 3);
+        assertEquals(store.size(), 0);
+        assertEquals(store.getCurrencies(), Arrays.asList(CHF, EUR, USD));
+        store.append(TestAmount.of("1.50", "EUR")).append(CHF, -12345, 3).append(TestAmount.of("0.07", "USD"));
+        assertEquals(store.size(), 3);
+        assertEquals(store.get(0), TestAmount.of("1.50", "EUR"));
+        assertEquals(store.getCurrency(1), CHF);
+        assertEquals(store.getUnscaledLong(1), -12345L);
+        assertEquals(store.getScale(1), 3);
+        assertEquals(store.getNumber(1), LongNumberValue.of(-12345, 3));
+        assertEquals(store.get(2, new TestAmountFactory()), TestAmount.of("0.07", "USD"));
+        store.set(0, USD, 1, 0);
+        assertEquals(store.get(0), TestAmount.of("1", "USD"));
+    }
+
+    @Test(expectedExceptions = BufferOverflowException.class)
+    public void testAppend_Full() {
+        MonetaryAmountBuffer.allocateDirect(1, CURRENCIES, CREATOR).append(CHF, 1, 0).append(CHF, 2, 0);
+    }
+
+    @Test(expectedExceptions = MonetaryException.class)
+    public void testAppend_UnknownCurrency() {
+        MonetaryAmountBuffer.allocateDirect(1, CURRENCIES, CREATOR).append(TestCurrency.of("GBP"), 1, 0);
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void testAppend_Overflow() {
+        MonetaryAmountBuffer.allocateDirect(1, CURRENCIES, CREATOR)
+                .append(TestAmount.of("123456789012345678901234567890", "CHF"));
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void testGet_InvalidIndex() {
+        MonetaryAmountBuffer.allocateDirect(2, CURRENCIES, CREATOR).append(CHF, 1, 0).get(1);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testDuplicateCurrency() {
+        MonetaryAmountBuffer.allocateDirect(1, Arrays.asList(CHF, TestCurrency.of("CHF")), CREATOR);
+    }
+
+    @Test
+    public void testWrap() {
+        MonetaryAmountBuffer store = MonetaryAmountBuffer.allocateDirect(4, CURRENCIES, CREATOR);
+        store.append(CHF, 150, 2).append(EUR, -3, 0);
+        ByteBuffer records = store.asReadOnlyBuffer();
+        assertEquals(records.remaining(), MonetaryAmountBuffer.HEADER_SIZE + 2 * MonetaryAmountBuffer.RECORD_SIZE);
+        ByteBuffer copy = ByteBuffer.allocate(records.remaining());
+        copy.put(records).flip();
+        // registry order does not depend on the order passed
+        MonetaryAmountBuffer wrapped = MonetaryAmountBuffer.wrap(copy, Arrays.asList(EUR, USD, CHF), CREATOR);
+        assertEquals(wrapped.size(), 2);
+        assertEquals(wrapped.stream().collect(Collectors.toList()),
+                Arrays.asList(TestAmount.of("1.50", "CHF"), TestAmount.of("-3", "EUR")));
+        wrapped.set(1, USD, 5, 1);
+        assertEquals(copy.getLong(MonetaryAmountBuffer.HEADER_SIZE + MonetaryAmountBuffer.RECORD_SIZE + 8), 5L);
+    }
+
+    @Test
+    public void testWrap_PartlyFilled() {
+        ByteBuffer buffer = ByteBuffer.allocate(MonetaryAmountBuffer.HEADER_SIZE + 10 * MonetaryAmountBuffer.RECORD_SIZE);
+        MonetaryAmountBuffer.create(buffer, CURRENCIES, CREATOR).append(EUR, 7, 1).append(USD, 8, 0);
+        MonetaryAmountBuffer wrapped = MonetaryAmountBuffer.wrap(buffer, CURRENCIES, CREATOR);
+        assertEquals(wrapped.capacity(), 10);
+        assertEquals(wrapped.size(), 2);
+        assertEquals(wrapped.asList(), Arrays.asList(TestAmount.of("0.7", "EUR"), TestAmount.of("8", "USD")));
+        wrapped.clear();
+        assertEquals(MonetaryAmountBuffer.wrap(buffer, CURRENCIES, CREATOR).size(), 0);
+    }
+
+    @Test(expectedExceptions = MonetaryException.class)
+    public void testWrap_InvalidSize() {
+        ByteBuffer buffer = ByteBuffer.allocate(MonetaryAmountBuffer.HEADER_SIZE + MonetaryAmountBuffer.RECORD_SIZE);
+        MonetaryAmountBuffer.create(buffer, CURRENCIES, CREATOR);
+        buffer.putInt(16, 2);
+        MonetaryAmountBuffer.wrap(buffer, CURRENCIES, CREATOR);
+    }
+
+    @Test
+    public void testMappedFile() throws IOException {
+        Path file = Files.createTempFile("amounts", ".bin");
+        try {
+            long length = MonetaryAmountBuffer.HEADER_SIZE + 100L * MonetaryAmountBuffer.RECORD_SIZE;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+                MonetaryAmountBuffer store = MonetaryAmountBuffer.create(mapped, CURRENCIES, CREATOR);
+                store.append(TestAmount.of("12.34", "CHF")).append(EUR, -1, 2).append(USD, 3, 0);
+                mapped.force();
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                MonetaryAmountBuffer store = MonetaryAmountBuffer.wrap(mapped, CURRENCIES, CREATOR);
+                assertEquals(store.capacity(), 100);
+                assertEquals(store.size(), 3);
+                assertEquals(store.asList(), Arrays.asList(TestAmount.of("12.34", "CHF"),
+                        TestAmount.of("-0.01", "EUR"), TestAmount.of("3", "USD")));
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test(expectedExceptions = MonetaryException.class)
+    public void testWrap_OtherRegistry() {
+        MonetaryAmountBuffer store = MonetaryAmountBuffer.allocateDirect(1, CURRENCIES, CREATOR).append(EUR, 1, 0);
+        MonetaryAmountBuffer.wrap(store.asReadOnlyBuffer(), Arrays.asList(CHF, EUR, TestCurrency.of("GBP")),
+                CREATOR);
+    }
+
+    @Test(expectedExceptions = MonetaryException.class)
+    public void testWrap_NoHeader() {
+        MonetaryAmountBuffer.wrap(ByteBuffer.allocate(MonetaryAmountBuffer.HEADER_SIZE), CURRENCIES, CREATOR);
+    }
+
+    @Test(expectedExceptions = MonetaryException.class)
+    public void testGetCurrency_InvalidIndex() {
+        MonetaryAmountBuffer store = MonetaryAmountBuffer.allocateDirect(1, CURRENCIES, CREATOR).append(EUR, 1, 0);
+        ByteBuffer copy = ByteBuffer.allocate(MonetaryAmountBuffer.HEADER_SIZE + MonetaryAmountBuffer.RECORD_SIZE);
+        copy.put(store.asReadOnlyBuffer()).flip();
+        copy.putInt(MonetaryAmountBuffer.HEADER_SIZE, CURRENCIES.size());
+        MonetaryAmountBuffer.wrap(copy, CURRENCIES, CREATOR).getCurrency(0);
+    }
+
+    @Test
+    public void testIterationAndClear() {
+        MonetaryAmountBuffer store = MonetaryAmountBuffer.allocateDirect(2, CURRENCIES, CREATOR)
+                .append(CHF, 1, 0).append(CHF, 2, 0);
+        BigDecimal total = BigDecimal.ZERO;
+        for (MonetaryAmount amount : store) {
+            total = total.add(amount.getNumber().numberValue(BigDecimal.class));
+        }
+        assertEquals(total, BigDecimal.valueOf(3));
+        assertEquals(store.clear().size(), 0);
+        assertTrue(store.asList().isEmpty());
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money;
+
+import org.testng.annotations.Test;
+
+import javax.money.convert.TestNumberValue;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+public class MonetaryAmountComparatorTest {
+
+    /**
+     * Creates a number providing its unscaled value, which fails when converted to {@link BigDecimal}.
+     */
+    private static NumberValue strictNumber(long unscaled, int scale) {
+        return new TestNumberValue(BigDecimal.valueOf(unscaled, scale)) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public boolean isUnscaledLongAvailable() {
+                return true;
+            }
+
+            @Override
+            public long getUnscaledLong() {
+                return unscaled;
+            }
+
+            @Override
+            public int getScale() {
+                return scale;
+            }
+
+            @Override
+            public <T extends Number> T numberValue(Class<T> numberType) {
+                throw new AssertionError("Unexpected conversion to " + numberType.getName());
+            }
+        };
+    }
+
+    @Test
+    public void testCompareNumbers_UnscaledLong() {
+        assertEquals(MonetaryAmountComparator.compareNumbers(strictNumber(150, 2), strictNumber(15, 1)), 0);
+        assertTrue(MonetaryAmountComparator.compareNumbers(strictNumber(-150, 2), strictNumber(1, 0)) < 0);
+        assertTrue(strictNumber(2, 0).compareTo(strictNumber(1999, 3)) > 0);
+        assertTrue(strictNumber(2, 0).compareTo(LongNumberValue.of(2001, 3)) < 0);
+    }
+
+    @Test
+    public void testCompareNumbers_UnscaledLongIgnoresOverriddenCompareTo() {
+        NumberValue number = new TestNumberValue(BigDecimal.valueOf(150, 2)) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public boolean isUnscaledLongAvailable() {
+                return true;
+            }
+
+            @Override
+            public long getUnscaledLong() {
+                return 150;
+            }
+
+            @Override
+            public int getScale() {
+                return 2;
+            }
+
+            @Override
+            public int compareTo(NumberValue other) {
+                throw new AssertionError("Unexpected call of compareTo");
+            }
+        };
+        assertEquals(MonetaryAmountComparator.compareNumbers(number, LongNumberValue.of(15, 1)), 0);
+        assertTrue(MonetaryAmountComparator.compareNumbers(number, LongNumberValue.of(151, 2)) < 0);
+    }
+
+    @Test
+    public void testCompareNumbers_Mixed() {
+        assertEquals(MonetaryAmountComparator.compareNumbers(LongNumberValue.of(150, 2),
+                new TestNumberValue(new BigDecimal("1.5"))), 0);
+        assertTrue(MonetaryAmountComparator.compareNumbers(new TestNumberValue(3),
+                LongNumberValue.of(299, 2)) > 0);
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void testGetUnscaledLong_NotAvailable() {
+        NumberValue number = new TestNumberValue(1);
+        assertFalse(number.isUnscaledLongAvailable());
+        number.getUnscaledLong();
+    }
+
+    @Test
+    public void testNumberComparator() {
+        List<MonetaryAmount> amounts = new ArrayList<>(Arrays.asList(TestAmount.of("3", "CHF"),
+                TestAmount.of("-1.5", "EUR"), TestAmount.of("2.75", "CHF")));
+        amounts.sort(MonetaryAmountComparator.NUMBER);
+        assertEquals(amounts, Arrays.asList(TestAmount.of("-1.5", "EUR"), TestAmount.of("2.75", "CHF"),
+                TestAmount.of("3", "CHF")));
+    }
+
+    @Test
+    public void testCurrencyAndNumberComparator() {
+        List<MonetaryAmount> amounts = new ArrayList<>(Arrays.asList(TestAmount.of("3", "EUR"),
+                TestAmount.of("5", "CHF"), TestAmount.of("-1.5", "EUR"), TestAmount.of("2.75", "CHF")));
+        amounts.sort(MonetaryAmountComparator.CURRENCY_AND_NUMBER);
+        assertEquals(amounts, Arrays.asList(TestAmount.of("2.75", "CHF"), TestAmount.of("5", "CHF"),
+                TestAmount.of("-1.5", "EUR"), TestAmount.of("3", "EUR")));
+    }
+}
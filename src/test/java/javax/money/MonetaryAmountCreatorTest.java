@@ -0,0 +1,229 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money;
+
+import org.testng.annotations.Test;
+
+import javax.money.spi.MonetaryAmountsSingletonSpi;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.*;
+
+public class MonetaryAmountCreatorTest {
+
+    @Test
+    public void testCreate() {
+        MonetaryAmountCreator<TestAmount> creator = MonetaryAmountCreator.of(TestAmountFactory::new, null);
+        assertEquals(creator.getAmountType(), TestAmount.class);
+        assertEquals(creator.getContext(), TestAmount.CONTEXT);
+        CurrencyUnit chf = TestCurrency.of("CHF");
+        assertEquals(creator.create(chf, 10L), new TestAmount(chf, BigDecimal.valueOf(10L)));
+        assertEquals(creator.create(chf, 1.5d), new TestAmount(chf, BigDecimal.valueOf(1.5d)));
+        assertEquals(creator.create(chf, new BigDecimal("2.25")), TestAmount.of("2.25", "CHF"));
+    }
+
+    @Test
+    public void testCreate_Context() {
+        MonetaryContext context = MonetaryContextBuilder.of(TestAmount.class).setPrecision(5).build();
+        MonetaryAmountCreator<TestAmount> creator = MonetaryAmountCreator.of(TestAmountFactory::new, context);
+        assertEquals(creator.getContext(), context);
+    }
+
+    @Test
+    public void testSharedAcrossThreads() throws Exception {
+        MonetaryAmountCreator<TestAmount> creator = MonetaryAmountCreator.of(TestAmountFactory::new, null);
+        CurrencyUnit chf = TestCurrency.of("CHF");
+        CurrencyUnit eur = TestCurrency.of("EUR");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                CurrencyUnit currency = t % 2 == 0 ? chf : eur;
+                long offset = t * 10000L;
+                results.add(executor.submit(() -> {
+                    for (long i = offset; i < offset + 10000L; i++) {
+                        TestAmount amount = creator.create(currency, i);
+                        if (amount.getNumber().longValueExact() != i || !amount.getCurrency().equals(currency)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test(timeOut = 20000)
+    public void testCreatesDoNotSerialize() throws Exception {
+        int threads = 4;
+        CyclicBarrier inCreate = new CyclicBarrier(threads);
+        AtomicInteger created = new AtomicInteger();
+        MonetaryAmountCreator<TestAmount> creator = MonetaryAmountCreator.of(() -> {
+            created.incrementAndGet();
+            return new BarrierFactory(inCreate);
+        }, null);
+        CurrencyUnit chf = TestCurrency.of("CHF");
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<TestAmount>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long number = t;
+                results.add(executor.submit(() -> creator.create(chf, number)));
+            }
+            // all creates must be running at the same time for the barrier to be passed
+            for (int t = 0; t < threads; t++) {
+                assertEquals(results.get(t).get(10, TimeUnit.SECONDS).getNumber().longValueExact(), t);
+            }
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        assertTrue(created.get() <= threads + 1);
+    }
+
+    @Test
+    public void testSpiObtainsFactoryOnce() {
+        AtomicInteger created = new AtomicInteger();
+        MonetaryAmountsSingletonSpi spi = new MonetaryAmountsSingletonSpi() {
+            @SuppressWarnings("unchecked")
+            @Override
+            public <T extends MonetaryAmount> MonetaryAmountFactory<T> getAmountFactory(Class<T> amountType) {
+                created.incrementAndGet();
+                return (MonetaryAmountFactory<T>) new TestAmountFactory();
+            }
+
+            @Override
+            public Class<? extends MonetaryAmount> getDefaultAmountType() {
+                return TestAmount.class;
+            }
+
+            @Override
+            public Collection<Class<? extends MonetaryAmount>> getAmountTypes() {
+                return Collections.singleton(TestAmount.class);
+            }
+        };
+        MonetaryAmountCreator<TestAmount> creator = spi.getAmountCreator(TestAmount.class, null);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(creator.create(TestCurrency.of("CHF"), i).getNumber().longValueExact(), i);
+        }
+        assertEquals(created.get(), 1);
+    }
+
+    @Test(expectedExceptions = MonetaryException.class)
+    public void testNoFactory() {
+        MonetaryAmountCreator.of(() -> null, null);
+    }
+
+    @Test
+    public void testMonetaryGetAmountCreator() {
+        MonetaryAmountCreator<DummyAmount> creator = Monetary.getAmountCreator(DummyAmount.class);
+        assertNotNull(creator);
+        assertEquals(creator.getAmountType(), DummyAmount.class);
+        assertEquals(creator.getContext(), Monetary.getAmountFactory(DummyAmount.class).getDefaultMonetaryContext());
+        assertNotNull(creator.create(TestCurrency.of("CHF"), 1L));
+        MonetaryContext context = MonetaryContextBuilder.of(DummyAmount.class).setPrecision(10).build();
+        assertEquals(Monetary.getAmountCreator(DummyAmount.class, context).getContext(), context);
+    }
+
+    /**
+     * Factory waiting in {@link #create()} until the given number of factories are creating amounts concurrently.
+     */
+    private static final class BarrierFactory implements MonetaryAmountFactory<TestAmount> {
+
+        private final TestAmountFactory delegate = new TestAmountFactory();
+        private final CyclicBarrier barrier;
+
+        BarrierFactory(CyclicBarrier barrier) {
+            this.barrier = barrier;
+        }
+
+        @Override
+        public Class<TestAmount> getAmountType() {
+            return TestAmount.class;
+        }
+
+        @Override
+        public BarrierFactory setCurrency(CurrencyUnit currency) {
+            delegate.setCurrency(currency);
+            return this;
+        }
+
+        @Override
+        public BarrierFactory setNumber(double number) {
+            delegate.setNumber(number);
+            return this;
+        }
+
+        @Override
+        public BarrierFactory setNumber(long number) {
+            delegate.setNumber(number);
+            return this;
+        }
+
+        @Override
+        public BarrierFactory setNumber(Number number) {
+            delegate.setNumber(number);
+            return this;
+        }
+
+        @Override
+        public NumberValue getMaxNumber() {
+            return null;
+        }
+
+        @Override
+        public NumberValue getMinNumber() {
+            return null;
+        }
+
+        @Override
+        public BarrierFactory setContext(MonetaryContext monetaryContext) {
+            return this;
+        }
+
+        @Override
+        public TestAmount create() {
+            try {
+                barrier.await(10, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new IllegalStateException("Creates did not run concurrently.", e);
+            }
+            return delegate.create();
+        }
+
+        @Override
+        public MonetaryContext getDefaultMonetaryContext() {
+            return TestAmount.CONTEXT;
+        }
+    }
+}
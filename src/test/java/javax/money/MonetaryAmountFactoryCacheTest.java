@@ -0,0 +1,164 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money;
+
+import org.testng.annotations.Test;
+
+import javax.money.spi.MonetaryAmountsSingletonQuerySpi;
+import javax.money.spi.MonetaryAmountsSingletonSpi;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.*;
+
+public class MonetaryAmountFactoryCacheTest {
+
+    private static final MonetaryAmountsSingletonSpi AMOUNTS_SPI = new MonetaryAmountsSingletonSpi() {
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T extends MonetaryAmount> MonetaryAmountFactory<T> getAmountFactory(Class<T> amountType) {
+            if (amountType == TestAmount.class) {
+                return (MonetaryAmountFactory<T>) new TestAmountFactory();
+            }
+            return null;
+        }
+
+        @Override
+        public Class<? extends MonetaryAmount> getDefaultAmountType() {
+            return TestAmount.class;
+        }
+
+        @Override
+        public Collection<Class<? extends MonetaryAmount>> getAmountTypes() {
+            return Collections.singletonList(TestAmount.class);
+        }
+    };
+
+    private static class CountingQuerySpi implements MonetaryAmountsSingletonQuerySpi {
+        private final AtomicInteger evaluations = new AtomicInteger();
+
+        @Override
+        public Collection<MonetaryAmountFactory<?>> getAmountFactories(MonetaryAmountFactoryQuery query) {
+            evaluations.incrementAndGet();
+            return Collections.singletonList(new TestAmountFactory());
+        }
+    }
+
+    private static final class ConfiguringQuerySpi extends CountingQuerySpi {
+        @Override
+        public boolean isAmountTypeSelection(MonetaryAmountFactoryQuery query) {
+            return false;
+        }
+    }
+
+    @Test
+    public void testNormalizedQueryCached() {
+        CountingQuerySpi querySpi = new CountingQuerySpi();
+        MonetaryAmountFactoryCache cache = new MonetaryAmountFactoryCache(AMOUNTS_SPI, querySpi);
+        MonetaryAmountFactoryQuery query = MonetaryAmountFactoryQueryBuilder.of().setPrecision(10).setMaxScale(4)
+                .setTargetType(TestAmount.class).build();
+        MonetaryAmountFactory<?> f1 = cache.getAmountFactory(query);
+        MonetaryAmountFactory<?> f2 = cache.getAmountFactory(
+                MonetaryAmountFactoryQueryBuilder.of().setPrecision(10).setMaxScale(4)
+                        .setTargetType(TestAmount.class).build());
+        assertEquals(querySpi.evaluations.get(), 1);
+        assertNotNull(f1);
+        assertNotNull(f2);
+        assertNotSame(f1, f2);
+        assertEquals(f2.getAmountType(), TestAmount.class);
+        cache.getAmountFactory(MonetaryAmountFactoryQueryBuilder.of().setPrecision(11).build());
+        assertEquals(querySpi.evaluations.get(), 2);
+    }
+
+    @Test
+    public void testCustomQueryNotCached() {
+        CountingQuerySpi querySpi = new CountingQuerySpi();
+        MonetaryAmountFactoryCache cache = new MonetaryAmountFactoryCache(AMOUNTS_SPI, querySpi);
+        MonetaryAmountFactoryQuery query = MonetaryAmountFactoryQueryBuilder.of().set("select", true).build();
+        cache.getAmountFactory(query);
+        cache.getAmountFactory(query);
+        assertEquals(querySpi.evaluations.get(), 2);
+    }
+
+    @Test
+    public void testQueryConfiguringFactoryNotCached() {
+        CountingQuerySpi querySpi = new ConfiguringQuerySpi();
+        MonetaryAmountFactoryCache cache = new MonetaryAmountFactoryCache(AMOUNTS_SPI, querySpi);
+        MonetaryAmountFactoryQuery query = MonetaryAmountFactoryQueryBuilder.of().setPrecision(10).build();
+        cache.getAmountFactory(query);
+        cache.getAmountFactory(query);
+        assertEquals(querySpi.evaluations.get(), 2);
+    }
+
+    @Test
+    public void testFullCacheEvictsLeastRecentlyUsed() {
+        CountingQuerySpi querySpi = new CountingQuerySpi();
+        MonetaryAmountFactoryCache cache = new MonetaryAmountFactoryCache(AMOUNTS_SPI, querySpi);
+        MonetaryAmountFactoryQuery used = MonetaryAmountFactoryQueryBuilder.of().setPrecision(0).build();
+        cache.getAmountFactory(used);
+        for (int i = 1; i <= MonetaryAmountFactoryCache.MAX_SIZE * 2; i++) {
+            cache.getAmountFactory(MonetaryAmountFactoryQueryBuilder.of().setPrecision(i).build());
+            cache.getAmountFactory(used);
+        }
+        int evaluations = querySpi.evaluations.get();
+        assertEquals(evaluations, MonetaryAmountFactoryCache.MAX_SIZE * 2 + 1);
+        MonetaryAmountFactoryQuery last = MonetaryAmountFactoryQueryBuilder.of()
+                .setPrecision(MonetaryAmountFactoryCache.MAX_SIZE * 2).build();
+        cache.getAmountFactory(last);
+        assertEquals(querySpi.evaluations.get(), evaluations);
+        cache.getAmountFactory(MonetaryAmountFactoryQueryBuilder.of().setPrecision(1).build());
+        assertEquals(querySpi.evaluations.get(), evaluations + 1);
+    }
+
+    @Test
+    public void testGetAmountFactories() {
+        AtomicInteger typeEvaluations = new AtomicInteger();
+        MonetaryAmountsSingletonSpi amountsSpi = new MonetaryAmountsSingletonSpi() {
+            @Override
+            public <T extends MonetaryAmount> MonetaryAmountFactory<T> getAmountFactory(Class<T> amountType) {
+                return AMOUNTS_SPI.getAmountFactory(amountType);
+            }
+
+            @Override
+            public Class<? extends MonetaryAmount> getDefaultAmountType() {
+                return TestAmount.class;
+            }
+
+            @Override
+            public Collection<Class<? extends MonetaryAmount>> getAmountTypes() {
+                typeEvaluations.incrementAndGet();
+                return Collections.singletonList(TestAmount.class);
+            }
+        };
+        MonetaryAmountFactoryCache cache = new MonetaryAmountFactoryCache(amountsSpi, null);
+        Collection<MonetaryAmountFactory<?>> f1 = cache.getAmountFactories();
+        Collection<MonetaryAmountFactory<?>> f2 = cache.getAmountFactories();
+        assertEquals(typeEvaluations.get(), 1);
+        assertEquals(f1.size(), 1);
+        assertEquals(f1.iterator().next().getAmountType(), TestAmount.class);
+        assertNotSame(f1.iterator().next(), f2.iterator().next());
+    }
+
+    @Test
+    public void testIsValidFor() {
+        CountingQuerySpi querySpi = new CountingQuerySpi();
+        MonetaryAmountFactoryCache cache = new MonetaryAmountFactoryCache(AMOUNTS_SPI, querySpi);
+        assertTrue(cache.isValidFor(AMOUNTS_SPI, querySpi));
+        assertFalse(cache.isValidFor(AMOUNTS_SPI, new CountingQuerySpi()));
+    }
+}
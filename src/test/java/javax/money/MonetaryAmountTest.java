@@ -18,6 +18,10 @@ package javax.money;
 
 import org.testng.annotations.Test;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
@@ -299,4 +303,154 @@ public class MonetaryAmountTest {
         //then
         assertFalse(retVal);
     }
+
+    /**
+     * Test method for
+     * {@link MonetaryAmount#multiply(Number, MonetaryRounding)}.
+     */
+    @Test
+    public void testMultiplyWithRounding() throws Exception {
+        //given
+        final MonetaryAmount monetaryAmount = TestAmount.of("10.25", "CHF");
+
+        //when
+        final MonetaryAmount retVal = monetaryAmount.multiply(new BigDecimal("0.077"),
+                RoundingPlan.of(2, RoundingMode.HALF_EVEN));
+
+        //then
+        assertEquals(retVal.getNumber().numberValue(BigDecimal.class), new BigDecimal("0.79"));
+        assertEquals(retVal.getCurrency(), monetaryAmount.getCurrency());
+    }
+
+    /**
+     * Test method for
+     * {@link MonetaryAmount#multiplyAdd(Number, MonetaryAmount)}.
+     */
+    @Test
+    public void testMultiplyAdd() throws Exception {
+        //given
+        final MonetaryAmount monetaryAmount = TestAmount.of("10.25", "CHF");
+
+        //when
+        final MonetaryAmount retVal = monetaryAmount.multiplyAdd(new BigDecimal("0.077"), TestAmount.of("1", "CHF"));
+
+        //then
+        assertEquals(retVal.getNumber().numberValue(BigDecimal.class).compareTo(new BigDecimal("1.78925")), 0);
+    }
+
+    /**
+     * Test method for
+     * {@link MonetaryAmount#multiplyAdd(Number, MonetaryAmount, MonetaryRounding)}, ensuring only the final result
+     * is rounded.
+     */
+    @Test
+    public void testMultiplyAddWithRounding() throws Exception {
+        //given
+        final MonetaryAmount monetaryAmount = TestAmount.of("0.125", "CHF");
+        final MonetaryRounding rounding = RoundingPlan.of(2, RoundingMode.HALF_UP);
+
+        //when
+        final MonetaryAmount retVal = monetaryAmount.multiplyAdd(2, TestAmount.of("0.004", "CHF"), rounding);
+
+        //then
+        assertEquals(retVal.getNumber().numberValue(BigDecimal.class), new BigDecimal("0.25"));
+        assertEquals(monetaryAmount.multiply(2, rounding).add(TestAmount.of("0.004", "CHF"))
+                .getNumber().numberValue(BigDecimal.class).compareTo(new BigDecimal("0.254")), 0);
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void testMultiplyWithNullRounding() throws Exception {
+        TestAmount.of("1", "CHF").multiply(2, null);
+    }
+
+    private static String[] toStrings(MonetaryAmount... amounts) {
+        String[] result = new String[amounts.length];
+        for (int i = 0; i < amounts.length; i++) {
+            result[i] = amounts[i].getNumber().numberValue(BigDecimal.class).stripTrailingZeros().toPlainString();
+        }
+        return result;
+    }
+
+    /**
+     * Test method for
+     * {@link MonetaryAmount#allocate(int)}.
+     */
+    @Test
+    public void testAllocateEqualParts() throws Exception {
+        //given
+        final MonetaryAmount monetaryAmount = TestAmount.of("100", "CHF");
+
+        //when
+        final MonetaryAmount[] retVal = monetaryAmount.allocate(3);
+
+        //then
+        assertEquals(toStrings(retVal), new String[]{"33.34", "33.33", "33.33"});
+        assertEquals(retVal[0].getCurrency(), monetaryAmount.getCurrency());
+    }
+
+    /**
+     * Test method for
+     * {@link MonetaryAmount#allocate(long...)}.
+     */
+    @Test
+    public void testAllocateRatios() throws Exception {
+        assertEquals(toStrings(TestAmount.of("0.05", "CHF").allocate(3, 7)), new String[]{"0.02", "0.03"});
+        assertEquals(toStrings(TestAmount.of("-0.05", "CHF").allocate(3, 7)), new String[]{"-0.02", "-0.03"});
+        assertEquals(toStrings(TestAmount.of("10", "CHF").allocate(0, 1, 1, 1)),
+                new String[]{"0", "3.34", "3.33", "3.33"});
+        assertEquals(toStrings(TestAmount.of("-10", "CHF").allocate(1, 1, 1)),
+                new String[]{"-3.34", "-3.33", "-3.33"});
+    }
+
+    /**
+     * Test method for
+     * {@link MonetaryAmount#allocate(long...)}, with an amount not being a whole number of minor units.
+     */
+    @Test
+    public void testAllocateSubMinorUnitFraction() throws Exception {
+        //when
+        final MonetaryAmount[] retVal = TestAmount.of("1.005", "CHF").allocate(1, 1);
+
+        //then
+        assertEquals(toStrings(retVal), new String[]{"0.505", "0.5"});
+        assertEquals(retVal[0].add(retVal[1]), TestAmount.of("1.005", "CHF"));
+    }
+
+    /**
+     * Test method for
+     * {@link MonetaryAmount#allocate(MonetaryAmount[], int, long...)}.
+     */
+    @Test
+    public void testAllocateIntoArray() throws Exception {
+        //given
+        final MonetaryAmount[] target = new MonetaryAmount[4];
+
+        //when
+        TestAmount.of("1", "CHF").allocate(target, 1, 1, 2);
+
+        //then
+        assertEquals(target[0], null);
+        assertEquals(toStrings(target[1], target[2]), new String[]{"0.34", "0.66"});
+        assertEquals(target[3], null);
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void testAllocateIntoTooSmallArray() throws Exception {
+        TestAmount.of("1", "CHF").allocate(new MonetaryAmount[2], 1, 1, 2);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testAllocateWithZeroParts() throws Exception {
+        TestAmount.of("1", "CHF").allocate(0);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testAllocateWithNegativeRatio() throws Exception {
+        TestAmount.of("1", "CHF").allocate(1, -1);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testAllocateWithZeroRatios() throws Exception {
+        TestAmount.of("1", "CHF").allocate(0, 0);
+    }
 }
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money;
+
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.testng.Assert.*;
+
+public class MonetaryAmountVectorTest {
+
+    private static final MonetaryAmountCreator<TestAmount> CREATOR =
+            MonetaryAmountCreator.of(TestAmountFactory::new, null);
+    private static final CurrencyUnit CHF = TestCurrency.of("CHF");
+    private static final CurrencyUnit EUR = TestCurrency.of("EUR");
+
+    private static MonetaryAmountVector vector(String... values) {
+        MonetaryAmountVector vector = MonetaryAmountVector.of(CREATOR, 1);
+        for (String value : values) {
+            String[] parts = value.split(" ");
+            vector.append(TestAmount.of(parts[0], parts[1]));
+        }
+        return vector;
+    }
+
+    private static List<String> toStrings(MonetaryAmountVector vector) {
+        return vector.stream().map(a -> a.getNumber().numberValue(BigDecimal.class).toPlainString() + ' ' +
+                a.getCurrency().getCurrencyCode()).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testAppendAndGet() {
+        MonetaryAmountVector vector = vector("1.50 CHF", "-2 EUR", "0.001 CHF");
+        vector.append(CHF, 12345, 2).append(EUR, new BigDecimal("123456789012345678901234567890.1"));
+        assertEquals(vector.size(), 5);
+        assertFalse(vector.isEmpty());
+        assertEquals(vector.getCurrencies(), Arrays.asList(CHF, EUR));
+        assertEquals(vector.get(0), TestAmount.of("1.50", "CHF"));
+        assertEquals(vector.getCurrency(1), EUR);
+        assertEquals(vector.getUnscaledLong(2), 1L);
+        assertEquals(vector.getScale(2), 3);
+        assertEquals(vector.getDecimal(3), new BigDecimal("123.45"));
+        assertFalse(vector.isUnscaledLongAvailable(4));
+        assertEquals(vector.getScale(4), 1);
+        assertEquals(vector.get(4), TestAmount.of("123456789012345678901234567890.1", "EUR"));
+        vector.set(1, TestAmount.of("7", "CHF"));
+        assertEquals(vector.asList().get(1), TestAmount.of("7", "CHF"));
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void testGet_InvalidIndex() {
+        vector("1 CHF").get(1);
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void testGetUnscaledLong_NotAvailable() {
+        MonetaryAmountVector.of(CREATOR).append(CHF, new BigDecimal("123456789012345678901234567890"))
+                .getUnscaledLong(0);
+    }
+
+    @Test
+    public void testAddSubtract() {
+        MonetaryAmountVector vector = vector("1.50 CHF", "-2 EUR", "9223372036854775807 CHF");
+        vector.add(vector("0.005 CHF", "1 EUR", "1 CHF"));
+        assertEquals(toStrings(vector), Arrays.asList("1.505 CHF", "-1 EUR", "9223372036854775808 CHF"));
+        assertFalse(vector.isUnscaledLongAvailable(2));
+        vector.subtract(vector("0.005 CHF", "1 EUR", "1 CHF"));
+        assertEquals(toStrings(vector), Arrays.asList("1.500 CHF", "-2 EUR", "9223372036854775807 CHF"));
+        assertTrue(vector.isUnscaledLongAvailable(2));
+    }
+
+    @Test(expectedExceptions = MonetaryException.class)
+    public void testAdd_CurrencyMismatch() {
+        vector("1 CHF").add(vector("1 EUR"));
+    }
+
+    @Test(expectedExceptions = MonetaryException.class)
+    public void testAdd_SizeMismatch() {
+        vector("1 CHF").add(vector("1 CHF", "2 CHF"));
+    }
+
+    @Test
+    public void testMultiply() {
+        MonetaryAmountVector vector = vector("1.50 CHF", "-2 EUR");
+        vector.multiply(3L);
+        assertEquals(toStrings(vector), Arrays.asList("4.50 CHF", "-6 EUR"));
+        vector.multiply(0.5d);
+        assertEquals(toStrings(vector), Arrays.asList("2.250 CHF", "-3.0 EUR"));
+        vector.multiply(new BigDecimal("1E+20"));
+        assertEquals(vector.getDecimal(0).compareTo(new BigDecimal("225E+18")), 0);
+        vector.multiply(Long.MAX_VALUE);
+        assertEquals(vector.getDecimal(1), new BigDecimal("-3.0E+20").multiply(BigDecimal.valueOf(Long.MAX_VALUE)));
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void testMultiply_NaN() {
+        vector("1 CHF").multiply(Double.NaN);
+    }
+
+    @Test
+    public void testNegateAbs() {
+        MonetaryAmountVector vector = vector("1.50 CHF", "-2 EUR").append(CHF, Long.MIN_VALUE, 0);
+        vector.negate();
+        assertEquals(toStrings(vector), Arrays.asList("-1.50 CHF", "2 EUR", "9223372036854775808 CHF"));
+        vector.negate().abs();
+        assertEquals(toStrings(vector), Arrays.asList("1.50 CHF", "2 EUR", "9223372036854775808 CHF"));
+    }
+
+    @Test
+    public void testRound() {
+        MonetaryAmountVector vector = vector("1.505 CHF", "-2.004 EUR", "3.10 CHF");
+        vector.round(RoundingPlan.of(2, RoundingMode.HALF_UP));
+        assertEquals(toStrings(vector), Arrays.asList("1.51 CHF", "-2.00 EUR", "3.10 CHF"));
+        vector.with(RoundingPlan.of(0, RoundingMode.DOWN));
+        assertEquals(toStrings(vector), Arrays.asList("1 CHF", "-2 EUR", "3 CHF"));
+    }
+
+    @Test(expectedExceptions = MonetaryException.class)
+    public void testRound_CurrencyMismatch() {
+        vector("1.505 CHF", "-2.004 EUR").round(RoundingPlan.of(CHF, RoundingMode.HALF_UP));
+    }
+
+    @Test
+    public void testSumByCurrency() {
+        MonetaryAmountVector vector = vector("1.50 CHF", "-2 EUR", "0.005 CHF", "9223372036854775807 EUR",
+                "10 EUR");
+        Map<CurrencyUnit, MonetaryAmount> sums = vector.sumByCurrency();
+        assertEquals(sums.keySet(), Arrays.asList(CHF, EUR).stream().collect(Collectors.toSet()));
+        assertEquals(sums.get(CHF), TestAmount.of("1.505", "CHF"));
+        assertEquals(sums.get(EUR), TestAmount.of("9223372036854775815", "EUR"));
+        assertTrue(MonetaryAmountVector.of(CREATOR).sumByCurrency().isEmpty());
+    }
+
+    @Test
+    public void testGroupByCurrency() {
+        MonetaryAmountVector vector = vector("1.50 CHF", "-2 EUR", "0.005 CHF");
+        Map<CurrencyUnit, MonetaryAmountVector> groups = vector.groupByCurrency();
+        assertEquals(groups.size(), 2);
+        assertEquals(toStrings(groups.get(CHF)), Arrays.asList("1.50 CHF", "0.005 CHF"));
+        assertEquals(toStrings(groups.get(EUR)), Arrays.asList("-2 EUR"));
+    }
+
+    @Test
+    public void testIterationAndClear() {
+        MonetaryAmountVector vector = vector("1 CHF", "2 CHF");
+        int count = 0;
+        for (MonetaryAmount amount : vector) {
+            assertEquals(amount.getCurrency(), CHF);
+            count++;
+        }
+        assertEquals(count, 2);
+        assertTrue(vector.clear().isEmpty());
+        assertEquals(vector.asList().size(), 0);
+    }
+
+    @Test
+    public void testAppendAllocation() {
+        MonetaryAmountVector vector = MonetaryAmountVector.of(CREATOR, 1)
+                .appendAllocation(TestAmount.of("100", "CHF"), 1, 1, 1)
+                .appendAllocation(TestAmount.of("-0.05", "EUR"), 0, 3, 7);
+        assertEquals(toStrings(vector), Arrays.asList("33.34 CHF", "33.33 CHF", "33.33 CHF", "0.00 EUR", "-0.02 EUR",
+                "-0.03 EUR"));
+        assertTrue(vector.isUnscaledLongAvailable(0));
+        assertEquals(vector.getScale(0), 2);
+    }
+
+    @Test
+    public void testAppendAllocationFallsBackToAmountArithmetic() {
+        MonetaryAmountVector vector = MonetaryAmountVector.of(CREATOR)
+                .appendAllocation(TestAmount.of("1.005", "CHF"), 1, 1)
+                .appendAllocation(TestAmount.of("92233720368547758.07", "CHF"), 1, 2);
+        assertEquals(vector.get(0).add(vector.get(1)), TestAmount.of("1.005", "CHF"));
+        assertEquals(vector.get(2).add(vector.get(3)), TestAmount.of("92233720368547758.07", "CHF"));
+        assertEquals(vector.getDecimal(2), new BigDecimal("30744573456182586.03"));
+    }
+}
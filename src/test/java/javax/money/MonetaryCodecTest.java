@@ -0,0 +1,291 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money;
+
+import org.testng.annotations.Test;
+
+import javax.money.convert.ConversionContext;
+import javax.money.convert.ConversionContextBuilder;
+import javax.money.convert.ProviderContext;
+import javax.money.convert.ProviderContextBuilder;
+import javax.money.convert.RateType;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.*;
+
+public class MonetaryCodecTest {
+
+    private static final CurrencyUnit CHF = TestCurrency.of("CHF");
+    private static final CurrencyUnit EUR = TestCurrency.of("EUR");
+    private static final MonetaryCodec CODEC = MonetaryCodec.of(Arrays.asList(EUR, CHF));
+
+    @Test
+    public void testAmounts() throws IOException {
+        List<TestAmount> amounts = Arrays.asList(TestAmount.of("1.50", "CHF"), TestAmount.of("-2", "EUR"),
+                TestAmount.of("123456789012345678901234567890.123", "CHF"), TestAmount.of("1E+5", "EUR"));
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        MonetaryCodec.Encoder encoder = CODEC.newEncoder(new DataOutputStream(bos));
+        for (TestAmount amount : amounts) {
+            encoder.writeAmount(amount);
+        }
+        MonetaryCodec.Decoder decoder = CODEC.newDecoder(new DataInputStream(
+                new ByteArrayInputStream(bos.toByteArray())));
+        for (TestAmount amount : amounts) {
+            assertEquals(decoder.readAmount(new TestAmountFactory()), amount);
+        }
+    }
+
+    @Test
+    public void testByteBuffer() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        CODEC.newEncoder(buffer).writeAmount(TestAmount.of("-0.05", "EUR")).writeNumber(Long.MIN_VALUE, -7)
+                .writeCurrency(Monetary.getCurrency("test1"));
+        buffer.flip();
+        MonetaryCodec.Decoder decoder = CODEC.newDecoder(buffer);
+        assertEquals(decoder.readAmount(new TestAmountFactory()), TestAmount.of("-0.05", "EUR"));
+        assertEquals(decoder.readNumber(), LongNumberValue.of(Long.MIN_VALUE, -7));
+        assertEquals(decoder.readCurrency().getCurrencyCode(), "test1");
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void testRegistry() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        CODEC.newEncoder(buffer).writeCurrency(CHF);
+        assertEquals(buffer.position(), 1);
+        buffer.clear();
+        MonetaryCodec.of().newEncoder(buffer).writeCurrency(CHF);
+        assertEquals(buffer.position(), 5);
+    }
+
+    @Test
+    public void testContexts() throws IOException {
+        List<AbstractContext> contexts = Arrays.asList(
+                MonetaryContextBuilder.of(TestAmount.class).setPrecision(19).setMaxScale(5).setFixedScale(true)
+                        .set("rounding", RoundingMode.HALF_EVEN).set("ratio", 0.5d).set("ratioF", 0.25f)
+                        .set("char", 'x').set("big", new BigDecimal("1.25")).set("bigInt", BigInteger.TEN)
+                        .set("count", 12L).set("date", LocalDate.of(2020, 1, 31)).build(),
+                CurrencyContextBuilder.of("TestProvider").set("codes", Arrays.asList("CHF", "EUR")).build(),
+                RoundingContextBuilder.of("TestRoundingProvider", "custom").setCurrency(CHF).build(),
+                ConversionContextBuilder.of().setRateType(RateType.HISTORIC).setProviderName("ECB").build(),
+                ProviderContextBuilder.of("ECB", RateType.DEFERRED, RateType.HISTORIC).build());
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        MonetaryCodec.Encoder encoder = CODEC.newEncoder(buffer);
+        for (AbstractContext context : contexts) {
+            encoder.writeContext(context);
+        }
+        encoder.writeContext(null);
+        buffer.flip();
+        MonetaryCodec.Decoder decoder = CODEC.newDecoder(buffer);
+        for (AbstractContext context : contexts) {
+            AbstractContext read = decoder.readContext();
+            assertEquals(read.getClass(), context.getClass());
+            assertEquals(read, context);
+        }
+        assertNull(decoder.readContext());
+        ProviderContext providerContext = (ProviderContext) contexts.get(4);
+        assertEquals(providerContext.getRateTypes(), ProviderContextBuilder.of("ECB", RateType.DEFERRED,
+                RateType.HISTORIC).build().getRateTypes());
+    }
+
+    @Test
+    public void testContextReferences() throws IOException {
+        MonetaryContext context = MonetaryContextBuilder.of(TestAmount.class).setPrecision(19).build();
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        MonetaryCodec.Encoder encoder = CODEC.newEncoder(buffer);
+        encoder.writeContext(context);
+        int definitionSize = buffer.position();
+        encoder.writeContext(MonetaryContextBuilder.of(TestAmount.class).setPrecision(19).build());
+        assertEquals(buffer.position() - definitionSize, 1);
+        // same attributes, but different context type
+        encoder.writeContext(CurrencyContextBuilder.of("x").importContext(context).build());
+        buffer.flip();
+        MonetaryCodec.Decoder decoder = CODEC.newDecoder(buffer);
+        MonetaryContext read = decoder.readContext(MonetaryContext.class);
+        assertSame(decoder.readContext(MonetaryContext.class), read);
+        assertEquals(decoder.readContext().getClass(), CurrencyContext.class);
+    }
+
+    @Test(expectedExceptions = MonetaryException.class)
+    public void testReadContext_WrongType() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        CODEC.newEncoder(buffer).writeContext(ConversionContext.ANY_CONVERSION);
+        buffer.flip();
+        CODEC.newDecoder(buffer).readContext(MonetaryContext.class);
+    }
+
+    @Test(expectedExceptions = MonetaryException.class)
+    public void testDecodeAmount_NoFactory() {
+        CODEC.decodeAmount(CODEC.encode(TestAmount.of("1", "CHF")));
+    }
+
+    @Test
+    public void testSizeComparedToSerialization() throws IOException {
+        List<Object[]> values = new ArrayList<>();
+        ByteArrayOutputStream codecBytes = new ByteArrayOutputStream();
+        MonetaryCodec.Encoder encoder = CODEC.newEncoder(new DataOutputStream(codecBytes));
+        for (int i = 0; i < 1000; i++) {
+            TestAmount amount = new TestAmount(i % 2 == 0 ? CHF : EUR, BigDecimal.valueOf(i * 37L, 2));
+            encoder.writeAmount(amount);
+            values.add(new Object[]{amount.getCurrency(), amount.getNumber().numberValue(BigDecimal.class),
+                    amount.getContext()});
+        }
+        ByteArrayOutputStream javaBytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(javaBytes)) {
+            oos.writeObject(values);
+        }
+        // one byte currency, up to 4 bytes number and one byte context reference per amount
+        assertTrue(codecBytes.size() < 6 * 1000 + 200, "Codec size: " + codecBytes.size());
+        assertTrue(codecBytes.size() * 5 < javaBytes.size(),
+                "Codec size: " + codecBytes.size() + ", serialized size: " + javaBytes.size());
+    }
+
+    @Test(expectedExceptions = InvalidClassException.class)
+    public void testReadContext_RejectsSerializedForeignTypes() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        CODEC.newEncoder(buffer).writeContext(MonetaryContextBuilder.of(TestAmount.class)
+                .set("format", URI.create("http://localhost")).build());
+        buffer.flip();
+        CODEC.newDecoder(buffer).readContext();
+    }
+
+    @Test(expectedExceptions = MonetaryException.class)
+    public void testReadCurrency_LengthExceedsBuffer() throws IOException {
+        byte[] bytes = {0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07};
+        CODEC.newDecoder(ByteBuffer.wrap(bytes)).readCurrency();
+    }
+
+    @Test(expectedExceptions = EOFException.class)
+    public void testReadCurrency_LengthExceedsInput() throws IOException {
+        byte[] bytes = {0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 'C', 'H', 'F'};
+        CODEC.newDecoder(new DataInputStream(new ByteArrayInputStream(bytes))).readCurrency();
+    }
+
+    @Test
+    public void testReadAmount_ContextWithoutAmountType() throws IOException {
+        // EUR, 0 with scale 0, monetary context definition without attributes
+        byte[] bytes = {1, 0, 0, 1, 1, 0};
+        assertTrue(CODEC.newDecoder(ByteBuffer.wrap(bytes)).readAmount() instanceof DummyAmount);
+    }
+
+    @Test(expectedExceptions = MonetaryException.class)
+    public void testReadNumber_BufferUnderflow() throws IOException {
+        CODEC.newDecoder(ByteBuffer.wrap(new byte[]{0})).readNumber();
+    }
+
+    @Test(expectedExceptions = MonetaryException.class)
+    public void testReadNumber_EmptyUnscaledValue() throws IOException {
+        CODEC.newDecoder(ByteBuffer.wrap(new byte[]{1, 0})).readNumber();
+    }
+
+    @Test(expectedExceptions = MonetaryException.class)
+    public void testReadNumber_ScaleOutOfRange() throws IOException {
+        // header with zig zag encoded scale 2^31
+        byte[] bytes = {(byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x20, 0};
+        CODEC.newDecoder(ByteBuffer.wrap(bytes)).readNumber();
+    }
+
+    @Test(expectedExceptions = MonetaryException.class)
+    public void testReadContext_NestingTooDeep() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        buffer.put(contextDefinition());
+        for (int i = 0; i <= MonetaryCodec.MAX_VALUE_DEPTH; i++) {
+            // single element list
+            buffer.put((byte) 14).put((byte) 1);
+        }
+        buffer.put((byte) 4).put((byte) 1).flip();
+        CODEC.newDecoder(buffer).readContext();
+    }
+
+    @Test
+    public void testReadContext_NestingWithinLimit() throws IOException {
+        List<Object> value = Arrays.asList("x");
+        for (int i = 1; i < MonetaryCodec.MAX_VALUE_DEPTH; i++) {
+            value = Arrays.asList(value, i);
+        }
+        MonetaryContext context = MonetaryContextBuilder.of(TestAmount.class).set("nested", value).build();
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        CODEC.newEncoder(buffer).writeContext(context);
+        buffer.flip();
+        assertEquals(CODEC.newDecoder(buffer).readContext(), context);
+    }
+
+    @Test(expectedExceptions = MonetaryException.class)
+    public void testReadContext_EnumNotAllowed() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        CODEC.newEncoder(buffer).writeContext(MonetaryContextBuilder.of(TestAmount.class)
+                .set("unit", TimeUnit.SECONDS).build());
+        buffer.flip();
+        CODEC.newDecoder(buffer).readContext();
+    }
+
+    @Test(expectedExceptions = MonetaryException.class)
+    public void testReadContext_InvalidEnumConstant() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        buffer.put(contextDefinition()).put((byte) 11);
+        putString(buffer, RoundingMode.class.getName());
+        putString(buffer, "NOT_A_MODE");
+        buffer.flip();
+        CODEC.newDecoder(buffer).readContext();
+    }
+
+    @Test(expectedExceptions = MonetaryException.class)
+    public void testReadContext_ClassNotAllowed() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        CODEC.newEncoder(buffer).writeContext(MonetaryContextBuilder.of(TestAmount.class)
+                .set("type", URI.class).build());
+        buffer.flip();
+        CODEC.newDecoder(buffer).readContext();
+    }
+
+    @Test(expectedExceptions = MonetaryException.class)
+    public void testReadContext_BigIntegerNotIntegral() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        // big integer value 1 with scale 1
+        buffer.put(contextDefinition()).put((byte) 9).put((byte) 4).put((byte) 2).flip();
+        CODEC.newDecoder(buffer).readContext();
+    }
+
+    /**
+     * Monetary context definition with a single attribute {@code k}, the value has to follow.
+     */
+    private static byte[] contextDefinition() {
+        return new byte[]{1, 1, 1, 1, 'k'};
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        buffer.put((byte) value.length()).put(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
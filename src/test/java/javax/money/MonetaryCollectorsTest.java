@@ -0,0 +1,107 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money;
+
+import org.testng.annotations.Test;
+
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.*;
+
+public class MonetaryCollectorsTest {
+
+    private static List<MonetaryAmount> amounts(String currency, int count) {
+        return IntStream.rangeClosed(1, count).mapToObj(i -> (MonetaryAmount) TestAmount.of(i + ".01", currency))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void testSumming() {
+        List<MonetaryAmount> amounts = amounts("CHF", 1000);
+        Optional<MonetaryAmount> total = amounts.parallelStream().collect(MonetaryCollectors.summing());
+        assertEquals(total.get(), TestAmount.of("500510.00", "CHF"));
+        assertEquals(amounts.stream().collect(MonetaryCollectors.summing()), total);
+        assertFalse(Stream.<MonetaryAmount>empty().collect(MonetaryCollectors.summing()).isPresent());
+    }
+
+    @Test
+    public void testSumming_Rounding() {
+        Optional<MonetaryAmount> total = Stream.of(TestAmount.of("1.004", "CHF"), TestAmount.of("2.004", "CHF"))
+                .collect(MonetaryCollectors.summing(RoundingPlan.of(2, RoundingMode.HALF_UP)));
+        assertEquals(total.get(), TestAmount.of("3.01", "CHF"));
+    }
+
+    @Test(expectedExceptions = MonetaryException.class)
+    public void testSumming_CurrencyMismatch() {
+        List<MonetaryAmount> amounts = amounts("CHF", 100);
+        amounts.addAll(amounts("EUR", 100));
+        amounts.parallelStream().collect(MonetaryCollectors.summing());
+    }
+
+    @Test
+    public void testAveraging() {
+        Optional<MonetaryAmount> average = amounts("CHF", 4).parallelStream()
+                .collect(MonetaryCollectors.averaging());
+        assertEquals(average.get().getNumber().doubleValueExact(), 2.51d);
+        assertFalse(Stream.<MonetaryAmount>empty().collect(MonetaryCollectors.averaging()).isPresent());
+    }
+
+    @Test
+    public void testSummingByCurrency() {
+        List<MonetaryAmount> amounts = amounts("CHF", 1000);
+        amounts.addAll(amounts("EUR", 10));
+        amounts.add(TestAmount.of("-1", "USD"));
+        Map<CurrencyUnit, MonetaryAmount> totals = amounts.parallelStream()
+                .collect(MonetaryCollectors.summingByCurrency());
+        assertEquals(totals.size(), 3);
+        assertEquals(totals.get(TestCurrency.of("CHF")), TestAmount.of("500510.00", "CHF"));
+        assertEquals(totals.get(TestCurrency.of("EUR")), TestAmount.of("55.10", "EUR"));
+        assertEquals(totals.get(TestCurrency.of("USD")), TestAmount.of("-1", "USD"));
+    }
+
+    @Test
+    public void testMinMax() {
+        List<MonetaryAmount> amounts = amounts("CHF", 1000);
+        amounts.add(TestAmount.of("-0.5", "CHF"));
+        assertEquals(amounts.parallelStream().collect(MonetaryCollectors.minimizing()).get(),
+                TestAmount.of("-0.5", "CHF"));
+        assertEquals(amounts.parallelStream().collect(MonetaryCollectors.maximizing()).get(),
+                TestAmount.of("1000.01", "CHF"));
+        assertFalse(Stream.<MonetaryAmount>empty().collect(MonetaryCollectors.maximizing()).isPresent());
+        MonetaryAmount first = TestAmount.of("1.0", "CHF");
+        assertSame(Stream.of(first, TestAmount.of("1.00", "CHF")).collect(MonetaryCollectors.minimizing()).get(),
+                first);
+    }
+
+    @Test(expectedExceptions = MonetaryException.class)
+    public void testMinimizing_CurrencyMismatch() {
+        Stream.of(TestAmount.of("1", "CHF"), TestAmount.of("2", "EUR")).collect(MonetaryCollectors.minimizing());
+    }
+
+    @Test
+    public void testSummingByCurrency_Empty() {
+        assertTrue(Arrays.<MonetaryAmount>asList().stream().collect(MonetaryCollectors.summingByCurrency())
+                .isEmpty());
+    }
+}
@@ -18,10 +18,19 @@ package javax.money;
 
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.testng.Assert.*;
 
@@ -120,4 +129,94 @@ public class MonetaryContextTest {
         assertTrue(ctx.toString().contains("amountType"));
         assertTrue(ctx.toString().contains("MonetaryContext"));
     }
+
+    @Test
+    public void testSerialization() throws Exception {
+        MonetaryContext ctx = MonetaryContextBuilder.of().setPrecision(10).set("a", "A").build();
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(ctx);
+        }
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+            MonetaryContext read = (MonetaryContext) ois.readObject();
+            assertEquals(read, ctx);
+            assertEquals(read.hashCode(), ctx.hashCode());
+            assertEquals(read.getPrecision(), 10);
+            assertEquals(read.getText("a"), "A");
+        }
+    }
+
+    @Test
+    public void testBuildReturnsCanonicalInstance() throws Exception {
+        MonetaryContext ctx = MonetaryContextBuilder.of(TestAmount.class).setPrecision(7).build();
+        assertSame(MonetaryContextBuilder.of(TestAmount.class).setPrecision(7).build(), ctx);
+        assertSame(MonetaryContextBuilder.of(ctx).build(), ctx);
+        assertNotSame(MonetaryContextBuilder.of(TestAmount.class).setPrecision(8).build(), ctx);
+    }
+
+    @Test
+    public void testBuildDoesNotShareInstancesOfOtherContextTypes() throws Exception {
+        RoundingContext roundingContext = RoundingContextBuilder.of("interned", "interned").build();
+        MonetaryContext ctx = MonetaryContextBuilder.of().importContext(roundingContext)
+                .removeAttributes(MonetaryContext.AMOUNT_TYPE).build();
+        assertNotEquals(ctx, roundingContext);
+        assertNotEquals(roundingContext, ctx);
+        assertSame(ctx.getClass(), MonetaryContext.class);
+        assertSame(RoundingContextBuilder.of("interned", "interned").build(), roundingContext);
+    }
+
+    @Test
+    public void testBuildKeepsCanonicalInstanceOfLiveContexts() throws Exception {
+        MonetaryContext ctx = MonetaryContextBuilder.of().set("live", 0).build();
+        List<MonetaryContext> others = new ArrayList<>();
+        for (int i = 1; i <= 2000; i++) {
+            others.add(MonetaryContextBuilder.of().set("live", i).build());
+        }
+        assertSame(MonetaryContextBuilder.of().set("live", 0).build(), ctx);
+        assertSame(MonetaryContextBuilder.of().set("live", 2000).build(), others.get(1999));
+    }
+
+    @Test
+    public void testBuildReturnsCanonicalInstanceAcrossThreads() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<MonetaryContext>> results = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                results.add(executor.submit(() -> MonetaryContextBuilder.of().set("threads", 1).build()));
+            }
+            MonetaryContext ctx = MonetaryContextBuilder.of().set("threads", 1).build();
+            for (Future<MonetaryContext> result : results) {
+                assertSame(result.get(), ctx);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testGetKeysIsCached() throws Exception {
+        MonetaryContext ctx = MonetaryContextBuilder.of().setPrecision(7).setMaxScale(3).set("a", "A").build();
+        Set<String> keys = ctx.getKeys(Integer.class);
+        assertEquals(keys, new HashSet<>(Arrays.asList("precision", "maxScale")));
+        assertSame(ctx.getCachedKeys(Integer.class), ctx.getCachedKeys(Integer.class));
+        assertTrue(ctx.getKeys(Long.class).isEmpty());
+    }
+
+    @Test
+    public void testGetKeysReturnsCopy() throws Exception {
+        MonetaryContext ctx = MonetaryContextBuilder.of().setPrecision(7).build();
+        Set<String> keys = ctx.getKeys(Integer.class);
+        keys.clear();
+        keys.add("foo");
+        assertEquals(ctx.getKeys(Integer.class), Collections.singleton("precision"));
+        assertNotSame(ctx.getKeys(Integer.class), ctx.getKeys(Integer.class));
+    }
+
+    @Test
+    public void testForEach() throws Exception {
+        MonetaryContext ctx = MonetaryContextBuilder.of(TestAmount.class).setPrecision(7).set("a", "A").build();
+        List<String> entries = new ArrayList<>();
+        ctx.forEach((key, value) -> entries.add(key + '=' + value));
+        assertEquals(entries, Arrays.asList("a=A", "amountType=" + TestAmount.class, "precision=7"));
+    }
 }
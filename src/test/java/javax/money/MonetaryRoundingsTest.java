@@ -21,9 +21,15 @@ import org.testng.annotations.Test;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 public class MonetaryRoundingsTest {
@@ -83,6 +89,71 @@ public class MonetaryRoundingsTest {
                         .build()));
     }
 
+    @Test
+    public void testMonetaryRoundingsGetRounding_FirstMatch() {
+        MonetaryRounding rounding = Monetary.getRounding(RoundingQueryBuilder.of()
+                .setProviderNames("TestRoundingProvider", "TestRoundingProvider").setRoundingName("custom2").build());
+        assertNotNull(rounding);
+        assertEquals(rounding.getRoundingContext().getRoundingName(), "custom2");
+        assertNull(Monetary.getRounding(RoundingQueryBuilder.of().setRoundingName("foo").build()));
+    }
+
+    @Test
+    public void testMonetaryRoundingsGetRounding_Parallel() {
+        RoundingQuery query = RoundingQueryBuilder.of().setProviderNames("TestRoundingProvider", "TestRoundingProvider")
+                .setRoundingName("custom1").setParallelEvaluation(true).build();
+        MonetaryRounding rounding = Monetary.getRounding(query);
+        assertNotNull(rounding);
+        assertEquals(rounding.getRoundingContext().getRoundingName(), "custom1");
+        assertEquals(Monetary.getRoundings(query).size(), 2);
+        assertTrue(Monetary.isRoundingAvailable(query));
+        assertFalse(Monetary.isRoundingAvailable(query.toBuilder().setRoundingName("foo").build()));
+    }
+
+    @Test
+    public void testMonetaryRoundingsGetRounding_ParallelExecutor() {
+        AtomicInteger executed = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            RoundingQuery query = RoundingQueryBuilder.of()
+                    .setProviderNames("TestRoundingProvider", "TestRoundingProvider").setRoundingName("custom1")
+                    .setParallelEvaluation(true).setExecutor(r -> {
+                        executed.incrementAndGet();
+                        pool.execute(r);
+                    }).build();
+            assertEquals(Monetary.getRoundings(query).size(), 2);
+            assertEquals(executed.get(), 2);
+            assertNotNull(Monetary.getRounding(query));
+            assertEquals(executed.get(), 4);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testRoundingListener() {
+        long hits = TestRoundingListener.getCount("TestRoundingProvider:custom2:hit");
+        long misses = TestRoundingListener.getCount("TestRoundingProvider:foo:miss");
+        Monetary.getRounding("custom2");
+        assertFalse(Monetary.isRoundingAvailable("foo"));
+        assertEquals(TestRoundingListener.getCount("TestRoundingProvider:custom2:hit"), hits + 1);
+        assertEquals(TestRoundingListener.getCount("TestRoundingProvider:foo:miss"), misses + 1);
+        long lookups = TestRoundingListener.getCount("default:CHF");
+        Monetary.getDefaultRounding().apply(TestAmount.of("1.234", "CHF"));
+        assertEquals(TestRoundingListener.getCount("default:CHF"), lookups + 1);
+        // listeners are resolved when applied, so the default rounding is shared
+        assertSame(Monetary.getDefaultRounding(), Monetary.getDefaultRounding());
+    }
+
+    @Test
+    public void testRoundingListener_Failing() {
+        long failures = TestRoundingListener.getCount("TestRoundingProvider:error");
+        RoundingQuery query = RoundingQueryBuilder.of().setRoundingName("custom2").set("listenerError", true)
+                .build();
+        assertNotNull(Monetary.getRounding(query));
+        assertEquals(TestRoundingListener.getCount("TestRoundingProvider:error"), failures);
+    }
+
     @Test
     public void testGetDefaultProviderChain() {
         List<String> chain = Monetary.getDefaultRoundingProviderChain();
@@ -103,4 +174,11 @@ public class MonetaryRoundingsTest {
         assertNotNull(names);
         assertTrue(names.size() == 1);
     }
+
+    @Test
+    public void testMonetaryRoundingsGetProviderNames_Modifiable() {
+        Set<String> names = Monetary.getRoundingProviderNames();
+        names.clear();
+        assertEquals(Monetary.getRoundingProviderNames().size(), 1);
+    }
 }
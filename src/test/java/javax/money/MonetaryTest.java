@@ -100,6 +100,13 @@ public class MonetaryTest {
         assertNotNull(chain);
     }
 
+    @Test
+    public void testGetProviderNames_Modifiable() {
+        Set<String> names = Monetary.getCurrencyProviderNames();
+        names.add("foo");
+        assertFalse(Monetary.getCurrencyProviderNames().contains("foo"));
+    }
+
     @Test
     public void testGetDefaultProviderChain() {
         List<String> chain = Monetary.getDefaultCurrencyProviderChain();
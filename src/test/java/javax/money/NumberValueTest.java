@@ -19,6 +19,7 @@ package javax.money;
 import org.testng.annotations.Test;
 
 import javax.money.convert.TestNumberValue;
+import java.math.BigDecimal;
 
 import static org.testng.Assert.*;
 
@@ -35,4 +36,33 @@ public class NumberValueTest {
         assertEquals(nv1a.compareTo(nv1b), 0);
         assertEquals(nv2.compareTo(nv2), 0);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testDecompose() {
+        NumberValue number = new TestNumberValue(new BigDecimal("-123.4567"));
+        NumberParts parts = number.decompose(new NumberParts());
+        assertEquals(parts.getIntegerPart(), number.longValue());
+        assertEquals(parts.getFractionNumerator(), number.getAmountFractionNumerator());
+        assertEquals(parts.getFractionDenominator(), number.getAmountFractionDenominator());
+        assertEquals(parts.getScale(), number.getScale());
+    }
+
+    @Test
+    public void testDecompose_UnscaledLong() {
+        NumberParts parts = new NumberParts();
+        assertSame(LongNumberValue.of(-1234567, 4).decompose(parts), parts);
+        assertEquals(parts.getIntegerPart(), -123L);
+        assertEquals(parts.getFractionNumerator(), -4567L);
+        assertEquals(parts.getFractionDenominator(), 10000L);
+        assertEquals(parts.getScale(), 4);
+        LongNumberValue.of(42).decompose(parts);
+        assertEquals(parts.getIntegerPart(), 42L);
+        assertEquals(parts.getFractionNumerator(), 0L);
+        assertEquals(parts.getFractionDenominator(), 1L);
+        assertEquals(parts.getScale(), 0);
+        LongNumberValue.of(42, -2).decompose(parts);
+        assertEquals(parts.getIntegerPart(), 4200L);
+        assertEquals(parts.getFractionDenominator(), 1L);
+        assertEquals(parts.getScale(), -2);
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money;
+
+import org.testng.annotations.Test;
+
+import javax.money.convert.ConversionQuery;
+import javax.money.convert.ConversionQueryBuilder;
+import javax.money.convert.RateType;
+import javax.money.format.AmountFormatQuery;
+import javax.money.format.AmountFormatQueryBuilder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+/**
+ * Tests for {@link QueryTemplate}.
+ */
+public class QueryTemplateTest {
+
+    private static final CurrencyUnit CHF = TestCurrency.of("CHF");
+    private static final CurrencyUnit EUR = TestCurrency.of("EUR");
+
+    private static final QueryTemplate<ConversionQuery> TEMPLATE = QueryTemplate.of(
+            ConversionQueryBuilder.of().setProviderNames("a", "b").setRateTypes(RateType.DEFERRED).build(),
+            ConversionQuery.TERM_CURRENCY, ConversionQuery.BASE_CURRENCY);
+
+    @Test
+    public void testCreate() {
+        ConversionQuery query = TEMPLATE.create(EUR, CHF);
+        assertEquals(query.getBaseCurrency(), CHF);
+        assertEquals(query.getCurrency(), EUR);
+        assertEquals(query.getProviderNames(), Arrays.asList("a", "b"));
+        assertEquals(query.getRateTypes(), Collections.singleton(RateType.DEFERRED));
+        assertEquals(query, ConversionQueryBuilder.of().setProviderNames("a", "b").setRateTypes(RateType.DEFERRED)
+                .setBaseCurrency(CHF).setTermCurrency(EUR).build());
+        assertNull(TEMPLATE.getTemplate().getBaseCurrency());
+        assertEquals(TEMPLATE.create(new Object[]{EUR, CHF}), query);
+        assertEquals(TEMPLATE.getProviderNames(), Arrays.asList("a", "b"));
+        assertEquals(TEMPLATE.getVariables(), Arrays.asList(ConversionQuery.TERM_CURRENCY,
+                ConversionQuery.BASE_CURRENCY));
+    }
+
+    @Test
+    public void testCreateReplacesTemplateValues() {
+        QueryTemplate<CurrencyQuery> template = QueryTemplate.of(
+                CurrencyQueryBuilder.of().setCurrencyCodes("CHF").setProviderName("a").build(),
+                CurrencyQuery.CURRENCY_CODES);
+        CurrencyQuery query = template.create(Collections.singletonList("EUR"));
+        assertEquals(query.getCurrencyCodes(), Collections.singletonList("EUR"));
+        assertEquals(query.getProviderNames(), Collections.singletonList("a"));
+        assertEquals(query.getKeys(Collection.class), template.getTemplate().getKeys(Collection.class));
+        assertEquals(template.getTemplate().getCurrencyCodes(), Collections.singletonList("CHF"));
+        assertSame(query.getClass(), CurrencyQuery.class);
+    }
+
+    @Test
+    public void testCreateCopiesCollections() {
+        QueryTemplate<CurrencyQuery> template = QueryTemplate.of(CurrencyQueryBuilder.of().build(),
+                CurrencyQuery.CURRENCY_CODES);
+        List<String> codes = new ArrayList<>(Collections.singletonList("EUR"));
+        CurrencyQuery query = template.create(codes);
+        int hash = query.hashCode();
+        codes.add("CHF");
+        assertEquals(query.getCurrencyCodes(), Collections.singletonList("EUR"));
+        assertEquals(query.hashCode(), hash);
+        assertEquals(query, template.create(Collections.singletonList("EUR")));
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public void testCreateCollectionsNotModifiable() {
+        QueryTemplate<CurrencyQuery> template = QueryTemplate.of(CurrencyQueryBuilder.of().build(),
+                CurrencyQuery.CURRENCY_CODES);
+        template.create(new ArrayList<>(Collections.singletonList("EUR"))).getCurrencyCodes().add("CHF");
+    }
+
+    @Test
+    public void testCreateKeepsQueryType() {
+        AttributeKey<String> key = AttributeKey.of("QueryTemplateTest.x", String.class);
+        MonetaryAmountFactoryQuery factoryQuery = QueryTemplate.of(MonetaryAmountFactoryQueryBuilder.of()
+                .setPrecision(5).build(), key).create("x");
+        assertSame(factoryQuery.getClass(), MonetaryAmountFactoryQuery.class);
+        assertEquals(factoryQuery.getPrecision(), Integer.valueOf(5));
+        AmountFormatQuery formatQuery = QueryTemplate.of(AmountFormatQueryBuilder.of("format").build(), key)
+                .create("x");
+        assertSame(formatQuery.getClass(), AmountFormatQuery.class);
+        assertEquals(formatQuery.getFormatName(), "format");
+        assertEquals(formatQuery.getText("QueryTemplateTest.x"), "x");
+    }
+
+    @Test
+    public void testCreateWithThreeVariables() {
+        QueryTemplate<RoundingQuery> template = QueryTemplate.of(RoundingQueryBuilder.of().setProviderName("a")
+                        .build(), RoundingQuery.CURRENCY, AttributeKey.of("QueryTemplateTest.b", String.class),
+                AttributeKey.of("QueryTemplateTest.a", Integer.class));
+        RoundingQuery query = template.create(CHF, "b", 1);
+        assertEquals(query.getCurrency(), CHF);
+        assertEquals(query.getText("QueryTemplateTest.b"), "b");
+        assertEquals(query.getInt("QueryTemplateTest.a"), Integer.valueOf(1));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testCreateWithInvalidType() {
+        TEMPLATE.create("CHF", EUR);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testCreateWithInvalidCount() {
+        TEMPLATE.create(CHF);
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void testCreateWithNull() {
+        TEMPLATE.create(CHF, null);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testOfWithDuplicateVariable() {
+        QueryTemplate.of(ConversionQueryBuilder.of().build(), ConversionQuery.BASE_CURRENCY,
+                ConversionQuery.BASE_CURRENCY);
+    }
+}
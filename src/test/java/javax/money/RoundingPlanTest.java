@@ -0,0 +1,123 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money;
+
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.testng.Assert.*;
+
+public class RoundingPlanTest {
+
+    @Test
+    public void testOf_Scale() {
+        RoundingPlan plan = RoundingPlan.of(2, RoundingMode.HALF_UP);
+        assertNull(plan.getCurrency());
+        assertEquals(plan.getScale(), 2);
+        assertEquals(plan.getRoundingMode(), RoundingMode.HALF_UP);
+        assertEquals(plan.getCashStep(), 1);
+        assertEquals(plan.getRoundingContext().getInt("scale"), Integer.valueOf(2));
+        assertEquals(plan.getRoundingContext().get(RoundingMode.class), RoundingMode.HALF_UP);
+    }
+
+    @Test
+    public void testOf_Currency() {
+        CurrencyUnit chf = TestCurrency.of("CHF");
+        RoundingPlan plan = RoundingPlan.of(chf, RoundingMode.HALF_EVEN);
+        assertEquals(plan.getCurrency(), chf);
+        assertEquals(plan.getScale(), chf.getDefaultFractionDigits());
+        assertEquals(plan.getRoundingContext().getCurrency(), chf);
+        assertEquals(plan.getRoundingContext().getRoundingName(), "CHF");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testOf_InvalidCashStep() {
+        RoundingPlan.of(TestCurrency.of("CHF"), 2, RoundingMode.HALF_UP, 0);
+    }
+
+    @Test
+    public void testRound() {
+        RoundingPlan plan = RoundingPlan.of(2, RoundingMode.HALF_UP);
+        assertEquals(plan.round(new BigDecimal("1.235")), new BigDecimal("1.24"));
+        assertEquals(plan.round(new BigDecimal("-1.235")), new BigDecimal("-1.24"));
+    }
+
+    @Test
+    public void testRound_CashStep() {
+        RoundingPlan plan = RoundingPlan.of(TestCurrency.of("CHF"), 2, RoundingMode.HALF_UP, 5);
+        assertEquals(plan.round(new BigDecimal("1.024")), new BigDecimal("1.00"));
+        assertEquals(plan.round(new BigDecimal("1.025")), new BigDecimal("1.05"));
+        assertEquals(plan.round(new BigDecimal("1.074")), new BigDecimal("1.05"));
+        assertEquals(plan.round(new BigDecimal("1.075")), new BigDecimal("1.10"));
+    }
+
+    @Test
+    public void testApply() {
+        RoundingPlan plan = RoundingPlan.of(TestCurrency.of("CHF"), 2, RoundingMode.HALF_UP, 5);
+        MonetaryAmount amount = TestAmount.of("12.3456", "CHF").with(plan);
+        assertEquals(amount, TestAmount.of("12.35", "CHF"));
+        amount = TestAmount.of("12.3251", "CHF").with(RoundingPlan.of(0, RoundingMode.DOWN));
+        assertEquals(amount, TestAmount.of("12", "CHF"));
+    }
+
+    @Test(expectedExceptions = MonetaryException.class)
+    public void testApply_CurrencyMismatch() {
+        TestAmount.of("12.3456", "EUR").with(RoundingPlan.of(TestCurrency.of("CHF"), RoundingMode.HALF_UP));
+    }
+
+    @Test
+    public void testEqualsHashCode() {
+        RoundingPlan plan1 = RoundingPlan.of(TestCurrency.of("CHF"), 2, RoundingMode.HALF_UP, 5);
+        RoundingPlan plan2 = RoundingPlan.of(TestCurrency.of("CHF"), 2, RoundingMode.HALF_UP, 5);
+        RoundingPlan plan3 = RoundingPlan.of(TestCurrency.of("CHF"), 2, RoundingMode.HALF_UP, 1);
+        assertEquals(plan1, plan2);
+        assertEquals(plan1.hashCode(), plan2.hashCode());
+        assertNotEquals(plan1, plan3);
+    }
+
+    @Test
+    public void testSerializable() throws Exception {
+        RoundingPlan plan = RoundingPlan.of(TestCurrency.of("CHF"), 2, RoundingMode.HALF_UP, 5);
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(plan);
+        }
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+            RoundingPlan read = (RoundingPlan) ois.readObject();
+            assertEquals(read.getScale(), 2);
+            assertEquals(read.getCashStep(), 5);
+            assertEquals(read.getCurrency().getCurrencyCode(), "CHF");
+            assertEquals(read.round(new BigDecimal("1.074")), new BigDecimal("1.05"));
+        }
+    }
+
+    @Test
+    public void testMonetaryGetRoundingPlan() {
+        RoundingPlan plan = Monetary.getRoundingPlan(
+                RoundingQueryBuilder.of().setCurrency(TestCurrency.of("CHF")).setScale(3).build());
+        assertNotNull(plan);
+        assertEquals(plan.getScale(), 3);
+        assertEquals(plan.getRoundingContext().getProviderName(), "TestRoundingProvider");
+        assertNull(Monetary.getRoundingPlan(RoundingQueryBuilder.of().setRoundingName("custom1").build()));
+    }
+}
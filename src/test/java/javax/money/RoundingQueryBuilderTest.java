@@ -18,6 +18,8 @@ package javax.money;
 
 import org.testng.annotations.Test;
 
+import java.util.concurrent.Executor;
+
 import static org.testng.Assert.*;
 
 public class RoundingQueryBuilderTest {
@@ -28,6 +30,19 @@ public class RoundingQueryBuilderTest {
         assertEquals(b.build().getScale(), Integer.valueOf(6));
     }
 
+    @Test
+    public void testSetParallelEvaluation() throws Exception {
+        assertFalse(RoundingQueryBuilder.of().build().isParallelEvaluation());
+        assertTrue(RoundingQueryBuilder.of().setParallelEvaluation(true).build().isParallelEvaluation());
+    }
+
+    @Test
+    public void testSetExecutor() throws Exception {
+        assertNull(RoundingQueryBuilder.of().build().getExecutor());
+        Executor executor = Runnable::run;
+        assertSame(RoundingQueryBuilder.of().setExecutor(executor).build().getExecutor(), executor);
+    }
+
     @Test
     public void testOf() throws Exception {
         RoundingQueryBuilder b1 = RoundingQueryBuilder.of().setScale(6);
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money;
+
+import javax.money.convert.TestNumberValue;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+/**
+ * Simple {@link java.math.BigDecimal} based amount implementation, for testing only.
+ */
+public final class TestAmount implements MonetaryAmount {
+
+    static final MonetaryContext CONTEXT = MonetaryContextBuilder.of(TestAmount.class).build();
+
+    private final CurrencyUnit currency;
+    private final BigDecimal number;
+
+    public TestAmount(CurrencyUnit currency, BigDecimal number) {
+        this.currency = Objects.requireNonNull(currency);
+        this.number = Objects.requireNonNull(number);
+    }
+
+    public static TestAmount of(String number, String currencyCode) {
+        return new TestAmount(TestCurrency.of(currencyCode), new BigDecimal(number));
+    }
+
+    private static BigDecimal toBigDecimal(Number number) {
+        if (number instanceof BigDecimal) {
+            return (BigDecimal) number;
+        }
+        if (number instanceof NumberValue) {
+            return ((NumberValue) number).numberValue(BigDecimal.class);
+        }
+        return new BigDecimal(number.toString());
+    }
+
+    private TestAmount checkCurrency(MonetaryAmount amount) {
+        if (!currency.getCurrencyCode().equals(amount.getCurrency().getCurrencyCode())) {
+            throw new MonetaryException("Currency mismatch: " + currency + '/' + amount.getCurrency());
+        }
+        return this;
+    }
+
+    private TestAmount of(BigDecimal value) {
+        return new TestAmount(currency, value);
+    }
+
+    @Override
+    public CurrencyUnit getCurrency() {
+        return currency;
+    }
+
+    @Override
+    public NumberValue getNumber() {
+        return new TestNumberValue(number);
+    }
+
+    @Override
+    public MonetaryContext getContext() {
+        return CONTEXT;
+    }
+
+    @Override
+    public MonetaryAmountFactory<TestAmount> getFactory() {
+        return new TestAmountFactory().setAmount(this);
+    }
+
+    @Override
+    public boolean isGreaterThan(MonetaryAmount amount) {
+        return compareTo(amount) > 0;
+    }
+
+    @Override
+    public boolean isGreaterThanOrEqualTo(MonetaryAmount amount) {
+        return compareTo(amount) >= 0;
+    }
+
+    @Override
+    public boolean isLessThan(MonetaryAmount amount) {
+        return compareTo(amount) < 0;
+    }
+
+    @Override
+    public boolean isLessThanOrEqualTo(MonetaryAmount amt) {
+        return compareTo(amt) <= 0;
+    }
+
+    @Override
+    public boolean isEqualTo(MonetaryAmount amount) {
+        return compareTo(amount) == 0;
+    }
+
+    @Override
+    public int signum() {
+        return number.signum();
+    }
+
+    @Override
+    public MonetaryAmount add(MonetaryAmount augend) {
+        return checkCurrency(augend).of(number.add(toBigDecimal(augend.getNumber())));
+    }
+
+    @Override
+    public MonetaryAmount subtract(MonetaryAmount subtrahend) {
+        return checkCurrency(subtrahend).of(number.subtract(toBigDecimal(subtrahend.getNumber())));
+    }
+
+    @Override
+    public MonetaryAmount multiply(long multiplicand) {
+        return of(number.multiply(BigDecimal.valueOf(multiplicand)));
+    }
+
+    @Override
+    public MonetaryAmount multiply(double multiplicand) {
+        return of(number.multiply(BigDecimal.valueOf(multiplicand)));
+    }
+
+    @Override
+    public MonetaryAmount multiply(Number multiplicand) {
+        return of(number.multiply(toBigDecimal(multiplicand)));
+    }
+
+    @Override
+    public MonetaryAmount divide(long divisor) {
+        return of(number.divide(BigDecimal.valueOf(divisor), MathContext.DECIMAL64));
+    }
+
+    @Override
+    public MonetaryAmount divide(double divisor) {
+        return of(number.divide(BigDecimal.valueOf(divisor), MathContext.DECIMAL64));
+    }
+
+    @Override
+    public MonetaryAmount divide(Number divisor) {
+        return of(number.divide(toBigDecimal(divisor), MathContext.DECIMAL64));
+    }
+
+    @Override
+    public MonetaryAmount remainder(long divisor) {
+        return of(number.remainder(BigDecimal.valueOf(divisor)));
+    }
+
+    @Override
+    public MonetaryAmount remainder(double divisor) {
+        return of(number.remainder(BigDecimal.valueOf(divisor)));
+    }
+
+    @Override
+    public MonetaryAmount remainder(Number divisor) {
+        return of(number.remainder(toBigDecimal(divisor)));
+    }
+
+    @Override
+    public MonetaryAmount[] divideAndRemainder(long divisor) {
+        return divideAndRemainder(BigDecimal.valueOf(divisor));
+    }
+
+    @Override
+    public MonetaryAmount[] divideAndRemainder(double divisor) {
+        return divideAndRemainder(BigDecimal.valueOf(divisor));
+    }
+
+    @Override
+    public MonetaryAmount[] divideAndRemainder(Number divisor) {
+        BigDecimal[] result = number.divideAndRemainder(toBigDecimal(divisor));
+        return new MonetaryAmount[]{of(result[0]), of(result[1])};
+    }
+
+    @Override
+    public MonetaryAmount divideToIntegralValue(long divisor) {
+        return of(number.divideToIntegralValue(BigDecimal.valueOf(divisor)));
+    }
+
+    @Override
+    public MonetaryAmount divideToIntegralValue(double divisor) {
+        return of(number.divideToIntegralValue(BigDecimal.valueOf(divisor)));
+    }
+
+    @Override
+    public MonetaryAmount divideToIntegralValue(Number divisor) {
+        return of(number.divideToIntegralValue(toBigDecimal(divisor)));
+    }
+
+    @Override
+    public MonetaryAmount scaleByPowerOfTen(int power) {
+        return of(number.scaleByPowerOfTen(power));
+    }
+
+    @Override
+    public MonetaryAmount abs() {
+        return of(number.abs());
+    }
+
+    @Override
+    public MonetaryAmount negate() {
+        return of(number.negate());
+    }
+
+    @Override
+    public MonetaryAmount plus() {
+        return this;
+    }
+
+    @Override
+    public MonetaryAmount stripTrailingZeros() {
+        return of(number.stripTrailingZeros());
+    }
+
+    @Override
+    public int compareTo(MonetaryAmount o) {
+        checkCurrency(o);
+        return number.compareTo(toBigDecimal(o.getNumber()));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o instanceof TestAmount) {
+            TestAmount other = (TestAmount) o;
+            return currency.getCurrencyCode().equals(other.currency.getCurrencyCode()) &&
+                    number.compareTo(other.number) == 0;
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(currency.getCurrencyCode(), number.stripTrailingZeros());
+    }
+
+    @Override
+    public String toString() {
+        return currency.getCurrencyCode() + ' ' + number.toPlainString();
+    }
+
+    /**
+     * Returns the amount rounded to the given scale, used for assertions.
+     *
+     * @param scale the scale.
+     * @return the number, rounded.
+     */
+    BigDecimal getNumber(int scale) {
+        return number.setScale(scale, RoundingMode.UNNECESSARY);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money;
+
+import java.math.BigDecimal;
+
+/**
+ * Factory for {@link TestAmount}, for testing only.
+ */
+public final class TestAmountFactory implements MonetaryAmountFactory<TestAmount> {
+
+    private CurrencyUnit currency;
+    private BigDecimal number = BigDecimal.ZERO;
+
+    @Override
+    public Class<TestAmount> getAmountType() {
+        return TestAmount.class;
+    }
+
+    @Override
+    public TestAmountFactory setCurrency(CurrencyUnit currency) {
+        this.currency = currency;
+        return this;
+    }
+
+    @Override
+    public TestAmountFactory setNumber(double number) {
+        this.number = BigDecimal.valueOf(number);
+        return this;
+    }
+
+    @Override
+    public TestAmountFactory setNumber(long number) {
+        this.number = BigDecimal.valueOf(number);
+        return this;
+    }
+
+    @Override
+    public TestAmountFactory setNumber(Number number) {
+        if (number instanceof BigDecimal) {
+            this.number = (BigDecimal) number;
+        } else if (number instanceof NumberValue) {
+            this.number = ((NumberValue) number).numberValue(BigDecimal.class);
+        } else {
+            this.number = new BigDecimal(number.toString());
+        }
+        return this;
+    }
+
+    @Override
+    public NumberValue getMaxNumber() {
+        return null;
+    }
+
+    @Override
+    public NumberValue getMinNumber() {
+        return null;
+    }
+
+    @Override
+    public TestAmountFactory setContext(MonetaryContext monetaryContext) {
+        return this;
+    }
+
+    @Override
+    public TestAmount create() {
+        if (currency == null) {
+            throw new MonetaryException("Currency required.");
+        }
+        return new TestAmount(currency, number);
+    }
+
+    @Override
+    public MonetaryContext getDefaultMonetaryContext() {
+        return TestAmount.CONTEXT;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money;
+
+import javax.money.spi.RoundingListenerSpi;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counting {@link RoundingListenerSpi}, for testing only.
+ */
+public final class TestRoundingListener implements RoundingListenerSpi {
+
+    static final Map<String, AtomicLong> COUNTERS = new ConcurrentHashMap<>();
+
+    static long getCount(String key) {
+        AtomicLong count = COUNTERS.get(key);
+        return count == null ? 0L : count.get();
+    }
+
+    private static void count(String key) {
+        COUNTERS.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet();
+    }
+
+    @Override
+    public void providerEvaluated(String providerName, RoundingQuery query, MonetaryRounding rounding,
+                                  long durationNanos) {
+        count(providerName + ':' + query.getRoundingName() + (rounding == null ? ":miss" : ":hit"));
+        if (Boolean.TRUE.equals(query.getBoolean("listenerError"))) {
+            throw new IllegalStateException("Listener failure requested.");
+        }
+    }
+
+    @Override
+    public void providerFailed(String providerName, RoundingQuery query, Exception error, long durationNanos) {
+        count(providerName + ":error");
+    }
+
+    @Override
+    public void defaultRoundingLookup(CurrencyUnit currency) {
+        count("default:" + currency.getCurrencyCode());
+    }
+}
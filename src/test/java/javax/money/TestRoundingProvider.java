@@ -17,6 +17,7 @@
 package javax.money;
 
 import javax.money.spi.RoundingProviderSpi;
+import java.math.RoundingMode;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -36,6 +37,15 @@ public final class TestRoundingProvider implements RoundingProviderSpi {
         return getCustomRounding("test");
     }
 
+    @Override
+    public RoundingPlan getRoundingPlan(RoundingQuery roundingQuery) {
+        if (roundingQuery.getCurrency() == null || roundingQuery.getScale() == null) {
+            return null;
+        }
+        return RoundingPlan.of(RoundingContextBuilder.of(getProviderName(), "plan")
+                .setCurrency(roundingQuery.getCurrency()).build(), roundingQuery.getScale(), RoundingMode.HALF_EVEN, 1);
+    }
+
     private MonetaryRounding getCustomRounding(final String customRoundingId) {
         return new MonetaryRounding() {
 
@@ -18,6 +18,7 @@ package javax.money.convert;
 
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
 
 import org.testng.annotations.Test;
 
@@ -66,4 +67,11 @@ public class ConversionContextTest {
         assertEquals(RateType.REALTIME, ctx.getRateType());
         assertEquals("prov", ctx.getProviderName());
     }
+
+    @Test
+    public void testBuildReturnsCanonicalInstance() throws Exception {
+        ConversionContext ctx = ConversionContextBuilder.of().setRateType(RateType.DEFERRED).set("a", 1).build();
+        ConversionContext ctx2 = ConversionContextBuilder.of().set("a", 1).setRateType(RateType.DEFERRED).build();
+        assertSame(ctx2, ctx);
+    }
 }
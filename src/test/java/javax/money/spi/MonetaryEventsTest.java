@@ -0,0 +1,131 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money.spi;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+import javax.money.RoundingQueryBuilder;
+import javax.money.TestAmount;
+import javax.money.format.AmountFormatContext;
+import javax.money.format.AmountFormatContextBuilder;
+import javax.money.format.MonetaryAmountFormat;
+import javax.money.format.MonetaryFormats;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.testng.Assert.*;
+
+public class MonetaryEventsTest {
+
+    @BeforeMethod
+    public void enable() {
+        TestMonetaryEventSpi.EVENTS.clear();
+        TestMonetaryEventSpi.enabled = true;
+    }
+
+    @AfterMethod
+    public void disable() {
+        TestMonetaryEventSpi.enabled = false;
+        TestMonetaryEventSpi.EVENTS.clear();
+    }
+
+    private static Map<String, Object> findEvent(String name) {
+        for (Map<String, Object> event : TestMonetaryEventSpi.EVENTS) {
+            if (name.equals(event.get("name"))) {
+                return event;
+            }
+        }
+        return null;
+    }
+
+    @Test
+    public void testIsEnabled() {
+        assertTrue(MonetaryEvents.isEnabled());
+    }
+
+    @Test
+    public void testBegin_Disabled() {
+        TestMonetaryEventSpi.enabled = false;
+        MonetaryEvent event = MonetaryEvents.begin(MonetaryEvents.CURRENCY_LOOKUP);
+        assertFalse(event.isRecording());
+        assertSame(event, MonetaryEvents.begin(MonetaryEvents.ROUNDING_LOOKUP));
+        event.set(MonetaryEvents.ATTR_CURRENCY, "CHF").end();
+        Monetary.getCurrency("test1");
+        assertTrue(TestMonetaryEventSpi.EVENTS.isEmpty());
+    }
+
+    @Test
+    public void testCurrencyLookupEvent() {
+        Monetary.getCurrency("test1");
+        Map<String, Object> event = findEvent(MonetaryEvents.CURRENCY_LOOKUP);
+        assertNotNull(event);
+        assertEquals(event.get(MonetaryEvents.ATTR_CURRENCY), "test1");
+        assertTrue((Long) event.get("duration") >= 0L);
+        assertNotNull(findEvent(MonetaryEvents.BOOTSTRAP_SERVICES));
+    }
+
+    @Test
+    public void testRoundingLookupEvent() {
+        Monetary.getRounding(RoundingQueryBuilder.of().setRoundingName("custom1").build());
+        Map<String, Object> event = findEvent(MonetaryEvents.ROUNDING_LOOKUP);
+        assertNotNull(event);
+        assertNotNull(event.get(MonetaryEvents.ATTR_QUERY));
+    }
+
+    @Test
+    public void testFormatEvent() {
+        AmountFormatContext context = AmountFormatContextBuilder.of("Test").setProviderName("TestProvider").build();
+        MonetaryAmountFormat format = new MonetaryAmountFormat() {
+            @Override
+            public AmountFormatContext getContext() {
+                return context;
+            }
+
+            @Override
+            public void print(Appendable appendable, MonetaryAmount amount) throws IOException {
+                appendable.append(amount.toString());
+            }
+
+            @Override
+            public MonetaryAmount parse(CharSequence text) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public String queryFrom(MonetaryAmount amount) {
+                return format(amount);
+            }
+        };
+        assertEquals(format.format(TestAmount.of("1.5", "CHF")), "CHF 1.5");
+        Map<String, Object> event = findEvent(MonetaryEvents.FORMAT);
+        assertNotNull(event);
+        assertNotNull(event.get(MonetaryEvents.ATTR_CURRENCY));
+        assertEquals(event.get(MonetaryEvents.ATTR_PROVIDER), "TestProvider");
+    }
+
+    @Test
+    public void testFormatLookupKeepsInstance() {
+        MonetaryAmountFormat format = MonetaryFormats.getAmountFormat(Locale.ENGLISH);
+        assertEquals(format.getClass().getSimpleName(), "TestFormat");
+        assertNotNull(findEvent(MonetaryEvents.FORMAT_LOOKUP));
+    }
+}
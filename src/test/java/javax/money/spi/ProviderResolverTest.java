@@ -0,0 +1,116 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money.spi;
+
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.*;
+
+/**
+ * Tests for {@link javax.money.spi.ProviderResolver}.
+ */
+public class ProviderResolverTest {
+
+    @Test
+    public void testGetProviders() {
+        List<String> providers = ProviderResolver.getProviders(String.class, s -> s,
+                Arrays.asList("service2", "foo", "service1"));
+        assertEquals(providers, Arrays.asList("service2", "service1"));
+        assertTrue(ProviderResolver.getProviders(String.class, s -> s, Collections.emptyList()).isEmpty());
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public void testGetProviders_Immutable() {
+        ProviderResolver.getProviders(String.class, s -> s, Collections.singletonList("service1")).clear();
+    }
+
+    @Test
+    public void testGetProviderMap() {
+        Map<String, String> providers = ProviderResolver.getProviderMap(String.class, s -> s.toUpperCase());
+        assertEquals(providers.keySet(), Arrays.asList("SERVICE1", "SERVICE2"));
+        assertEquals(providers.get("SERVICE2"), "service2");
+    }
+
+    @Test
+    public void testGetProviderMap_IgnoresFailingNames() {
+        Map<String, String> providers = ProviderResolver.getProviderMap(String.class, s -> {
+            if (s.equals("service1")) {
+                throw new IllegalStateException("test");
+            }
+            return s;
+        });
+        assertEquals(providers.keySet(), Collections.singleton("service2"));
+    }
+
+    @Test
+    public void testChainsCached_ResetOnInit() {
+        ServiceProvider first = new FixedServiceProvider("a", "b");
+        ServiceProvider original = Bootstrap.init(first);
+        try {
+            List<String> names = Arrays.asList("b", "a");
+            List<String> providers = ProviderResolver.getProviders(String.class, s -> s, names);
+            assertEquals(providers, names);
+            assertSame(ProviderResolver.getProviders(String.class, s -> s, Arrays.asList("b", "a")), providers);
+            Map<String, String> map = ProviderResolver.getProviderMap(String.class, s -> s);
+            assertSame(ProviderResolver.getProviderMap(String.class, s -> s), map);
+            Bootstrap.init(new FixedServiceProvider("b"));
+            assertEquals(ProviderResolver.getProviders(String.class, s -> s, names), Collections.singletonList("b"));
+            assertEquals(ProviderResolver.getProviderMap(String.class, s -> s).keySet(), Collections.singleton("b"));
+        } finally {
+            Bootstrap.init(original);
+        }
+    }
+
+    @Test
+    public void testChainsCached_UsedChainNotEvicted() {
+        ServiceProvider original = Bootstrap.init(new FixedServiceProvider("a", "b"));
+        try {
+            List<String> providers = ProviderResolver.getProviders(String.class, s -> s, Arrays.asList("b", "a"));
+            for (int i = 0; i < ProviderResolver.MAX_CHAINS * 2; i++) {
+                ProviderResolver.getProviders(String.class, s -> s, Collections.singletonList("other" + i));
+                assertSame(ProviderResolver.getProviders(String.class, s -> s, Arrays.asList("b", "a")), providers);
+            }
+        } finally {
+            Bootstrap.init(original);
+        }
+    }
+
+    private static final class FixedServiceProvider implements ServiceProvider {
+
+        private final List<String> services;
+
+        FixedServiceProvider(String... services) {
+            this.services = Arrays.asList(services);
+        }
+
+        @Override
+        public int getPriority() {
+            return 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T> List<T> getServices(Class<T> serviceType) {
+            return String.class.equals(serviceType) ? (List<T>) services : Collections.emptyList();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money.spi;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Recording {@link MonetaryEventSpi}, for testing only. Events are only recorded, when enabled.
+ */
+public final class TestMonetaryEventSpi implements MonetaryEventSpi {
+
+    static volatile boolean enabled;
+
+    static final List<Map<String, Object>> EVENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public boolean isEnabled(String eventName) {
+        return enabled;
+    }
+
+    @Override
+    public MonetaryEvent begin(String eventName) {
+        final long start = System.nanoTime();
+        final Map<String, Object> attributes = new HashMap<>();
+        attributes.put("name", eventName);
+        return new MonetaryEvent() {
+            @Override
+            public MonetaryEvent set(String attribute, Object value) {
+                attributes.put(attribute, value);
+                return this;
+            }
+
+            @Override
+            public void end() {
+                attributes.put("duration", System.nanoTime() - start);
+                EVENTS.add(attributes);
+            }
+        };
+    }
+}